@@ -1,20 +1,19 @@
 package com.direwolf20.justdirethings.client.blockentityrenders;
 
 import com.direwolf20.justdirethings.client.blockentityrenders.baseber.AreaAffectingBER;
-import com.direwolf20.justdirethings.client.renderers.DireVertexConsumer;
+import com.direwolf20.justdirethings.client.renderers.DireMesh;
 import com.direwolf20.justdirethings.client.renderers.OurRenderTypes;
 import com.direwolf20.justdirethings.common.blockentities.ParadoxMachineBE;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexConsumer;
 import com.mojang.math.Axis;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.color.block.BlockColors;
 import net.minecraft.client.model.EntityModel;
+import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.block.BlockRenderDispatcher;
 import net.minecraft.client.renderer.block.ModelBlockRenderer;
-import net.minecraft.client.renderer.block.model.BakedQuad;
 import net.minecraft.client.renderer.blockentity.BlockEntityRendererProvider;
 import net.minecraft.client.renderer.entity.EntityRenderDispatcher;
 import net.minecraft.client.renderer.entity.EntityRenderer;
@@ -24,20 +23,42 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
-import net.minecraft.util.RandomSource;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.Pose;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.Vec3;
-import net.neoforged.neoforge.client.model.data.ModelData;
 
-import java.util.BitSet;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 public class ParadoxMachineBER extends AreaAffectingBER {
+    //The parsed snapshot and baked block geometry per machine, rebuilt when the machine's previewVersion changes
+    private final Map<ParadoxMachineBE, Preview> previews = new WeakHashMap<>();
+
+    /**
+     * The blocks and entities one machine would restore, parsed once from its snapshot (or restore list while running).
+     * The blocks are baked into meshes that are only redone when a block in the level fills or frees one of the positions, or the light there changes
+     */
+    protected static class Preview {
+        private final int version;
+        private final Map<BlockPos, BlockState> blocks;
+        private final Map<Vec3, LivingEntity> entities;
+        private final BlockPos[] positions;
+        private BitSet occupied; //Positions the level has a non-replaceable block in, which are left out of the meshes
+        private int lightHash; //The level's light at the free positions when the meshes were baked, as the meshes have it baked in
+        private long checkedTick = Long.MIN_VALUE;
+        private DireMesh solidMesh;
+        private DireMesh noCullMesh;
+
+        private Preview(int version, Map<BlockPos, BlockState> blocks, Map<Vec3, LivingEntity> entities) {
+            this.version = version;
+            this.blocks = Collections.unmodifiableMap(blocks);
+            this.entities = Collections.unmodifiableMap(entities);
+            this.positions = blocks.keySet().toArray(new BlockPos[0]);
+        }
+    }
+
     public ParadoxMachineBER(BlockEntityRendererProvider.Context context) {
 
     }
@@ -50,38 +71,80 @@ public class ParadoxMachineBER extends AreaAffectingBER {
         if (paradoxMachineBE.isRunning) {
             float alpha = Mth.clamp(0.05f + (paradoxMachineBE.timeRunning / (float) paradoxMachineBE.getRunTime()) * 0.95f, 0.05f, 1.0f);
             int intAlpha = (int) (alpha * 255);
-            renderBlocks(paradoxMachineBE, matrixStackIn, bufferIn, combinedLightsIn, combinedOverlayIn, alpha, paradoxMachineBE.restoringBlocks);
-            renderEntities(paradoxMachineBE, matrixStackIn, bufferIn, combinedLightsIn, combinedOverlayIn, intAlpha);
+            Preview preview = getPreview(paradoxMachineBE);
+            renderBlocks(paradoxMachineBE, preview, matrixStackIn, bufferIn, combinedOverlayIn, alpha);
+            renderEntities(paradoxMachineBE, preview, matrixStackIn, bufferIn, combinedLightsIn, combinedOverlayIn, intAlpha);
         } else {
         if (paradoxMachineBE.renderParadox) {
             int targetType = paradoxMachineBE.targetType;
+            Preview preview = getPreview(paradoxMachineBE);
             if (targetType == 0 || targetType == 1)
-                renderBlocks(paradoxMachineBE, matrixStackIn, bufferIn, combinedLightsIn, combinedOverlayIn, 0.5f, paradoxMachineBE.getBlocksFromNBT());
+                renderBlocks(paradoxMachineBE, preview, matrixStackIn, bufferIn, combinedOverlayIn, 0.5f);
             if (targetType == 0 || targetType == 2)
-                renderEntities(paradoxMachineBE, matrixStackIn, bufferIn, combinedLightsIn, combinedOverlayIn, 175);
+                renderEntities(paradoxMachineBE, preview, matrixStackIn, bufferIn, combinedLightsIn, combinedOverlayIn, 175);
         }
         }
     }
 
-    private void renderBlocks(ParadoxMachineBE paradoxMachineBE, PoseStack matrixStackIn, MultiBufferSource bufferIn, int combinedLightsIn, int combinedOverlayIn, float alpha, Map<BlockPos, BlockState> blocksToRestore) {
-        BlockRenderDispatcher blockRenderer = Minecraft.getInstance().getBlockRenderer();
+    private Preview getPreview(ParadoxMachineBE paradoxMachineBE) {
+        Preview preview = previews.get(paradoxMachineBE);
+        if (preview == null || preview.version != paradoxMachineBE.previewVersion) {
+            Map<BlockPos, BlockState> blocks;
+            Map<Vec3, LivingEntity> entities = paradoxMachineBE.getEntitiesFromNBT();
+            if (paradoxMachineBE.isRunning) {
+                blocks = new HashMap<>(paradoxMachineBE.restoringBlocks);
+                entities.keySet().retainAll(paradoxMachineBE.restoringEntites);
+            } else {
+                blocks = paradoxMachineBE.getBlocksFromNBT();
+            }
+            preview = new Preview(paradoxMachineBE.previewVersion, blocks, entities);
+            previews.put(paradoxMachineBE, preview);
+        }
+        return preview;
+    }
+
+    private void renderBlocks(ParadoxMachineBE paradoxMachineBE, Preview preview, PoseStack matrixStackIn, MultiBufferSource bufferIn, int combinedOverlayIn, float alpha) {
         Level level = paradoxMachineBE.getLevel();
-        if (level == null) return;
-        BlockColors blockColors = Minecraft.getInstance().getBlockColors();
-        ModelBlockRenderer modelBlockRenderer = new ModelBlockRenderer(blockColors);
-        BlockRenderDispatcher blockrendererdispatcher = Minecraft.getInstance().getBlockRenderer();
+        if (level == null || preview.positions.length == 0) return;
+
+        //Check which positions are free and how they're lit at most once a tick, and rebake only if that changed
+        if (preview.checkedTick != level.getGameTime()) {
+            preview.checkedTick = level.getGameTime();
+            BitSet occupied = new BitSet(preview.positions.length);
+            int lightHash = 0;
+            for (int i = 0; i < preview.positions.length; i++) {
+                if (!level.getBlockState(preview.positions[i]).canBeReplaced())
+                    occupied.set(i);
+                else
+                    lightHash = 31 * lightHash + LevelRenderer.getLightColor(level, preview.positions[i]);
+            }
+            if (!occupied.equals(preview.occupied) || lightHash != preview.lightHash) {
+                preview.occupied = occupied;
+                preview.lightHash = lightHash;
+                bakeBlocks(paradoxMachineBE, preview, level, combinedOverlayIn);
+            }
+        }
 
-        for (Map.Entry<BlockPos, BlockState> entry : blocksToRestore.entrySet()) {
-            BlockPos blockPos = entry.getKey();
-            BlockState renderState = entry.getValue();
+        // Render the blocks as semi-transparent
+        if (!preview.solidMesh.isEmpty())
+            preview.solidMesh.draw(matrixStackIn.last(), bufferIn.getBuffer(OurRenderTypes.RenderBlockFade), alpha);
+        if (!preview.noCullMesh.isEmpty())
+            preview.noCullMesh.draw(matrixStackIn.last(), bufferIn.getBuffer(OurRenderTypes.RenderBlockFadeNoCull), alpha);
+    }
 
-            if (!level.getBlockState(blockPos).canBeReplaced())
+    private void bakeBlocks(ParadoxMachineBE paradoxMachineBE, Preview preview, Level level, int combinedOverlayIn) {
+        BlockRenderDispatcher blockrendererdispatcher = Minecraft.getInstance().getBlockRenderer();
+        ModelBlockRenderer modelBlockRenderer = blockrendererdispatcher.getModelRenderer();
+        Map<BlockPos, BlockState> blocksToRestore = preview.blocks;
+        DireMesh solidMesh = new DireMesh();
+        DireMesh noCullMesh = new DireMesh();
+        PoseStack matrixStackIn = new PoseStack();
+
+        for (int i = 0; i < preview.positions.length; i++) {
+            if (preview.occupied.get(i))
                 continue;
-
-            float[] afloat = new float[Direction.values().length * 2];
-            BitSet bitset = new BitSet(3);
-            RandomSource randomSource = RandomSource.create();
-            BlockPos.MutableBlockPos blockpos$mutableblockpos = blockPos.mutable();
+            BlockPos blockPos = preview.positions[i];
+            BlockState renderState = blocksToRestore.get(blockPos);
             BakedModel ibakedmodel = blockrendererdispatcher.getBlockModel(renderState);
 
             matrixStackIn.pushPose();
@@ -89,46 +152,34 @@ public class ParadoxMachineBER extends AreaAffectingBER {
                     blockPos.getY() - paradoxMachineBE.getBlockPos().getY(),
                     blockPos.getZ() - paradoxMachineBE.getBlockPos().getZ());
 
-            // Render the block as semi-transparent
-            VertexConsumer builder = renderState.isSolidRender(level, blockPos) ? bufferIn.getBuffer(OurRenderTypes.RenderBlockFade) : bufferIn.getBuffer(OurRenderTypes.RenderBlockFadeNoCull);
-            DireVertexConsumer direVertexConsumer = new DireVertexConsumer(builder, alpha);
+            DireMesh mesh = renderState.isSolidRender(level, blockPos) ? solidMesh : noCullMesh;
 
-            ModelBlockRenderer.AmbientOcclusionFace modelblockrenderer$ambientocclusionface = new ModelBlockRenderer.AmbientOcclusionFace();
             for (Direction direction : Direction.values()) {
-                randomSource.setSeed(renderState.getSeed(blockPos));
-                List<BakedQuad> list = ibakedmodel.getQuads(renderState, direction, randomSource, ModelData.EMPTY, null);
-                if (!list.isEmpty()) {
-                    blockpos$mutableblockpos.setWithOffset(blockPos, direction);
-                    BlockPos testPos = blockPos.relative(direction);
-                    boolean renderAdjacent = true;
-                    if (blocksToRestore.containsKey(testPos)) {
-                        BlockState otherState = blocksToRestore.get(testPos);
-                        if (otherState.isSolidRender(level, testPos))
-                            renderAdjacent = false;
-                    }
-                    if (renderAdjacent) {
-                        modelBlockRenderer.renderModelFaceAO(level, renderState, blockPos, matrixStackIn, direVertexConsumer, list, afloat, bitset, modelblockrenderer$ambientocclusionface, combinedOverlayIn);
-                    }
+                BlockPos testPos = blockPos.relative(direction);
+                boolean renderAdjacent = true;
+                if (blocksToRestore.containsKey(testPos)) {
+                    BlockState otherState = blocksToRestore.get(testPos);
+                    if (otherState.isSolidRender(level, testPos))
+                        renderAdjacent = false;
+                }
+                if (renderAdjacent) {
+                    mesh.bakeQuads(modelBlockRenderer, level, renderState, blockPos, matrixStackIn, DireMesh.getQuads(ibakedmodel, renderState, blockPos, direction), combinedOverlayIn);
                 }
             }
-            randomSource.setSeed(renderState.getSeed(blockPos));
-            List<BakedQuad> list = ibakedmodel.getQuads(renderState, null, randomSource, ModelData.EMPTY, null);
-            if (!list.isEmpty()) {
-                modelBlockRenderer.renderModelFaceAO(level, renderState, blockPos, matrixStackIn, direVertexConsumer, list, afloat, bitset, modelblockrenderer$ambientocclusionface, combinedOverlayIn);
-            }
+            mesh.bakeQuads(modelBlockRenderer, level, renderState, blockPos, matrixStackIn, DireMesh.getQuads(ibakedmodel, renderState, blockPos, null), combinedOverlayIn);
 
             matrixStackIn.popPose();
         }
+        preview.solidMesh = solidMesh;
+        preview.noCullMesh = noCullMesh;
     }
 
-    private void renderEntities(ParadoxMachineBE paradoxMachineBE, PoseStack matrixStackIn, MultiBufferSource bufferIn, float partialTicks, int combinedLightsIn, int alpha) {
+    private void renderEntities(ParadoxMachineBE paradoxMachineBE, Preview preview, PoseStack matrixStackIn, MultiBufferSource bufferIn, float partialTicks, int combinedLightsIn, int alpha) {
         Level level = paradoxMachineBE.getLevel();
         if (level == null) return;
 
-        for (Map.Entry<Vec3, LivingEntity> entry : paradoxMachineBE.getEntitiesFromNBT().entrySet()) {
+        for (Map.Entry<Vec3, LivingEntity> entry : preview.entities.entrySet()) {
             Vec3 entityPos = entry.getKey();
-            if (paradoxMachineBE.isRunning && !paradoxMachineBE.restoringEntites.contains(entityPos))
-                continue;
             LivingEntity entity = entry.getValue();
 
             // Apply transformations and translate to entity position
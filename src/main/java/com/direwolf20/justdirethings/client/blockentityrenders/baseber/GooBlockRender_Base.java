@@ -1,5 +1,6 @@
 package com.direwolf20.justdirethings.client.blockentityrenders.baseber;
 
+import com.direwolf20.justdirethings.client.renderers.DireMesh;
 import com.direwolf20.justdirethings.client.renderers.DireModelBlockRenderer;
 import com.direwolf20.justdirethings.client.renderers.DireVertexConsumer;
 import com.direwolf20.justdirethings.client.renderers.OurRenderTypes;
@@ -12,12 +13,8 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexConsumer;
 import com.mojang.math.Axis;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.color.block.BlockColors;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderType;
-import net.minecraft.client.renderer.block.BlockRenderDispatcher;
-import net.minecraft.client.renderer.block.ModelBlockRenderer;
-import net.minecraft.client.renderer.block.model.BakedQuad;
 import net.minecraft.client.renderer.blockentity.BlockEntityRenderer;
 import net.minecraft.client.renderer.blockentity.BlockEntityRendererProvider;
 import net.minecraft.client.renderer.entity.ItemRenderer;
@@ -25,10 +22,9 @@ import net.minecraft.client.renderer.texture.OverlayTexture;
 import net.minecraft.client.resources.model.BakedModel;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.core.Holder;
+import net.minecraft.core.HolderSet;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.tags.TagKey;
-import net.minecraft.util.RandomSource;
 import net.minecraft.world.item.*;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
@@ -37,10 +33,10 @@ import net.minecraft.world.level.block.StainedGlassPaneBlock;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
-import net.neoforged.neoforge.client.model.data.ModelData;
 
-import java.util.BitSet;
-import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
 
 import static net.minecraft.client.renderer.entity.ItemRenderer.getFoilBufferDirect;
 
@@ -49,6 +45,25 @@ public class GooBlockRender_Base<T extends GooBlockBE_Base> implements BlockEnti
     private ItemStack cachedItemStack = ItemStack.EMPTY;
     private int currentItemIndex = 0;
     private long lastChangeTime = 0;
+    //Overlay geometry per goo block and side, baked the first time a stage is drawn
+    private final Map<GooBlockBE_Base, SideMesh[]> sideMeshes = new WeakHashMap<>();
+    //Takes the AO direction to use for the rotated overlay, set before each side is baked
+    private final DireModelBlockRenderer modelBlockRenderer = new DireModelBlockRenderer(Minecraft.getInstance().getBlockColors(), Direction.UP);
+
+    /**
+     * The baked overlay for one side of a goo block - rebuilt if the goo block's state or light changes, and dropped when the side stops converting
+     */
+    protected static class SideMesh {
+        private final BlockState renderState;
+        private final int light;
+        private final DireMesh[] patternMeshes = new DireMesh[GooPatternBlock.GOOSTAGE.getPossibleValues().size()];
+        private DireMesh blockMesh;
+
+        private SideMesh(BlockState renderState, int light) {
+            this.renderState = renderState;
+            this.light = light;
+        }
+    }
 
     public GooBlockRender_Base(BlockEntityRendererProvider.Context p_173636_) {
 
@@ -63,11 +78,19 @@ public class GooBlockRender_Base<T extends GooBlockBE_Base> implements BlockEnti
             renderFloatingItem(blockentity, matrixStackIn, bufferIn, partialTicks, combinedLightsIn);
         }
 
+        SideMesh[] meshes = sideMeshes.computeIfAbsent(blockentity, k -> new SideMesh[Direction.values().length]);
         for (Direction direction : Direction.values()) {
             int remainingTicks = blockentity.getRemainingTimeFor(direction);
             if (remainingTicks > 0) {
                 int maxTicks = blockentity.getCraftingDuration(direction);
-                renderTextures(direction, blockentity.getLevel(), blockentity.getBlockPos(), matrixStackIn, bufferIn, combinedOverlayIn, remainingTicks, maxTicks, blockentity.getBlockState(), blockentity);
+                SideMesh sideMesh = meshes[direction.ordinal()];
+                if (sideMesh == null || sideMesh.renderState != blockState || sideMesh.light != combinedLightsIn) {
+                    sideMesh = new SideMesh(blockState, combinedLightsIn);
+                    meshes[direction.ordinal()] = sideMesh;
+                }
+                renderTextures(direction, blockentity.getLevel(), blockentity.getBlockPos(), matrixStackIn, bufferIn, combinedOverlayIn, remainingTicks, maxTicks, sideMesh, blockentity);
+            } else {
+                meshes[direction.ordinal()] = null; //Not converting anything on this side (anymore), the next craft bakes a fresh mesh
             }
         }
     }
@@ -82,11 +105,13 @@ public class GooBlockRender_Base<T extends GooBlockBE_Base> implements BlockEnti
         };
         if (tag == null)
             return ItemStack.EMPTY;
-        List<Holder<Item>> items = BuiltInRegistries.ITEM.getTag(tag).stream().flatMap(h -> h.stream()).toList();
-        if (items.isEmpty()) {
+        Optional<HolderSet.Named<Item>> itemTag = BuiltInRegistries.ITEM.getTag(tag);
+        if (itemTag.isEmpty() || itemTag.get().size() == 0) {
             return ItemStack.EMPTY;
         }
-        // Get the current item and increment the index
+        HolderSet.Named<Item> items = itemTag.get();
+        // Get the current item and increment the index - the tag may have shrunk on a reload, so wrap the index first
+        currentItemIndex = currentItemIndex % items.size();
         ItemStack nextItem = new ItemStack(items.get(currentItemIndex).value());
 
         // Cycle to the next item in the list, wrapping around if necessary
@@ -209,35 +234,39 @@ public class GooBlockRender_Base<T extends GooBlockBE_Base> implements BlockEnti
         }
     }
 
-    public void renderTextures(Direction direction, Level level, BlockPos pos, PoseStack matrixStackIn, MultiBufferSource bufferIn, int combinedOverlayIn, int remainingTicks, int maxTicks, BlockState renderState, GooBlockBE_Base gooBlockBE_base) {
+    public void renderTextures(Direction direction, Level level, BlockPos pos, PoseStack matrixStackIn, MultiBufferSource bufferIn, int combinedOverlayIn, int remainingTicks, int maxTicks, SideMesh sideMesh, GooBlockBE_Base gooBlockBE_base) {
         float percentComplete = ((1 - (float) remainingTicks / (float) maxTicks) * 100);
         int tensDigit = (int) (percentComplete / percentageDivisor);
         if (tensDigit > 0) { //Render the prior stage with full transparency
-            BlockState patternState = Registration.GooPatternBlock.get().defaultBlockState().setValue(GooPatternBlock.GOOSTAGE, tensDigit - 1);
-            renderTexturePattern(direction, level, pos, matrixStackIn, bufferIn, combinedOverlayIn, 1f, patternState, renderState, gooBlockBE_base);
+            renderTexturePattern(direction, level, pos, matrixStackIn, bufferIn, combinedOverlayIn, 1f, tensDigit - 1, sideMesh, gooBlockBE_base);
         }
-        BlockState patternState = Registration.GooPatternBlock.get().defaultBlockState().setValue(GooPatternBlock.GOOSTAGE, tensDigit);
         float startOfCurrentStage = tensDigit * percentageDivisor; // This calculates the starting percentage of the current stage
         float percentagePart = percentComplete - startOfCurrentStage; // This calculates how far into the current stage we are
         float alpha = percentagePart / percentageDivisor;
-        renderTexturePattern(direction, level, pos, matrixStackIn, bufferIn, combinedOverlayIn, alpha, patternState, renderState, gooBlockBE_base);
+        renderTexturePattern(direction, level, pos, matrixStackIn, bufferIn, combinedOverlayIn, alpha, tensDigit, sideMesh, gooBlockBE_base);
     }
 
-    public void renderTexturePattern(Direction direction, Level level, BlockPos pos, PoseStack matrixStackIn, MultiBufferSource bufferIn, int combinedOverlayIn, float transparency, BlockState pattern, BlockState renderState, GooBlockBE_Base gooBlockBE_base) {
-        BlockRenderDispatcher blockrendererdispatcher = Minecraft.getInstance().getBlockRenderer();
-        BlockColors blockColors = Minecraft.getInstance().getBlockColors();
-        DireModelBlockRenderer modelBlockRenderer = new DireModelBlockRenderer(blockColors, direction);
+    public void renderTexturePattern(Direction direction, Level level, BlockPos pos, PoseStack matrixStackIn, MultiBufferSource bufferIn, int combinedOverlayIn, float transparency, int stage, SideMesh sideMesh, GooBlockBE_Base gooBlockBE_base) {
         BlockPos renderAtPos = pos.relative(direction);
+        if (sideMesh.patternMeshes[stage] == null) {
+            BlockState patternState = Registration.GooPatternBlock.get().defaultBlockState().setValue(GooPatternBlock.GOOSTAGE, stage);
+            sideMesh.patternMeshes[stage] = bakePattern(direction, level, renderAtPos, combinedOverlayIn, patternState, gooBlockBE_base);
+        }
+        if (sideMesh.blockMesh == null)
+            sideMesh.blockMesh = bakeBlock(direction, level, renderAtPos, combinedOverlayIn, sideMesh.renderState, gooBlockBE_base);
 
-        //These are used for the rendering below
-        float[] afloat = new float[Direction.values().length * 2];
-        BitSet bitset = new BitSet(3);
-        RandomSource randomSource = RandomSource.create();
-        BlockPos.MutableBlockPos blockpos$mutableblockpos = renderAtPos.mutable();
-        ModelBlockRenderer.AmbientOcclusionFace modelblockrenderer$ambientocclusionface = new ModelBlockRenderer.AmbientOcclusionFace();
+        //Pattern Block - Renders to the depth buffer ONLY, to set the pattern that we draw
+        sideMesh.patternMeshes[stage].draw(matrixStackIn.last(), bufferIn.getBuffer(OurRenderTypes.GooPattern), 1f);
 
+        //Now draw the REAL block overtop, but with BlendFunction set to EQUALS -- Meaning it'll only draw where theres already a pixel exiting from the pattern above
+        sideMesh.blockMesh.draw(matrixStackIn.last(), bufferIn.getBuffer(OurRenderTypes.RenderBlockBackface), transparency);
+    }
 
-        matrixStackIn.pushPose();
+    /**
+     * The transform from the goo block to the block being converted on this side, that both overlay meshes are baked in
+     */
+    private PoseStack getSidePose(Direction direction, GooBlockBE_Base gooBlockBE_base) {
+        PoseStack matrixStackIn = new PoseStack();
         //Offset the render to the direction we're crafting at
         matrixStackIn.translate(direction.getNormal().getX(), direction.getNormal().getY(), direction.getNormal().getZ());
         //Slightly larger than a normal block, to prevent z-fighting -
@@ -251,41 +280,31 @@ public class GooBlockRender_Base<T extends GooBlockBE_Base> implements BlockEnti
         matrixStackIn.translate(0.5, 0.5, 0.5);
         matrixStackIn.mulPose(direction.getRotation());
         matrixStackIn.translate(-0.5, -0.5, -0.5);
+        return matrixStackIn;
+    }
 
-        //Pattern Block - Renders to the depth buffer ONLY, to set the pattern that we draw
-        VertexConsumer builder = bufferIn.getBuffer(OurRenderTypes.GooPattern);
-        DireVertexConsumer chunksConsumer = new DireVertexConsumer(builder, 1f);
-        BakedModel ibakedmodel = blockrendererdispatcher.getBlockModel(pattern);
-
-        randomSource.setSeed(pattern.getSeed(renderAtPos));
+    private DireMesh bakePattern(Direction direction, Level level, BlockPos renderAtPos, int combinedOverlayIn, BlockState pattern, GooBlockBE_Base gooBlockBE_base) {
+        DireMesh mesh = new DireMesh();
+        PoseStack matrixStackIn = getSidePose(direction, gooBlockBE_base);
+        BakedModel ibakedmodel = Minecraft.getInstance().getBlockRenderer().getBlockModel(pattern);
+        modelBlockRenderer.setDirection(direction);
 
-        List<BakedQuad> list;
-        for (Direction renderSide : Direction.values()) {
-            list = ibakedmodel.getQuads(pattern, renderSide, randomSource, ModelData.EMPTY, null);
-            if (!list.isEmpty()) {
-                blockpos$mutableblockpos.setWithOffset(renderAtPos, renderSide);
-                modelBlockRenderer.renderModelFaceAO(level, pattern, renderAtPos, matrixStackIn, chunksConsumer, list, afloat, bitset, modelblockrenderer$ambientocclusionface, combinedOverlayIn);
-            }
-        }
+        for (Direction renderSide : Direction.values())
+            mesh.bakeQuads(modelBlockRenderer, level, pattern, renderAtPos, matrixStackIn, DireMesh.getQuads(ibakedmodel, pattern, renderAtPos, renderSide), combinedOverlayIn);
+        return mesh;
+    }
 
-        //Now draw the REAL block overtop, but with BlendFunction set to EQUALS -- Meaning it'll only draw where theres already a pixel exiting from the pattern above
-        VertexConsumer builder2 = bufferIn.getBuffer(OurRenderTypes.RenderBlockBackface);
-        DireVertexConsumer chunksConsumer2 = new DireVertexConsumer(builder2, transparency);
-        BakedModel ibakedmodel2 = blockrendererdispatcher.getBlockModel(renderState);
+    private DireMesh bakeBlock(Direction direction, Level level, BlockPos renderAtPos, int combinedOverlayIn, BlockState renderState, GooBlockBE_Base gooBlockBE_base) {
+        DireMesh mesh = new DireMesh();
+        PoseStack matrixStackIn = getSidePose(direction, gooBlockBE_base);
+        BakedModel ibakedmodel2 = Minecraft.getInstance().getBlockRenderer().getBlockModel(renderState);
 
-        List<BakedQuad> list2;
         for (Direction renderSide : Direction.values()) {
             Direction newDirection = getDirection(direction, renderSide); //Because we've rotated it, we need to draw the correct ambient occlusion side
             modelBlockRenderer.setDirection(newDirection); //Overrode BlockModelRenderer to allow this
-            list2 = ibakedmodel2.getQuads(renderState, renderSide, randomSource, ModelData.EMPTY, null);
-            if (!list2.isEmpty()) {
-                blockpos$mutableblockpos.setWithOffset(renderAtPos, renderSide);
-                modelBlockRenderer.renderModelFaceAO(level, renderState, renderAtPos, matrixStackIn, chunksConsumer2, list2, afloat, bitset, modelblockrenderer$ambientocclusionface, combinedOverlayIn);
-            }
+            mesh.bakeQuads(modelBlockRenderer, level, renderState, renderAtPos, matrixStackIn, DireMesh.getQuads(ibakedmodel2, renderState, renderAtPos, renderSide), combinedOverlayIn);
         }
-
-        matrixStackIn.popPose();
-
+        return mesh;
     }
 
     public Direction getDirection(Direction facing, Direction renderSide) {
@@ -309,6 +328,11 @@ public class GooBlockRender_Base<T extends GooBlockBE_Base> implements BlockEnti
 
     @Override
     public AABB getRenderBoundingBox(T blockEntity) {
-        return AABB.encapsulatingFullBlocks(blockEntity.getBlockPos().above(10).north(10).east(10), blockEntity.getBlockPos().below(10).south(10).west(10));
+        AABB renderBox = new AABB(blockEntity.getBlockPos());
+        for (Direction direction : Direction.values()) {
+            if (blockEntity.getRemainingTimeFor(direction) > 0)
+                renderBox = renderBox.expandTowards(direction.getStepX(), direction.getStepY(), direction.getStepZ());
+        }
+        return renderBox.inflate(0.1); //The overlays are drawn slightly larger than a block, and the floating items just outside its faces
     }
 }
@@ -1,5 +1,6 @@
 package com.direwolf20.justdirethings.client.events;
 
+import com.direwolf20.justdirethings.client.renderactions.AreaOutlines;
 import com.direwolf20.justdirethings.client.renderactions.MiscRenders;
 import com.direwolf20.justdirethings.client.renderactions.ThingFinder;
 import com.direwolf20.justdirethings.client.renderers.OurRenderTypes;
@@ -31,6 +32,8 @@ public class RenderLevelLast {
         if (player == null)
             return;
 
+        AreaOutlines.render(evt);
+
         ItemStack heldItemMain = player.getMainHandItem();
         ItemStack heldItemOff = player.getOffhandItem();
 
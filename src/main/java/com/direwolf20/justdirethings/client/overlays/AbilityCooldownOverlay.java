@@ -34,23 +34,24 @@ public class AbilityCooldownOverlay implements LayeredDraw.Layer {
         int screenHeight = guiGraphics.guiHeight();
         int renderedIcons = 0;
         double scaleFactor = mc.getWindow().getGuiScale();
+        long gameTime = player.level().getGameTime();
         //int scaleFactorHeight = mc.getWindow().getGuiScaledHeight();
 
         for (EquipmentSlot slot : EQUIPMENT_ORDER) {
             ItemStack itemStack = player.getItemBySlot(slot);
             if (!(itemStack.getItem() instanceof ToggleableTool toggleableTool)) continue;
-            if (!itemStack.has(JustDireDataComponents.ABILITY_COOLDOWNS)) continue;
-            List<ToolRecords.AbilityCooldown> abilityCooldowns = itemStack.get(JustDireDataComponents.ABILITY_COOLDOWNS);
-            if (abilityCooldowns == null) continue;
+            List<ToolRecords.CooldownExpiry> cooldownExpiries = itemStack.get(JustDireDataComponents.ABILITY_COOLDOWN_EXPIRIES);
+            if (cooldownExpiries == null) continue;
 
-            for (ToolRecords.AbilityCooldown abilityCooldown : abilityCooldowns) {
+            for (ToolRecords.CooldownExpiry cooldownExpiry : cooldownExpiries) {
+                int cooldown = cooldownExpiry.getRemaining(gameTime);
+                if (cooldown == -1) continue; //Expired, the server just hasn't pruned it yet
                 //int xPosition = (int)(684/scaleFactor) + ((renderedIcons % 7) * 11);
                 //int yPosition = (int)(885/scaleFactor) + ((renderedIcons / 7) * 11);
                 int xPosition = screenWidth / 2 - Config.OVERLAY_X.get() + ((renderedIcons % 7) * 11);
                 int yPosition = screenHeight - Config.OVERLAY_Y.get() - ((renderedIcons / 7) * 11);
-                Ability ability = Ability.byName(abilityCooldown.abilityName());
-                int cooldown = abilityCooldown.cooldownTicks();
-                boolean active = abilityCooldown.isactive();
+                Ability ability = Ability.byName(cooldownExpiry.abilityName());
+                boolean active = cooldownExpiry.isActive(gameTime);
                 if (active) {
                     AbilityParams abilityParams = toggleableTool.getAbilityParams(ability);
                     int activeMax = abilityParams.activeCooldown;
@@ -0,0 +1,140 @@
+package com.direwolf20.justdirethings.client.renderactions;
+
+import com.direwolf20.justdirethings.client.renderers.OurRenderTypes;
+import com.direwolf20.justdirethings.client.renderers.RenderHelpers;
+import com.direwolf20.justdirethings.common.blockentities.basebe.AreaAffectingBE;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.*;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.client.event.RenderLevelStageEvent;
+import org.joml.Matrix4f;
+
+import java.awt.*;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The area outlines of every machine with "show area" on, kept in one vertex buffer for the lines and one for the boxes.
+ * The buffers are only rebuilt when a machine's area changes, or a machine starts or stops showing its area, and all the outlines are drawn together after translucent blocks
+ */
+public class AreaOutlines {
+    private static final int REBUILD_DISTANCE = 512; //Vertices are relative to where we built them - rebuild if the camera gets far enough away for float precision to matter
+    //Machines showing their area, and the area they had when the buffers were built
+    private static final Map<BlockEntity, AABB> machines = new WeakHashMap<>();
+    private static final RenderType lineRenderType = OurRenderTypes.lines();
+    private static final RenderType boxRenderType = OurRenderTypes.TRANSPARENT_BOX;
+    private static final VertexBuffer lineBuffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+    private static final VertexBuffer boxBuffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+    private static boolean hasLines, hasBoxes;
+    private static boolean needsRebuild;
+    private static BlockPos builtAt = BlockPos.ZERO;
+
+    /**
+     * Called by AreaAffectingBER whenever it renders a machine that is showing its area
+     */
+    public static void track(BlockEntity blockEntity) {
+        if (!machines.containsKey(blockEntity)) {
+            machines.put(blockEntity, null);
+            needsRebuild = true;
+        }
+    }
+
+    public static void render(RenderLevelStageEvent evt) {
+        checkMachines();
+        Vec3 projectedView = evt.getCamera().getPosition();
+        if (!builtAt.closerToCenterThan(projectedView, REBUILD_DISTANCE))
+            needsRebuild = true;
+        if (needsRebuild)
+            rebuild(BlockPos.containing(projectedView));
+        if (!hasLines && !hasBoxes)
+            return;
+
+        PoseStack matrix = evt.getPoseStack();
+        matrix.pushPose();
+        matrix.mulPose(evt.getModelViewMatrix());
+        matrix.translate(builtAt.getX() - projectedView.x(), builtAt.getY() - projectedView.y(), builtAt.getZ() - projectedView.z());
+        Matrix4f projectionMatrix = new Matrix4f(evt.getProjectionMatrix());
+        if (hasLines)
+            draw(lineBuffer, lineRenderType, matrix, projectionMatrix);
+        if (hasBoxes)
+            draw(boxBuffer, boxRenderType, matrix, projectionMatrix);
+        matrix.popPose();
+    }
+
+    private static void draw(VertexBuffer vertexBuffer, RenderType renderType, PoseStack matrix, Matrix4f projectionMatrix) {
+        renderType.setupRenderState();
+        vertexBuffer.bind();
+        vertexBuffer.drawWithShader(matrix.last().pose(), projectionMatrix, RenderSystem.getShader());
+        VertexBuffer.unbind();
+        renderType.clearRenderState();
+    }
+
+    /**
+     * Drop machines that were removed or stopped showing their area, and look for areas that changed since we built the buffers.
+     * getAABB is cached on the machine until its area settings change, so comparing the instance is enough
+     */
+    private static void checkMachines() {
+        Iterator<Map.Entry<BlockEntity, AABB>> iterator = machines.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<BlockEntity, AABB> entry = iterator.next();
+            BlockEntity blockEntity = entry.getKey();
+            if (blockEntity.isRemoved() || blockEntity.getLevel() != Minecraft.getInstance().level || !(blockEntity instanceof AreaAffectingBE areaAffectingBE) || !areaAffectingBE.getAreaAffectingData().renderArea) {
+                iterator.remove();
+                needsRebuild = true;
+            } else if (entry.getValue() != areaAffectingBE.getAABB(BlockPos.ZERO)) {
+                needsRebuild = true;
+            }
+        }
+    }
+
+    private static void rebuild(BlockPos renderAt) {
+        needsRebuild = false;
+        builtAt = renderAt;
+        ByteBufferBuilder lineByteBuffer = new ByteBufferBuilder(lineRenderType.bufferSize());
+        ByteBufferBuilder boxByteBuffer = new ByteBufferBuilder(boxRenderType.bufferSize());
+        BufferBuilder lineBuilder = new BufferBuilder(lineByteBuffer, lineRenderType.mode(), lineRenderType.format());
+        BufferBuilder boxBuilder = new BufferBuilder(boxByteBuffer, boxRenderType.mode(), boxRenderType.format());
+        MultiBufferSource bufferSource = renderType -> renderType == lineRenderType ? lineBuilder : boxBuilder;
+
+        PoseStack matrixStackIn = new PoseStack();
+        for (Map.Entry<BlockEntity, AABB> entry : machines.entrySet()) {
+            AreaAffectingBE areaAffectingBE = (AreaAffectingBE) entry.getKey();
+            BlockPos offset = entry.getKey().getBlockPos().subtract(renderAt);
+            AABB area = areaAffectingBE.getAABB(BlockPos.ZERO);
+            entry.setValue(area);
+
+            matrixStackIn.pushPose();
+            matrixStackIn.translate(offset.getX(), offset.getY(), offset.getZ());
+            Matrix4f matrix4f = matrixStackIn.last().pose();
+            RenderHelpers.renderLines(matrixStackIn, area, Color.GREEN, bufferSource);
+            RenderHelpers.renderBoxSolid(matrixStackIn, matrix4f, bufferSource, area, 1, 0, 0, 0.125f);
+            if (areaAffectingBE.getAreaAffectingData().xRadius > 0 || areaAffectingBE.getAreaAffectingData().yRadius > 0 || areaAffectingBE.getAreaAffectingData().zRadius > 0) {
+                AABB offsetOnly = areaAffectingBE.getAABBOffsetOnly(BlockPos.ZERO);
+                RenderHelpers.renderLines(matrixStackIn, offsetOnly, Color.WHITE, bufferSource);
+                RenderHelpers.renderBoxSolid(matrixStackIn, matrix4f, bufferSource, offsetOnly, 0, 0, 1, 0.125f);
+            }
+            matrixStackIn.popPose();
+        }
+
+        hasLines = upload(lineBuffer, lineBuilder.build());
+        hasBoxes = upload(boxBuffer, boxBuilder.build());
+        lineByteBuffer.close();
+        boxByteBuffer.close();
+    }
+
+    private static boolean upload(VertexBuffer vertexBuffer, MeshData meshData) {
+        if (meshData == null)
+            return false;
+        vertexBuffer.bind();
+        vertexBuffer.upload(meshData); //Closes the mesh data
+        VertexBuffer.unbind();
+        return true;
+    }
+}
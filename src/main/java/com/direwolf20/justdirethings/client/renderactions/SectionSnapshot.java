@@ -0,0 +1,101 @@
+package com.direwolf20.justdirethings.client.renderactions;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.BlockAndTintGetter;
+import net.minecraft.world.level.ColorResolver;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.lighting.LevelLightEngine;
+import net.minecraft.world.level.material.FluidState;
+
+import javax.annotation.Nullable;
+import java.util.function.Predicate;
+
+/**
+ * A copy of the block states in the chunk sections around a position, taken on the render thread so it can be scanned and tessellated on a worker.
+ * Lighting, shading and tints are passed through to the level, the same as vanilla's section compiler does.
+ */
+public class SectionSnapshot implements BlockAndTintGetter {
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+    private final Level level;
+    private final Long2ObjectOpenHashMap<PalettedContainer<BlockState>> sections = new Long2ObjectOpenHashMap<>();
+    private final int minY, height;
+
+    public SectionSnapshot(Level level, BlockPos center, int radius) {
+        this.level = level;
+        this.minY = level.getMinBuildHeight();
+        this.height = level.getHeight();
+        int minSectionY = Math.max(level.getMinSection(), SectionPos.blockToSectionCoord(center.getY() - radius));
+        int maxSectionY = Math.min(level.getMaxSection() - 1, SectionPos.blockToSectionCoord(center.getY() + radius));
+        for (int x = SectionPos.blockToSectionCoord(center.getX() - radius); x <= SectionPos.blockToSectionCoord(center.getX() + radius); x++) {
+            for (int z = SectionPos.blockToSectionCoord(center.getZ() - radius); z <= SectionPos.blockToSectionCoord(center.getZ() + radius); z++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(x, z);
+                if (chunk == null) continue;
+                for (int y = minSectionY; y <= maxSectionY; y++) {
+                    LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(y));
+                    if (section.hasOnlyAir()) continue;
+                    sections.put(SectionPos.asLong(x, y, z), section.getStates().copy());
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the section might contain a matching state - a cheap palette check, so whole sections can be skipped
+     */
+    public boolean sectionMaybeHas(int sectionX, int sectionY, int sectionZ, Predicate<BlockState> predicate) {
+        PalettedContainer<BlockState> states = sections.get(SectionPos.asLong(sectionX, sectionY, sectionZ));
+        return states != null && states.maybeHas(predicate);
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        PalettedContainer<BlockState> states = sections.get(SectionPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getY()), SectionPos.blockToSectionCoord(pos.getZ())));
+        if (states == null) return AIR;
+        return states.get(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public float getShade(Direction direction, boolean shade) {
+        return level.getShade(direction, shade);
+    }
+
+    @Override
+    public LevelLightEngine getLightEngine() {
+        return level.getLightEngine();
+    }
+
+    @Override
+    public int getBlockTint(BlockPos pos, ColorResolver colorResolver) {
+        return level.getBlockTint(pos, colorResolver);
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return minY;
+    }
+}
@@ -3,9 +3,11 @@ package com.direwolf20.justdirethings.client.renderactions;
 import com.direwolf20.justdirethings.client.particles.alwaysvisibleparticle.AlwaysVisibleParticleData;
 import com.direwolf20.justdirethings.client.renderers.OurRenderTypes;
 import com.direwolf20.justdirethings.common.items.interfaces.Ability;
+import com.direwolf20.justdirethings.setup.Config;
 import com.direwolf20.justdirethings.util.MiscHelpers;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.*;
+import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.block.BlockRenderDispatcher;
@@ -13,6 +15,7 @@ import net.minecraft.client.renderer.block.ModelBlockRenderer;
 import net.minecraft.client.renderer.texture.OverlayTexture;
 import net.minecraft.client.resources.model.BakedModel;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.util.RandomSource;
@@ -31,9 +34,12 @@ import net.neoforged.neoforge.common.Tags;
 import org.joml.Matrix4f;
 import org.joml.Vector3f;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class ThingFinder {
@@ -47,12 +53,12 @@ public class ThingFinder {
     public static List<Entity> entityList = new ArrayList<>();
     private static int sortCounter = 0;
 
-    //A eBufferBuilder, so we can draw the render
+    //A ByteBufferBuilder for the index buffers when re-sorting - meshes are built into their own buffers off-thread
     private static final ByteBufferBuilder byteBufferBuilder = new ByteBufferBuilder(RenderType.cutout().bufferSize());
 
     //Cached SortStates used for re-sorting every so often
-    private static MeshData meshdata;
     private static MeshData.SortState sortState;
+    private static int scanGeneration = 0;
     //Vertex Buffer to buffer the different ores.
     private static final VertexBuffer vertexBuffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
     //The render type
@@ -93,26 +99,65 @@ public class ThingFinder {
             discoverOres(player, toolAbility, itemStack);
     }
 
+    /**
+     * Snapshots the nearby chunk sections here on the render thread, then scans them and builds the xray mesh on a worker.
+     * Only the GPU upload comes back to the render thread.
+     */
     private static void discoverOres(Player player, Ability toolAbility, ItemStack itemStack) {
         oreBlocksList.clear();
+        int generation = ++scanGeneration;
         BlockPos playerPos = player.getOnPos();
-        int radius = 10;
-        oreBlocksList = BlockPos.betweenClosedStream(playerPos.offset(-radius, -radius, -radius), playerPos.offset(radius, radius, radius))
-                .filter(blockPos -> isValidBlock(blockPos, player, itemStack))
-                .map(BlockPos::immutable)
-                .collect(Collectors.toList());
-        if (toolAbility.equals(Ability.OREXRAY)) {
-            xRayStartTime = System.currentTimeMillis();
-            generateVBO(player);
-        } else if (toolAbility.equals(Ability.ORESCANNER)) {
-            blockParticlesStartTime = System.currentTimeMillis();
+        int radius = Config.ORE_SCANNER_RADIUS.get();
+        boolean xRay = toolAbility.equals(Ability.OREXRAY);
+        ItemStack tool = itemStack.copy();
+        SectionSnapshot snapshot = new SectionSnapshot(player.level(), playerPos, radius);
+        Vec3 projectedView = Minecraft.getInstance().gameRenderer.getMainCamera().getPosition();
+        Vector3f sortPos = new Vector3f((float) (projectedView.x - playerPos.getX()), (float) (projectedView.y - playerPos.getY()), (float) (projectedView.z - playerPos.getZ()));
+
+        CompletableFuture.supplyAsync(() -> {
+            List<BlockPos> ores = scanSnapshot(snapshot, playerPos, radius, tool);
+            return xRay ? buildMesh(snapshot, ores, playerPos, sortPos) : new ScanResult(ores, null, null, null);
+        }, Util.backgroundExecutor()).thenAcceptAsync(result -> {
+            if (generation != scanGeneration) { //A newer scan was started while this one was running
+                result.close();
+                return;
+            }
+            if (xRay) {
+                uploadMesh(result, playerPos);
+            } else {
+                oreBlocksList = result.ores();
+                blockParticlesStartTime = System.currentTimeMillis();
+            }
+        }, Minecraft.getInstance());
+    }
+
+    private static List<BlockPos> scanSnapshot(SectionSnapshot snapshot, BlockPos center, int radius, ItemStack itemStack) {
+        List<BlockPos> ores = new ArrayList<>();
+        Predicate<BlockState> isOre = blockState -> blockState.is(Tags.Blocks.ORES);
+        BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+        for (int sectionX = SectionPos.blockToSectionCoord(center.getX() - radius); sectionX <= SectionPos.blockToSectionCoord(center.getX() + radius); sectionX++) {
+            for (int sectionY = SectionPos.blockToSectionCoord(center.getY() - radius); sectionY <= SectionPos.blockToSectionCoord(center.getY() + radius); sectionY++) {
+                for (int sectionZ = SectionPos.blockToSectionCoord(center.getZ() - radius); sectionZ <= SectionPos.blockToSectionCoord(center.getZ() + radius); sectionZ++) {
+                    if (!snapshot.sectionMaybeHas(sectionX, sectionY, sectionZ, isOre)) continue; //No ores in this sections palette
+                    int minX = Math.max(center.getX() - radius, SectionPos.sectionToBlockCoord(sectionX)), maxX = Math.min(center.getX() + radius, SectionPos.sectionToBlockCoord(sectionX, 15));
+                    int minY = Math.max(center.getY() - radius, SectionPos.sectionToBlockCoord(sectionY)), maxY = Math.min(center.getY() + radius, SectionPos.sectionToBlockCoord(sectionY, 15));
+                    int minZ = Math.max(center.getZ() - radius, SectionPos.sectionToBlockCoord(sectionZ)), maxZ = Math.min(center.getZ() + radius, SectionPos.sectionToBlockCoord(sectionZ, 15));
+                    for (int x = minX; x <= maxX; x++) {
+                        for (int y = minY; y <= maxY; y++) {
+                            for (int z = minZ; z <= maxZ; z++) {
+                                BlockState blockState = snapshot.getBlockState(mutablePos.set(x, y, z));
+                                if (isOre.test(blockState) && isValidBlock(blockState, itemStack))
+                                    ores.add(mutablePos.immutable());
+                            }
+                        }
+                    }
+                }
+            }
         }
+        return ores;
     }
 
-    private static boolean isValidBlock(BlockPos blockPos, Player player, ItemStack itemStack) {
-        BlockState blockState = player.level().getBlockState(blockPos);
-        if (!blockState.getTags().anyMatch(tag -> tag.equals(Tags.Blocks.ORES)))
-            return false;
+    private static boolean isValidBlock(BlockState blockState, ItemStack itemStack) {
         if (itemStack.getItem() instanceof TieredItem tieredItem) {
             return itemStack.isCorrectToolForDrops(blockState);
         }
@@ -160,25 +205,35 @@ public class ThingFinder {
         }
     }
 
-    public static void generateVBO(Player player) {
-        if (oreBlocksList == null || oreBlocksList.isEmpty()) return;
+    /**
+     * The result of an off-thread ore scan. When it's for the xray, also holds the mesh, which lives in its own buffer until it's uploaded.
+     */
+    private record ScanResult(List<BlockPos> ores, @Nullable MeshData meshData, @Nullable MeshData.SortState sortState, @Nullable ByteBufferBuilder buffer) {
+        private void close() {
+            if (meshData != null)
+                meshData.close();
+            if (buffer != null)
+                buffer.close();
+        }
+    }
+
+    private static ScanResult buildMesh(SectionSnapshot snapshot, List<BlockPos> ores, BlockPos renderAt, Vector3f sortPos) {
+        if (ores.isEmpty()) return new ScanResult(ores, null, null, null);
         PoseStack matrix = new PoseStack(); //Create a new matrix stack for use in the buffer building process
         BlockRenderDispatcher dispatcher = Minecraft.getInstance().getBlockRenderer();
         ModelBlockRenderer modelBlockRenderer = dispatcher.getModelRenderer();
         final RandomSource random = RandomSource.create();
-        Level level = player.level();
-        renderedAtPos = player.getOnPos();
 
-        byteBufferBuilder.clear();
-        BufferBuilder builder = new BufferBuilder(byteBufferBuilder, renderType.mode(), renderType.format());
+        ByteBufferBuilder meshBuffer = new ByteBufferBuilder(RenderType.cutout().bufferSize());
+        BufferBuilder builder = new BufferBuilder(meshBuffer, renderType.mode(), renderType.format());
 
-        for (BlockPos pos : oreBlocksList) {
-            BlockState renderState = level.getBlockState(pos);
+        for (BlockPos pos : ores) {
+            BlockState renderState = snapshot.getBlockState(pos);
             if (renderState.isAir()) continue;
 
             BakedModel ibakedmodel = dispatcher.getBlockModel(renderState);
             matrix.pushPose();
-            matrix.translate(-renderedAtPos.getX(), -renderedAtPos.getY(), -renderedAtPos.getZ());
+            matrix.translate(-renderAt.getX(), -renderAt.getY(), -renderAt.getZ());
             matrix.translate(pos.getX(), pos.getY(), pos.getZ());
 
             //We make this just a TINY bit smaller than a full block - because we're doing GREATERTHAN depth testing.
@@ -189,28 +244,35 @@ public class ThingFinder {
 
             for (RenderType renderTypeDraw : ibakedmodel.getRenderTypes(renderState, random, ModelData.EMPTY)) {
                 try {
-                    modelBlockRenderer.tesselateBlock(level, ibakedmodel, renderState, pos.above(255), matrix, builder, false, random, renderState.getSeed(pos), OverlayTexture.NO_OVERLAY, ibakedmodel.getModelData(level, pos, renderState, ModelData.EMPTY), renderTypeDraw);
+                    modelBlockRenderer.tesselateBlock(snapshot, ibakedmodel, renderState, pos.above(255), matrix, builder, false, random, renderState.getSeed(pos), OverlayTexture.NO_OVERLAY, ibakedmodel.getModelData(snapshot, pos, renderState, ModelData.EMPTY), renderTypeDraw);
                 } catch (Exception e) {
                     //System.out.println(e);
                 }
             }
             matrix.popPose();
         }
-        //Sort all the builder's vertices and then upload them to the vertex buffer
-        Vec3 projectedView = Minecraft.getInstance().gameRenderer.getMainCamera().getPosition();
-        Vec3 subtracted = projectedView.subtract(renderedAtPos.getX(), renderedAtPos.getY(), renderedAtPos.getZ());
-        Vector3f sortPos = new Vector3f((float) subtracted.x, (float) subtracted.y, (float) subtracted.z);
-        if (meshdata != null) {
-            meshdata.close();
+        //Sort all the builder's vertices, ready to be uploaded on the render thread
+        MeshData builtMesh = builder.build();
+        if (builtMesh == null) {
+            meshBuffer.close();
+            return new ScanResult(ores, null, null, null);
         }
-        meshdata = builder.build();
-        if (meshdata != null) {
-            sortState = meshdata.sortQuads(byteBufferBuilder, VertexSorting.byDistance(sortPos));
-            vertexBuffer.bind();
-            vertexBuffer.upload(meshdata);
-            VertexBuffer.unbind();
+        MeshData.SortState builtSortState = builtMesh.sortQuads(meshBuffer, VertexSorting.byDistance(sortPos));
+        return new ScanResult(ores, builtMesh, builtSortState, meshBuffer);
+    }
+
+    private static void uploadMesh(ScanResult result, BlockPos renderAt) {
+        if (result.meshData() == null) {
+            result.close();
+            return;
         }
-        oreBlocksList.clear();
+        renderedAtPos = renderAt;
+        sortState = result.sortState();
+        vertexBuffer.bind();
+        vertexBuffer.upload(result.meshData());
+        VertexBuffer.unbind();
+        result.close();
+        xRayStartTime = System.currentTimeMillis();
     }
 
     public static void drawVBO(RenderLevelStageEvent evt, Player player) {
@@ -0,0 +1,127 @@
+package com.direwolf20.justdirethings.client.renderers;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.client.renderer.block.ModelBlockRenderer;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.util.FastColor;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.BlockAndTintGetter;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.client.model.data.ModelData;
+
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Vertices recorded once from a model render, so they can be drawn again every frame without redoing the quad lookups and AO.
+ * Positions and normals are kept in the space of the PoseStack they were recorded with, and moved into the current pose when drawn.
+ * Light and AO are baked in too, so owners rebake when the light changes. Renderers keep their meshes in instance fields, so a resource
+ * reload (which rebuilds every renderer) throws them away along with the models they were baked from.
+ */
+public class DireMesh implements VertexConsumer {
+    private static final int FLOATS = 8; //x, y, z, u, v, normal x, y, z
+    private static final int INTS = 3; //color, overlay, light
+    //Scratch objects for baking - shared by every renderer that bakes meshes, which is fine as baking only ever happens on the render thread
+    private static final float[] afloat = new float[Direction.values().length * 2];
+    private static final BitSet bitset = new BitSet(3);
+    private static final RandomSource randomSource = RandomSource.create();
+    private static final ModelBlockRenderer.AmbientOcclusionFace ambientOcclusionFace = new ModelBlockRenderer.AmbientOcclusionFace();
+    private final FloatArrayList floats = new FloatArrayList();
+    private final IntArrayList ints = new IntArrayList();
+    private int vertexCount;
+
+    @Override
+    public VertexConsumer addVertex(float x, float y, float z) {
+        vertexCount++;
+        floats.size(vertexCount * FLOATS);
+        ints.size(vertexCount * INTS);
+        int f = (vertexCount - 1) * FLOATS;
+        floats.set(f, x);
+        floats.set(f + 1, y);
+        floats.set(f + 2, z);
+        ints.set((vertexCount - 1) * INTS, -1); //White, in case the model doesn't set a color
+        return this;
+    }
+
+    @Override
+    public VertexConsumer setColor(int red, int green, int blue, int alpha) {
+        ints.set((vertexCount - 1) * INTS, FastColor.ARGB32.color(alpha, red, green, blue));
+        return this;
+    }
+
+    @Override
+    public VertexConsumer setUv(float u, float v) {
+        int f = (vertexCount - 1) * FLOATS;
+        floats.set(f + 3, u);
+        floats.set(f + 4, v);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer setUv1(int u, int v) {
+        ints.set((vertexCount - 1) * INTS + 1, (u & 0xFFFF) | (v << 16));
+        return this;
+    }
+
+    @Override
+    public VertexConsumer setUv2(int u, int v) {
+        ints.set((vertexCount - 1) * INTS + 2, (u & 0xFFFF) | (v << 16));
+        return this;
+    }
+
+    @Override
+    public VertexConsumer setNormal(float normalX, float normalY, float normalZ) {
+        int f = (vertexCount - 1) * FLOATS;
+        floats.set(f + 5, normalX);
+        floats.set(f + 6, normalY);
+        floats.set(f + 7, normalZ);
+        return this;
+    }
+
+    /**
+     * The model's quads for one side (or the unculled ones, for null), picked with the same seed the level would use at that position
+     */
+    public static List<BakedQuad> getQuads(BakedModel model, BlockState state, BlockPos pos, @Nullable Direction side) {
+        randomSource.setSeed(state.getSeed(pos));
+        return model.getQuads(state, side, randomSource, ModelData.EMPTY, null);
+    }
+
+    /**
+     * Record the quads into this mesh, lit and ambient occluded by modelBlockRenderer as if state were at pos in level
+     */
+    public void bakeQuads(ModelBlockRenderer modelBlockRenderer, BlockAndTintGetter level, BlockState state, BlockPos pos, PoseStack poseStack, List<BakedQuad> quads, int combinedOverlay) {
+        if (!quads.isEmpty())
+            modelBlockRenderer.renderModelFaceAO(level, state, pos, poseStack, this, quads, afloat, bitset, ambientOcclusionFace, combinedOverlay);
+    }
+
+    public boolean isEmpty() {
+        return vertexCount == 0;
+    }
+
+    /**
+     * Draw the recorded vertices into consumer, relative to pose, with every vertex's alpha replaced by the given alpha
+     */
+    public void draw(PoseStack.Pose pose, VertexConsumer consumer, float alpha) {
+        int a = Math.round(255 * alpha);
+        float[] f = floats.elements();
+        int[] i = ints.elements();
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            int fo = vertex * FLOATS;
+            int io = vertex * INTS;
+            int color = i[io];
+            consumer.addVertex(pose, f[fo], f[fo + 1], f[fo + 2])
+                    .setColor(FastColor.ARGB32.red(color), FastColor.ARGB32.green(color), FastColor.ARGB32.blue(color), a)
+                    .setUv(f[fo + 3], f[fo + 4])
+                    .setOverlay(i[io + 1])
+                    .setLight(i[io + 2])
+                    .setNormal(pose, f[fo + 5], f[fo + 6], f[fo + 7]);
+        }
+    }
+}
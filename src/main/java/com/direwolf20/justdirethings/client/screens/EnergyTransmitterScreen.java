@@ -1,6 +1,7 @@
 package com.direwolf20.justdirethings.client.screens;
 
 import com.direwolf20.justdirethings.client.screens.basescreens.BaseMachineScreen;
+import com.direwolf20.justdirethings.common.blockentities.basebe.PoweredMachineBE;
 import com.direwolf20.justdirethings.client.screens.standardbuttons.ToggleButtonFactory;
 import com.direwolf20.justdirethings.client.screens.widgets.GrayscaleButton;
 import com.direwolf20.justdirethings.common.blockentities.EnergyTransmitterBE;
@@ -40,6 +41,11 @@ public class EnergyTransmitterScreen extends BaseMachineScreen<EnergyTransmitter
         extraHeight = 0;
     }
 
+    @Override
+    public int getMaxEnergy(PoweredMachineBE poweredMachineBE) {
+        return menu.getNetworkMaxEnergy(); //Energy shown is the total of the whole network
+    }
+
     @Override
     public void addTickSpeedButton() {
         //No-Op
@@ -18,7 +18,7 @@ import net.neoforged.neoforge.network.PacketDistributor;
 
 public class ExperienceHolderScreen extends BaseMachineScreen<ExperienceHolderContainer> {
     private ExperienceHolderBE experienceHolderBE;
-    private int exp;
+    private long exp;
     private int targetExp;
     private boolean ownerOnly;
     private boolean collectExp;
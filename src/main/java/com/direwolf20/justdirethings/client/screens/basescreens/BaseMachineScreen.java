@@ -283,9 +283,9 @@ public abstract class BaseMachineScreen<T extends BaseMachineContainer> extends
         }
         if (baseMachineBE instanceof PoweredMachineBE poweredMachineBE) {
             guiGraphics.blit(POWERBAR, topSectionLeft + getEnergyBarOffset(), topSectionTop + 5, 0, 0, 18, 72, 36, 72);
-            int maxEnergy = poweredMachineBE.getMaxEnergy(), height = 70;
+            int maxEnergy = getMaxEnergy(poweredMachineBE), height = 70;
             if (maxEnergy > 0) {
-                int remaining = (this.container.getEnergy() * height) / maxEnergy;
+                int remaining = (int) (((long) this.container.getEnergy() * height) / maxEnergy);
                 guiGraphics.blit(POWERBAR, topSectionLeft + getEnergyBarOffset() + 1, topSectionTop + getEnergyBarOffset() + 72 - 2 - remaining, 19, 69 - remaining, 17, remaining + 1, 36, 72);
             }
         }
@@ -303,6 +303,11 @@ public abstract class BaseMachineScreen<T extends BaseMachineContainer> extends
             updateRenderables();
     }
 
+    //Override this if the energy bar should show something other than the machines own capacity
+    public int getMaxEnergy(PoweredMachineBE poweredMachineBE) {
+        return poweredMachineBE.getMaxEnergy();
+    }
+
     public int getEnergyBarOffset() {
         return 5;
     }
@@ -375,11 +380,11 @@ public abstract class BaseMachineScreen<T extends BaseMachineContainer> extends
             if (MiscTools.inBounds(topSectionLeft + getEnergyBarOffset(), topSectionTop + 5, 18, 72, pX, pY)) {
                 if (hasShiftDown())
                     pGuiGraphics.renderTooltip(font, Language.getInstance().getVisualOrder(Arrays.asList(
-                            Component.translatable("justdirethings.screen.energy", MagicHelpers.formatted(this.container.getEnergy()), MagicHelpers.formatted(poweredMachineBE.getMaxEnergy()))
+                            Component.translatable("justdirethings.screen.energy", MagicHelpers.formatted(this.container.getEnergy()), MagicHelpers.formatted(getMaxEnergy(poweredMachineBE)))
                     )), pX, pY);
                 else
                     pGuiGraphics.renderTooltip(font, Language.getInstance().getVisualOrder(Arrays.asList(
-                            Component.translatable("justdirethings.screen.energy", MagicHelpers.withSuffix(this.container.getEnergy()), MagicHelpers.withSuffix(poweredMachineBE.getMaxEnergy()))
+                            Component.translatable("justdirethings.screen.energy", MagicHelpers.withSuffix(this.container.getEnergy()), MagicHelpers.withSuffix(getMaxEnergy(poweredMachineBE)))
                     )), pX, pY);
             }
         }
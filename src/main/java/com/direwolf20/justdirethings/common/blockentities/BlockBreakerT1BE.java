@@ -109,6 +109,18 @@ public class BlockBreakerT1BE extends BaseMachineBE implements RedstoneControlle
         fakePlayer.setShiftKeyDown(false);
     }
 
+    @Override
+    protected boolean sleepsWhenRedstoneInactive() {
+        return true;
+    }
+
+    @Override
+    public long getSleepUntil() {
+        if (blockBreakingTracker.isEmpty() && (getTool().isEmpty() || isPowerIdle()))
+            return SLEEP_UNTIL_WOKEN; //Nothing to mine with, wait for a tool or power to show up
+        return super.getSleepUntil();
+    }
+
     public boolean canMine() {
         return true;
     }
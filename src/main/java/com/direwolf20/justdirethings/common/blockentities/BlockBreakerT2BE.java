@@ -79,6 +79,13 @@ public class BlockBreakerT2BE extends BlockBreakerT1BE implements PoweredMachine
         chargeItemStack(getMachineHandler().getStackInSlot(0));
     }
 
+    @Override
+    public long getSleepUntil() {
+        if (canChargeItemStack(getMachineHandler().getStackInSlot(0)))
+            return AWAKE; //Keep charging the item in our slot
+        return super.getSleepUntil();
+    }
+
     @Override
     public boolean canMine() {
         return hasEnoughPower(getStandardEnergyCost());
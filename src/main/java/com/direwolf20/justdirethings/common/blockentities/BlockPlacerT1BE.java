@@ -59,6 +59,18 @@ public class BlockPlacerT1BE extends BaseMachineBE implements RedstoneControlled
         doBlockPlace();
     }
 
+    @Override
+    protected boolean sleepsWhenRedstoneInactive() {
+        return true;
+    }
+
+    @Override
+    public long getSleepUntil() {
+        if (isPowerIdle())
+            return SLEEP_UNTIL_WOKEN;
+        return super.getSleepUntil();
+    }
+
     public ItemStack getPlaceStack() {
         return getMachineHandler().getStackInSlot(0);
     }
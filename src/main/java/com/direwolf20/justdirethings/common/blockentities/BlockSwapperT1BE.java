@@ -245,6 +245,11 @@ public class BlockSwapperT1BE extends BaseMachineBE implements RedstoneControlle
         doSwap();
     }
 
+    @Override
+    protected boolean sleepsWhenRedstoneInactive() {
+        return true;
+    }
+
     public boolean canSwap() {
         return true;
     }
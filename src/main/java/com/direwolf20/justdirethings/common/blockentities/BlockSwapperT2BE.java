@@ -76,7 +76,7 @@ public class BlockSwapperT2BE extends BlockSwapperT1BE implements PoweredMachine
         getAreaAffectingData().zRadius = Math.max(0, Math.min(z, maxRadius));
         getAreaAffectingData().area = null;
         if (getBlockEntity() instanceof BaseMachineBE baseMachineBE)
-            baseMachineBE.markDirtyClient();
+            baseMachineBE.markDirtyClient(BaseMachineBE.SYNC_AREA);
     }
 
     public void updatePartnerArea() {
@@ -98,6 +98,18 @@ public class ClickerT1BE extends BaseMachineBE implements RedstoneControlledBE {
         doClick();
     }
 
+    @Override
+    protected boolean sleepsWhenRedstoneInactive() {
+        return true;
+    }
+
+    @Override
+    public long getSleepUntil() {
+        if (isPowerIdle())
+            return SLEEP_UNTIL_WOKEN;
+        return super.getSleepUntil();
+    }
+
     public ItemStack getClickStack() {
         return getMachineHandler().getStackInSlot(0);
     }
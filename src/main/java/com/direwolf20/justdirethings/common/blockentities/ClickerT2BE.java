@@ -73,6 +73,13 @@ public class ClickerT2BE extends ClickerT1BE implements PoweredMachineBE, AreaAf
         chargeItemStack(getClickStack());
     }
 
+    @Override
+    public long getSleepUntil() {
+        if (canChargeItemStack(getClickStack()))
+            return AWAKE; //Keep charging the item in our slot
+        return super.getSleepUntil();
+    }
+
     @Override
     public boolean canClick() {
         return hasEnoughPower(getStandardEnergyCost());
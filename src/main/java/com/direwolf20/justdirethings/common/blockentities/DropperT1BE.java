@@ -62,6 +62,11 @@ public class DropperT1BE extends BaseMachineBE implements RedstoneControlledBE {
         doDrop();
     }
 
+    @Override
+    protected boolean sleepsWhenRedstoneInactive() {
+        return true;
+    }
+
     public boolean clearTrackerIfNeeded() {
         if (slotsToDropList.isEmpty())
             return false;
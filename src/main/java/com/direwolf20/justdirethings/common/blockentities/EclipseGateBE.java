@@ -1,6 +1,7 @@
 package com.direwolf20.justdirethings.common.blockentities;
 
 import com.direwolf20.justdirethings.setup.Registration;
+import com.direwolf20.justdirethings.util.EclipseGateReverts;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.core.registries.BuiltInRegistries;
@@ -9,82 +10,47 @@ import net.minecraft.nbt.NbtUtils;
 import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.entity.item.ItemEntity;
-import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 
-import java.util.List;
-
-
+/**
+ * Only here to give the gate its renderer - reverting the block is handled by EclipseGateReverts, so this doesn't tick
+ */
 public class EclipseGateBE extends BlockEntity {
-    public byte lifetime;
-    public BlockState sourceBlock;
+    private BlockState legacySourceBlock;
+    private byte legacyLifetime;
 
     public EclipseGateBE(BlockPos pos, BlockState state) {
         super(Registration.EclipseGateBE.get(), pos, state);
     }
 
-    public void tickClient() {
-
-    }
-
-    public void tickServer() {
-        tickLifetime();
-        if (lifetime >= getMaxLife()) {
-            setRealBlock(sourceBlock);
-        }
-    }
-
-    public void setSourceBlock(BlockState blockState) {
-        this.sourceBlock = blockState;
-    }
-
-    public byte getMaxLife() {
-        return 100;
-    }
-
-    public void setRealBlock(BlockState realBlock) {
-        if (realBlock == null) { //This should never happen in theory, defensive coding
-            level.setBlockAndUpdate(this.getBlockPos(), Blocks.AIR.defaultBlockState());
-            return;
-        }
-        if (!realBlock.canSurvive(level, getBlockPos())) {
-            List<ItemStack> drops = Block.getDrops(realBlock, (ServerLevel) level, getBlockPos(), null);
-            for (ItemStack returnedItem : drops) {
-                ItemEntity itementity = new ItemEntity(level, getBlockPos().getX(), getBlockPos().getY(), getBlockPos().getZ(), returnedItem);
-                itementity.setPickUpDelay(40);
-                level.addFreshEntity(itementity);
-                level.setBlockAndUpdate(this.getBlockPos(), Blocks.AIR.defaultBlockState());
-                return;
-            }
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        //Gates from before the revert queue kept their own countdown, hand them over to it
+        if (legacySourceBlock != null && level instanceof ServerLevel serverLevel) {
+            EclipseGateReverts.get(serverLevel).schedule(serverLevel, getBlockPos(), legacySourceBlock, Math.max(1, EclipseGateReverts.LIFETIME - legacyLifetime));
+            legacySourceBlock = null;
+            setChanged();
         }
-        BlockState adjustedState = Block.updateFromNeighbourShapes(realBlock, level, getBlockPos()); //Ensure double chests are placed as single chests if only 1 chest available in copy/paste, for example, or fixes fences
-        level.setBlockAndUpdate(this.getBlockPos(), adjustedState);
-    }
-
-    public void tickLifetime() {
-        lifetime++;
-        if (lifetime >= getMaxLife())
-            lifetime = getMaxLife();
     }
 
     /** Misc Methods for TE's */
     @Override
     public void loadAdditional(CompoundTag tag, HolderLookup.Provider provider) {
         super.loadAdditional(tag, provider);
-        this.sourceBlock = NbtUtils.readBlockState(BuiltInRegistries.BLOCK.asLookup(), tag.getCompound("sourceBlock"));
-        this.lifetime = tag.getByte("lifetime");
+        if (tag.contains("sourceBlock")) {
+            this.legacySourceBlock = NbtUtils.readBlockState(BuiltInRegistries.BLOCK.asLookup(), tag.getCompound("sourceBlock"));
+            this.legacyLifetime = tag.getByte("lifetime");
+        }
     }
 
     @Override
     public void saveAdditional(CompoundTag tag, HolderLookup.Provider provider) {
         super.saveAdditional(tag, provider);
-        if (this.sourceBlock != null) {
-            tag.put("sourceBlock", NbtUtils.writeBlockState(this.sourceBlock));
-            tag.putByte("lifetime", this.lifetime);
+        if (this.legacySourceBlock != null) { //Not handed over yet
+            tag.put("sourceBlock", NbtUtils.writeBlockState(this.legacySourceBlock));
+            tag.putByte("lifetime", this.legacyLifetime);
         }
     }
 
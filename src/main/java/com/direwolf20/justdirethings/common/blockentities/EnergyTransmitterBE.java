@@ -5,10 +5,13 @@ import com.direwolf20.justdirethings.common.blockentities.basebe.*;
 import com.direwolf20.justdirethings.common.blocks.EnergyTransmitter;
 import com.direwolf20.justdirethings.common.capabilities.EnergyStorageItemStackNoReceive;
 import com.direwolf20.justdirethings.common.capabilities.TransmitterEnergyStorage;
+import com.direwolf20.justdirethings.common.capabilities.TransmitterNetwork;
+import com.direwolf20.justdirethings.common.capabilities.TransmitterNetworkManager;
 import com.direwolf20.justdirethings.common.containers.handlers.FilterBasicHandler;
 import com.direwolf20.justdirethings.common.items.PocketGenerator;
 import com.direwolf20.justdirethings.setup.Config;
 import com.direwolf20.justdirethings.setup.Registration;
+import com.direwolf20.justdirethings.util.BlockChangeTracker;
 import com.direwolf20.justdirethings.util.interfacehelpers.AreaAffectingData;
 import com.direwolf20.justdirethings.util.interfacehelpers.FilterData;
 import com.direwolf20.justdirethings.util.interfacehelpers.RedstoneControlData;
@@ -17,6 +20,7 @@ import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
@@ -32,15 +36,18 @@ import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.energy.IEnergyStorage;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
-public class EnergyTransmitterBE extends BaseMachineBE implements RedstoneControlledBE, PoweredMachineBE, AreaAffectingBE, FilterableBE {
+public class EnergyTransmitterBE extends BaseMachineBE implements RedstoneControlledBE, PoweredMachineBE, AreaAffectingBE, FilterableBE, BlockChangeTracker.Listener {
+    private static final int FULL_RESCAN_INTERVAL = 24; //How many incremental scans to do between full area scans - 24 * 50 ticks = 1 minute
     public RedstoneControlData redstoneControlData = new RedstoneControlData();
-    public final PoweredMachineContainerData poweredMachineData;
+    public final TransmitterContainerData poweredMachineData;
     private final Map<BlockPos, BlockCapabilityCache<IEnergyStorage, Direction>> energyHandlers = new HashMap<>();
-    private final Map<BlockPos, BlockCapabilityCache<IEnergyStorage, Direction>> transmitterHandlers = new HashMap<>();
     private final Set<BlockPos> blocksToCharge = new HashSet<>();
     private final Set<BlockPos> transmitters = new HashSet<>();
+    private final Set<BlockPos> changedPositions = new HashSet<>();
+    private boolean needsFullScan = true;
+    private int scansSinceFullScan = 0;
+    private AABB indexedArea;
     public AreaAffectingData areaAffectingData = new AreaAffectingData();
     public FilterData filterData = new FilterData();
     public boolean showParticles = true;
@@ -48,7 +55,7 @@ public class EnergyTransmitterBE extends BaseMachineBE implements RedstoneContro
     public EnergyTransmitterBE(BlockEntityType<?> pType, BlockPos pPos, BlockState pBlockState) {
         super(pType, pPos, pBlockState);
         MACHINE_SLOTS = 1;
-        poweredMachineData = new PoweredMachineContainerData(this);
+        poweredMachineData = new TransmitterContainerData(this);
         tickSpeed = 50; //We use this to check how often to rescan the area
     }
 
@@ -110,114 +117,29 @@ public class EnergyTransmitterBE extends BaseMachineBE implements RedstoneContro
     public void tickClient() {
     }
 
-    /**
-     * Get an UPDATED and ACTIVE list of transmitters that are currently available (The cache'd cap still exists) via getTransmitterEnergyHandler
-     */
-    public Map<BlockPos, TransmitterEnergyStorage> getTransmitterEnergyStorages() {
-        return transmitters.stream()
-                .map(pos -> new AbstractMap.SimpleEntry<>(pos, getTransmitterEnergyHandler(pos)))
-                .filter(entry -> entry.getValue() != null) // Filter out entries with null TransmitterEnergyStorages
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
-
-
-    /**
-     * Balance the energy across the entire network of transmitters that THIS transmitter can see/access. Other transmitters will handle balancing amongst their own network
-     */
-    public void balanceEnergy() {
-        if (transmitters.isEmpty() || transmitters.size() == 1) return;
-        Map<BlockPos, TransmitterEnergyStorage> transmitterEnergyStorages = getTransmitterEnergyStorages();
-
-        int totalEnergy = transmitterEnergyStorages.values().stream()
-                .mapToInt(TransmitterEnergyStorage::getRealEnergyStored) // Convert each storage to an int representing its stored energy
-                .sum(); // Sum up all the values
-        int count = transmitterEnergyStorages.size();
-        int averageEnergy = totalEnergy / count;
-        int remainder = totalEnergy % count;
-
-        // Check if already balanced
-        if (isAlreadyBalanced(transmitterEnergyStorages, averageEnergy, remainder)) {
-            return;
-        }
-
-        // Redistribution
-        int i = 0;
-        for (Map.Entry<BlockPos, TransmitterEnergyStorage> entry : transmitterEnergyStorages.entrySet()) {
-            if (i < remainder) {
-                entry.getValue().setEnergy(averageEnergy + 1);
-            } else {
-                entry.getValue().setEnergy(averageEnergy);
-            }
-            i++;
-            doParticles(getBlockPos(), entry.getKey());
-        }
-    }
-
-    /**
-     * Checks to see if the rest of the network is balanced, within a reasonable margin of error (1 if theres a remainder value)
-     */
-    private boolean isAlreadyBalanced(Map<BlockPos, TransmitterEnergyStorage> transmitterEnergyStorages, int averageEnergy, int remainder) {
-        int minEnergy = averageEnergy;
-        int maxEnergy = averageEnergy + (remainder > 0 ? 1 : 0);
-
-        return transmitterEnergyStorages.values().stream().allMatch((transmitterEnergyStorage) -> {
-            int energy = transmitterEnergyStorage.getRealEnergyStored();
-            return energy == minEnergy || energy == maxEnergy;
-        });
+    public TransmitterNetwork getNetwork() {
+        return getEnergyStorage().getNetwork();
     }
 
     /**
      * Get total energy stored across this transmitters entire network
      */
-    public int getTotalEnergyStored() {
-        return getTransmitterEnergyStorages().values().stream()
-                .mapToInt(TransmitterEnergyStorage::getRealEnergyStored) // Convert each storage to an int representing its stored energy
-                .sum();
+    public int getNetworkEnergyStored() {
+        return getEnergyStorage().getEnergyStored();
     }
 
     /**
      * Get total energy possible to store across this transmitters entire network
      */
-    public int getTotalMaxEnergyStored() {
-        return getTransmitterEnergyStorages().values().stream()
-                .mapToInt(TransmitterEnergyStorage::getRealMaxEnergyStored) // Convert each storage to an int representing its stored energy
-                .sum();
-    }
-
-
-    /**
-     * Add Energy to the network - called by TransmitterEnergyStorage.receiveEnergy
-     */
-    public int distributeEnergy(int energy) {
-        int energyInserted = 0;
-        for (TransmitterEnergyStorage transmitterEnergyStorage : getTransmitterEnergyStorages().values()) {
-            int insertedEnergy = transmitterEnergyStorage.realReceiveEnergy(energy, false);
-            energy = energy - insertedEnergy;
-            energyInserted = energyInserted + insertedEnergy;
-            if (energy <= 0) break;
-        }
-        //balanceEnergy();
-        return energyInserted;
-    }
-
-    /**
-     * Extract Energy from the network - called by TransmitterEnergyStorage.extractEnergy
-     */
-    public int extractEnergy(int energy) {
-        int energyExtracted = 0;
-        for (TransmitterEnergyStorage transmitterEnergyStorage : getTransmitterEnergyStorages().values()) {
-            int extractedEnergy = transmitterEnergyStorage.realExtractEnergy(energy, false);
-            energy = energy - extractedEnergy;
-            energyExtracted = energyExtracted + extractedEnergy;
-            if (energy <= 0) break;
-        }
-        //balanceEnergy();
-        return energyExtracted;
+    public int getNetworkMaxEnergyStored() {
+        return getEnergyStorage().getMaxEnergyStored();
     }
 
     @Override
     public void tickServer() {
         super.tickServer();
+        if (getNetwork() == null)
+            TransmitterNetworkManager.get(level).join(this);
         if (isActiveRedstone()) {
             if (canRun())
                 getBlocksToCharge();
@@ -286,34 +208,6 @@ public class EnergyTransmitterBE extends BaseMachineBE implements RedstoneContro
         return tempStorage.getCapability();
     }
 
-    public TransmitterEnergyStorage getTransmitterEnergyHandler(BlockPos blockPos) {
-        IEnergyStorage iEnergyStorage = getTransmitterHandler(blockPos);
-        if (iEnergyStorage instanceof TransmitterEnergyStorage transmitterEnergyStorage)
-            return transmitterEnergyStorage;
-        return null;
-    }
-
-    public IEnergyStorage getTransmitterHandler(BlockPos blockPos) {
-        var tempStorage = transmitterHandlers.get(blockPos);
-        if (tempStorage == null) {
-            BlockState blockState = level.getBlockState(blockPos);
-            if (blockState.is(Registration.EnergyTransmitter.get())) {
-                tempStorage = BlockCapabilityCache.create(
-                        Capabilities.EnergyStorage.BLOCK, // capability to cache
-                        (ServerLevel) level, // level
-                        blockPos, // target position
-                        blockState.getValue(BlockStateProperties.FACING) // context (The side of the block we're trying to pull/push from?)
-                );
-                if (tempStorage.getCapability() != null) { //This should always be true?
-                    transmitterHandlers.put(blockPos, tempStorage);
-                    return tempStorage.getCapability();
-                }
-            }
-            energyHandlers.put(blockPos, tempStorage); //This should never ever run?
-        }
-        return tempStorage.getCapability();
-    }
-
     public void providePower() {
         if (getEnergyStorage().getEnergyStored() <= 0) return; //Don't bother if we're empty!
         for (BlockPos blockPos : blocksToCharge) {
@@ -323,7 +217,6 @@ public class EnergyTransmitterBE extends BaseMachineBE implements RedstoneContro
             if (sentAmt > 0)
                 doParticles(getBlockPos(), blockPos);
         }
-        balanceEnergy();
     }
 
     public int calculateLoss(int amtToSend, BlockPos remotePosition) {
@@ -348,41 +241,100 @@ public class EnergyTransmitterBE extends BaseMachineBE implements RedstoneContro
 
     /**
      * Discover nearby blocks that need charging - runs once every 2.5 seconds
+     * Only positions that changed since the last scan are re-checked, with a full scan of the area every so often to catch anything we weren't notified about
      */
     public void getBlocksToCharge() {
+        AABB area = getAABB(getBlockPos());
+        if (needsFullScan || !area.equals(indexedArea) || scansSinceFullScan >= FULL_RESCAN_INTERVAL) {
+            rescanArea(area);
+            return;
+        }
+        scansSinceFullScan++;
+        if (changedPositions.isEmpty()) return;
+        for (BlockPos blockPos : changedPositions) {
+            transmitters.remove(blockPos);
+            blocksToCharge.remove(blockPos);
+            energyHandlers.remove(blockPos);
+            indexPosition(blockPos);
+        }
+        changedPositions.clear();
+        TransmitterNetworkManager.get(level).updateLinks(this, transmitters);
+    }
+
+    /**
+     * Scan every block in the area, and (re)register for change notifications within it
+     */
+    public void rescanArea(AABB area) {
         transmitters.clear();
         blocksToCharge.clear();
+        changedPositions.clear();
         transmitters.add(getBlockPos()); //Always add yourself
-        AABB area = getAABB(getBlockPos());
         BlockPos.betweenClosedStream((int) area.minX, (int) area.minY, (int) area.minZ, (int) area.maxX - 1, (int) area.maxY - 1, (int) area.maxZ - 1)
                 .map(BlockPos::immutable)
-                .sorted(Comparator.comparingDouble(x -> x.distSqr(getBlockPos())))
-                .forEach(blockPos -> {
-                    if (blockPos.equals(getBlockPos())) return; //Already added above!
-                    BlockState blockState = level.getBlockState(blockPos);
-                    if (blockState.isAir() || level.getBlockEntity(blockPos) == null) return;
-
-                    boolean foundAcceptableSide = false;
-                    for (Direction direction : Direction.values()) {
-                        var cap = level.getCapability(Capabilities.EnergyStorage.BLOCK, blockPos, direction);
-                        if (cap != null && cap.canReceive()) {
-                            foundAcceptableSide = true;
-                            break;
-                        }
-                    }
-                    if (!foundAcceptableSide)
-                        return;
-
-                    ItemStack blockItemStack = blockState.getBlock().getCloneItemStack(level, blockPos, blockState);
-                    if (!isStackValidFilter(blockItemStack)) return;
-
-                    if (blockState.getBlock() instanceof EnergyTransmitter)
-                        transmitters.add(blockPos);
-                    else
-                        blocksToCharge.add(blockPos);
-                });
+                .forEach(this::indexPosition);
         energyHandlers.entrySet().removeIf(entry -> !blocksToCharge.contains(entry.getKey()));
-        transmitterHandlers.entrySet().removeIf(entry -> !transmitters.contains(entry.getKey()));
+        TransmitterNetworkManager.get(level).updateLinks(this, transmitters);
+        if (!area.equals(indexedArea))
+            BlockChangeTracker.register(level, this, area);
+        indexedArea = area;
+        needsFullScan = false;
+        scansSinceFullScan = 0;
+    }
+
+    /**
+     * Check a single position, and add it to the transmitters or blocksToCharge list if its valid
+     */
+    private void indexPosition(BlockPos blockPos) {
+        if (blockPos.equals(getBlockPos())) return; //Already added above!
+        BlockState blockState = level.getBlockState(blockPos);
+        if (blockState.isAir() || level.getBlockEntity(blockPos) == null) return;
+
+        boolean foundAcceptableSide = false;
+        for (Direction direction : Direction.values()) {
+            var cap = level.getCapability(Capabilities.EnergyStorage.BLOCK, blockPos, direction);
+            if (cap != null && cap.canReceive()) {
+                foundAcceptableSide = true;
+                break;
+            }
+        }
+        if (!foundAcceptableSide)
+            return;
+
+        ItemStack blockItemStack = blockState.getBlock().getCloneItemStack(level, blockPos, blockState);
+        if (!isStackValidFilter(blockItemStack)) return;
+
+        if (blockState.getBlock() instanceof EnergyTransmitter)
+            transmitters.add(blockPos);
+        else
+            blocksToCharge.add(blockPos);
+    }
+
+    @Override
+    public void onBlockChanged(BlockPos blockPos) {
+        if (indexedArea != null && indexedArea.contains(blockPos.getX() + 0.5, blockPos.getY() + 0.5, blockPos.getZ() + 0.5))
+            changedPositions.add(blockPos.immutable());
+    }
+
+    @Override
+    public void onChunkLoaded(ChunkPos chunkPos) {
+        needsFullScan = true;
+    }
+
+    @Override
+    public void markDirtyClient(int syncFlags) {
+        super.markDirtyClient(syncFlags);
+        needsFullScan = true; //Settings like the filter or area changed, so the whole area needs to be looked at again
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (level != null && !level.isClientSide) {
+            BlockChangeTracker.unregister(level, this);
+            TransmitterNetworkManager.remove(level, this);
+        }
+        indexedArea = null;
+        needsFullScan = true;
     }
 
     public int fePerTick() {
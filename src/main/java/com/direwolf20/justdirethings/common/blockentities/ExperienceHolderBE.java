@@ -31,11 +31,14 @@ import net.neoforged.neoforge.fluids.capability.IFluidHandler;
 import java.util.List;
 
 public class ExperienceHolderBE extends BaseMachineBE implements AreaAffectingBE, RedstoneControlledBE {
+    public static final int SYNC_EXP = SYNC_CUSTOM;
+    public static final int SYNC_EXP_SETTINGS = SYNC_CUSTOM << 1;
+    public static final long MAX_EXP = ExperienceUtils.MAX_TOTAL_EXPERIENCE;
     protected BlockCapabilityCache<IFluidHandler, Direction> attachedTank;
     public FilterData filterData = new FilterData();
     public AreaAffectingData areaAffectingData = new AreaAffectingData(getBlockState().getValue(BlockStateProperties.FACING).getOpposite());
     public RedstoneControlData redstoneControlData = getDefaultRedstoneData();
-    public int exp;
+    public long exp;
     public int targetExp;
     private Player currentPlayer;
     public boolean collectExp;
@@ -67,14 +70,14 @@ public class ExperienceHolderBE extends BaseMachineBE implements AreaAffectingBE
         this.ownerOnly = ownerOnly;
         this.collectExp = collectExp;
         this.showParticles = showParticles;
-        markDirtyClient();
+        markDirtyClient(SYNC_EXP_SETTINGS);
     }
 
-    public int addExp(int addition) {
-        if (this.exp > Integer.MAX_VALUE - addition) {
-            // Prevent overflow by capping the experience at Integer.MAX_VALUE
-            int remainingExp = addition - (Integer.MAX_VALUE - this.exp);
-            this.exp = Integer.MAX_VALUE;
+    public long addExp(long addition) {
+        if (this.exp > MAX_EXP - addition) {
+            // Prevent overflow by capping the experience at MAX_EXP
+            long remainingExp = addition - (MAX_EXP - this.exp);
+            this.exp = MAX_EXP;
             return remainingExp; //Return Remaining
         } else {
             // Safe to add the experience
@@ -83,46 +86,27 @@ public class ExperienceHolderBE extends BaseMachineBE implements AreaAffectingBE
         }
     }
 
-    public int subExp(int subtraction) {
-        int amtToRemove = Math.min(exp, subtraction);
+    public long subExp(long subtraction) {
+        long amtToRemove = Math.min(exp, subtraction);
         this.exp = this.exp - amtToRemove;
         return subtraction - amtToRemove;
     }
 
     public void storeExp(Player player, int levelChange) {
         if (ownerOnly && !player.getUUID().equals(placedByUUID)) return;
+        long playerExp = ExperienceUtils.getPlayerTotalExperience(player);
         if (levelChange == -1) {
             // Move all experience from player
-            int totalExp = ExperienceUtils.getPlayerTotalExperience(player);
-            int remaining = addExp(totalExp);
-            player.giveExperiencePoints(-totalExp); // Removes all levels
-            player.giveExperienceLevels(-1); //Handles dangling Floating Point Math (RAGE!) Consider it a tax on storing exp :)
-            if (remaining > 0)
-                player.giveExperiencePoints(remaining);
+            storePoints(player, playerExp);
         } else if (levelChange > 0) {
-            // Handle fractional progress first, if the player is in the middle of a level
-            int expInCurrentLevel = (int) (player.experienceProgress * player.getXpNeededForNextLevel());
-
-            // If the player has partial progress within the current level, remove that first
-            if (player.experienceProgress > 0.0f) {
-                int expRemoved = ExperienceUtils.removePoints(player, expInCurrentLevel);
-                int remaining = addExp(expRemoved);
-                levelChange--;  // We've already removed part of a level
-                player.experienceProgress = 0f; //Clear the player's partial exp, to handle super low floating point values
-                if (remaining > 0)
-                    player.giveExperiencePoints(remaining);
-            }
-
-            if (levelChange > 0) {
-                // Now remove the specified number of full levels
-                int expRemoved = ExperienceUtils.removeLevels(player, levelChange);
-                int remaining = addExp(expRemoved);
-                if (remaining > 0)
-                    player.giveExperiencePoints(remaining);
-            }
+            // Partial progress in the current level counts as one of the levels
+            if (hasPartialLevel(player))
+                levelChange--;
+            int targetLevel = Math.max(0, player.experienceLevel - levelChange);
+            storePoints(player, playerExp - ExperienceUtils.getTotalExperienceForLevel(targetLevel));
         }
 
-        markDirtyClient();
+        markDirtyClient(SYNC_EXP);
     }
 
     public void extractExp(Player player, int levelChange) {
@@ -131,37 +115,46 @@ public class ExperienceHolderBE extends BaseMachineBE implements AreaAffectingBE
 
         if (levelChange == -1) {
             // Move all experience from block to player
-            int expToGive = exp;
-            player.giveExperiencePoints(expToGive);
-            this.exp = 0;  // Remove all experience from the block
+            extractPoints(player, exp);
         } else if (levelChange > 0) {
-            // Handle fractional progress first, if the player is in the middle of a level
-            if (roundUpToNextLevel(player))
-                levelChange--;
-
-            if (levelChange > 0 && this.exp > 0) {
-                // Give full levels based on the remaining levels requested
-                int expForNextLevels = ExperienceUtils.getTotalExperienceForLevel(player.experienceLevel + levelChange) - ExperienceUtils.getPlayerTotalExperience(player);
-                int expToGive = Math.min(this.exp, expForNextLevels);
-                player.giveExperiencePoints(expToGive);
-                this.exp -= expToGive;
-                roundUpToNextLevel(player); //Thanks Floating point math!!
-            }
+            // Topping up a partial level counts as one of the levels, so either way we're filling up to levelChange levels above the current one
+            long targetExp = ExperienceUtils.getTotalExperienceForLevel(player.experienceLevel + levelChange);
+            extractPoints(player, targetExp - ExperienceUtils.getPlayerTotalExperience(player));
         }
 
-        markDirtyClient();
+        markDirtyClient(SYNC_EXP);
     }
 
-    public boolean roundUpToNextLevel(Player player) {
-        if (this.exp <= 0) return false; // No experience available to round up
-        int expInCurrentLevel = (int) (player.experienceProgress * player.getXpNeededForNextLevel());
-        if (expInCurrentLevel > 0) {
-            int expToGive = Math.min(exp, ExperienceUtils.getExpNeededForNextLevel(player));
-            player.giveExperiencePoints(expToGive);
-            this.exp -= expToGive;
-            return true;
+    private boolean hasPartialLevel(Player player) {
+        return ExperienceUtils.getPlayerTotalExperience(player) > ExperienceUtils.getTotalExperienceForLevel(player.experienceLevel);
+    }
+
+    /**
+     * Move up to points from the player into the block, an int's worth at a time
+     */
+    private void storePoints(Player player, long points) {
+        points = Math.min(points, MAX_EXP - exp);
+        while (points > 0) {
+            long taken = -ExperienceUtils.addPlayerExperience(player, -points);
+            if (taken <= 0) return;
+            taken = Math.min(taken, points); //Anything an XpChange listener took on top of what we asked for isn't ours to keep
+            this.exp += taken;
+            points -= taken;
+        }
+    }
+
+    /**
+     * Move up to points from the block to the player, an int's worth at a time
+     */
+    private void extractPoints(Player player, long points) {
+        points = Math.min(points, exp);
+        while (points > 0) {
+            long given = ExperienceUtils.addPlayerExperience(player, points);
+            if (given <= 0) return;
+            given = Math.min(given, points); //Any bonus an XpChange listener added doesn't come out of the block
+            this.exp -= given;
+            points -= given;
         }
-        return false;
     }
 
     public void tickClient() {
@@ -199,14 +192,15 @@ public class ExperienceHolderBE extends BaseMachineBE implements AreaAffectingBE
 
         if (currentPlayer == null) return;
 
+        // Move the whole difference to the target level at once
         int currentLevel = currentPlayer.experienceLevel;
         if (currentLevel < targetExp && exp > 0) {
-            extractExp(currentPlayer, 1);
+            extractExp(currentPlayer, targetExp - currentLevel);
             doParticles(new ItemStack(Items.EXPERIENCE_BOTTLE), currentPlayer.getEyePosition().subtract(0, 0.25f, 0), false);
             if (exp == 0)
                 currentPlayer = null; //Clear current target if we run out of exp
         } else if (currentLevel > targetExp || (currentLevel == targetExp && currentPlayer.experienceProgress > 0.01f)) {
-            storeExp(currentPlayer, 1);
+            storeExp(currentPlayer, currentLevel - targetExp + (hasPartialLevel(currentPlayer) ? 1 : 0)); //The partial level counts as one
             doParticles(new ItemStack(Items.EXPERIENCE_BOTTLE), currentPlayer.getEyePosition().subtract(0, 0.25f, 0), true);
         } else
             currentPlayer = null;
@@ -223,13 +217,15 @@ public class ExperienceHolderBE extends BaseMachineBE implements AreaAffectingBE
 
         if (entityList.isEmpty()) return;
 
+        // Absorb every orb, then show one burst from the middle of where they were
+        Vec3 orbCenter = Vec3.ZERO;
         for (ExperienceOrb experienceOrb : entityList) {
-            int orbValue = experienceOrb.getValue();
-            addExp(orbValue);
-            doParticles(new ItemStack(Items.EXPERIENCE_BOTTLE), experienceOrb.position(), true);
+            addExp(experienceOrb.getValue());
+            orbCenter = orbCenter.add(experienceOrb.position());
             experienceOrb.discard();
         }
-        markDirtyClient();
+        doParticles(new ItemStack(Items.EXPERIENCE_BOTTLE), orbCenter.scale(1.0 / entityList.size()), true);
+        markDirtyClient(SYNC_EXP);
     }
 
     private void findTargetPlayer() {
@@ -270,23 +266,49 @@ public class ExperienceHolderBE extends BaseMachineBE implements AreaAffectingBE
     @Override
     public void saveAdditional(CompoundTag tag, HolderLookup.Provider provider) {
         super.saveAdditional(tag, provider);
-        tag.putInt("exp", exp);
+        tag.putLong("exp", exp);
+        saveExpSettings(tag);
+    }
+
+    @Override
+    public void loadAdditional(CompoundTag tag, HolderLookup.Provider provider) {
+        super.loadAdditional(tag, provider);
+        exp = tag.getLong("exp"); //Older saves have this as an int, which getLong reads just fine
+        loadExpSettings(tag);
+    }
+
+    private void saveExpSettings(CompoundTag tag) {
         tag.putInt("targetExp", targetExp);
         tag.putBoolean("collectExp", collectExp);
         tag.putBoolean("ownerOnly", ownerOnly);
         tag.putBoolean("showParticles", showParticles);
     }
 
-    @Override
-    public void loadAdditional(CompoundTag tag, HolderLookup.Provider provider) {
-        super.loadAdditional(tag, provider);
-        exp = tag.getInt("exp");
+    private void loadExpSettings(CompoundTag tag) {
         targetExp = tag.getInt("targetExp");
         collectExp = tag.getBoolean("collectExp");
         ownerOnly = tag.getBoolean("ownerOnly");
         showParticles = tag.getBoolean("showParticles");
     }
 
+    @Override
+    protected void saveSyncData(CompoundTag tag, int syncFlags, HolderLookup.Provider provider) {
+        super.saveSyncData(tag, syncFlags, provider);
+        if ((syncFlags & SYNC_EXP) != 0)
+            tag.putLong("exp", exp);
+        if ((syncFlags & SYNC_EXP_SETTINGS) != 0)
+            saveExpSettings(tag);
+    }
+
+    @Override
+    protected void loadSyncData(CompoundTag tag, int syncFlags, HolderLookup.Provider provider) {
+        super.loadSyncData(tag, syncFlags, provider);
+        if ((syncFlags & SYNC_EXP) != 0)
+            exp = tag.getLong("exp");
+        if ((syncFlags & SYNC_EXP_SETTINGS) != 0)
+            loadExpSettings(tag);
+    }
+
     @Override
     public AreaAffectingData getDefaultAreaData(AreaAffectingBE areaAffectingBE) {
         return areaAffectingBE.getDefaultAreaData(getBlockState().getValue(BlockStateProperties.FACING).getOpposite());
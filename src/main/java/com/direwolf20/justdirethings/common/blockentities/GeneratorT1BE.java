@@ -32,6 +32,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 public class GeneratorT1BE extends BaseMachineBE implements RedstoneControlledBE, PoweredMachineBE {
+    public static final int SYNC_FUEL = SYNC_CUSTOM;
     public RedstoneControlData redstoneControlData = new RedstoneControlData();
     public final ContainerData poweredMachineData;
     //private boolean isBurning = false;
@@ -177,7 +178,7 @@ public class GeneratorT1BE extends BaseMachineBE implements RedstoneControlledBE
             fuelBurnMultiplier = 1;
         }
         if (this.fuelBurnMultiplier != oldMultiplier)
-            markDirtyClient();
+            markDirtyClient(SYNC_FUEL);
         if (fuelStack.hasCraftingRemainingItem())
             getMachineHandler().setStackInSlot(0, fuelStack.getCraftingRemainingItem());
         else
@@ -273,4 +274,18 @@ public class GeneratorT1BE extends BaseMachineBE implements RedstoneControlledBE
         if (tag.contains("fuelBurnMultiplier"))
             this.fuelBurnMultiplier = tag.getInt("fuelBurnMultiplier");
     }
+
+    @Override
+    protected void saveSyncData(CompoundTag tag, int syncFlags, HolderLookup.Provider provider) {
+        super.saveSyncData(tag, syncFlags, provider);
+        if ((syncFlags & SYNC_FUEL) != 0)
+            tag.putInt("fuelBurnMultiplier", fuelBurnMultiplier); //The screen shows fe/t from this, the burn counters go through container data
+    }
+
+    @Override
+    protected void loadSyncData(CompoundTag tag, int syncFlags, HolderLookup.Provider provider) {
+        super.loadSyncData(tag, syncFlags, provider);
+        if ((syncFlags & SYNC_FUEL) != 0)
+            this.fuelBurnMultiplier = tag.getInt("fuelBurnMultiplier");
+    }
 }
@@ -7,6 +7,7 @@ import com.direwolf20.justdirethings.common.blockentities.basebe.FilterableBE;
 import com.direwolf20.justdirethings.common.blockentities.basebe.RedstoneControlledBE;
 import com.direwolf20.justdirethings.common.containers.handlers.FilterBasicHandler;
 import com.direwolf20.justdirethings.setup.Registration;
+import com.direwolf20.justdirethings.util.MiscHelpers;
 import com.direwolf20.justdirethings.util.interfacehelpers.AreaAffectingData;
 import com.direwolf20.justdirethings.util.interfacehelpers.FilterData;
 import com.direwolf20.justdirethings.util.interfacehelpers.RedstoneControlData;
@@ -71,6 +72,20 @@ public class ItemCollectorBE extends BaseMachineBE implements FilterableBE, Area
         findItemsAndStore();
     }
 
+    @Override
+    protected boolean sleepsWhenRedstoneInactive() {
+        return true;
+    }
+
+    @Override
+    public long getSleepUntil() {
+        if (!isActiveRedstoneTestOnly())
+            return SLEEP_UNTIL_WOKEN; //Includes pulse mode with no pending pulse - the pulse itself will wake us
+        if (!redstoneControlData.redstoneMode.equals(MiscHelpers.RedstoneMode.PULSE))
+            return getNextOperationTime(); //Nothing happens until canRun() is true
+        return super.getSleepUntil();
+    }
+
     public void setSettings(boolean respectPickupDelay, boolean showParticles) {
         this.respectPickupDelay = respectPickupDelay;
         this.showParticles = showParticles;
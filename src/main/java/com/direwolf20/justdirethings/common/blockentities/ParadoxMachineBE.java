@@ -22,8 +22,6 @@ import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.NbtUtils;
-import net.minecraft.network.Connection;
-import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
@@ -47,6 +45,9 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 public class ParadoxMachineBE extends BaseMachineBE implements PoweredMachineBE, AreaAffectingBE, RedstoneControlledBE, FluidMachineBE {
+    public static final int SYNC_PARADOX_ENERGY = SYNC_CUSTOM;
+    public static final int SYNC_PARADOX_RUN = SYNC_CUSTOM << 1;
+    public static final int SYNC_PARADOX_RENDER = SYNC_CUSTOM << 2;
     public RedstoneControlData redstoneControlData = getDefaultRedstoneData();
     public final FluidContainerData fluidContainerData;
     public AreaAffectingData areaAffectingData = new AreaAffectingData(getBlockState().getValue(BlockStateProperties.FACING));
@@ -65,6 +66,7 @@ public class ParadoxMachineBE extends BaseMachineBE implements PoweredMachineBE,
     public float paradoxEnergy = 0;
     public Map<BlockPos, BlockState> restoringBlocks = new HashMap<>();
     public List<Vec3> restoringEntites = new ArrayList<>();
+    public int previewVersion = 0; //Bumped whenever the snapshot, target type or restore list is loaded, so the BER knows to rebuild its cached preview
     private final static Random random = new Random();
 
     public ParadoxMachineBE(BlockPos pPos, BlockState pBlockState) {
@@ -144,12 +146,12 @@ public class ParadoxMachineBE extends BaseMachineBE implements PoweredMachineBE,
 
     public void addParadoxEnergy(float amt) {
         this.paradoxEnergy = Math.min(getMaxParadoxEnergy(), paradoxEnergy + amt);
-        markDirtyClient();
+        markDirtyClient(SYNC_PARADOX_ENERGY);
     }
 
     public void resetParadoxEnergy() {
         this.paradoxEnergy = 0;
-        markDirtyClient();
+        markDirtyClient(SYNC_PARADOX_ENERGY);
     }
 
     public void spawnParadox() {
@@ -178,7 +180,7 @@ public class ParadoxMachineBE extends BaseMachineBE implements PoweredMachineBE,
             fePerTick = getEnergyCostPerTick(getEnergyCost(restoringBlocks.size(), restoringEntites.size()));
             fluidPerTick = getFluidCostPerTick(getFluidCost(restoringBlocks.size(), restoringEntites.size()));
             level.playSound(null, getBlockPos(), SoundEvents.PORTAL_AMBIENT, SoundSource.BLOCKS, 0.5F, 0.25F);
-            markDirtyClient();
+            markDirtyClient(SYNC_PARADOX_RUN);
         }
     }
 
@@ -231,7 +233,7 @@ public class ParadoxMachineBE extends BaseMachineBE implements PoweredMachineBE,
         restoringEntites.clear();
         fePerTick = 0;
         fluidPerTick = 0;
-        markDirtyClient();
+        markDirtyClient(SYNC_PARADOX_RUN);
     }
 
     public boolean canPlace(FakePlayer fakePlayer, BlockPos blockPos) {
@@ -398,7 +400,7 @@ public class ParadoxMachineBE extends BaseMachineBE implements PoweredMachineBE,
         getAreaAffectingData().zRadius = Math.max(0, Math.min(z, maxRadius));
         getAreaAffectingData().area = null;
         if (getBlockEntity() instanceof BaseMachineBE baseMachineBE)
-            baseMachineBE.markDirtyClient();
+            baseMachineBE.markDirtyClient(SYNC_AREA);
     }
 
     public boolean canParadox() {
@@ -579,7 +581,7 @@ public class ParadoxMachineBE extends BaseMachineBE implements PoweredMachineBE,
     public void setRenderParadox(boolean render, int targetType) {
         this.renderParadox = render;
         this.targetType = targetType;
-        markDirtyClient();
+        markDirtyClient(SYNC_PARADOX_RENDER);
     }
 
     public void snapshotArea() {
@@ -676,17 +678,16 @@ public class ParadoxMachineBE extends BaseMachineBE implements PoweredMachineBE,
         return listTag;
     }
 
-    @Override
-    public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket pkt, HolderLookup.Provider lookupProvider) {
-        if (level.isClientSide && isRunning && !pkt.getTag().getBoolean("isRunning")) {
-            Minecraft mc = Minecraft.getInstance();
-            if (mc.level != null) {
-                // Stop the specific sound using SoundManager
-                mc.getSoundManager().stop(SoundEvents.PORTAL_AMBIENT.getLocation(), SoundSource.BLOCKS);
-            }
+    /**
+     * Client only - stop the looping portal sound once we hear the machine has stopped running
+     */
+    private void stopRunningSound(boolean wasRunning) {
+        if (level == null || !level.isClientSide || !wasRunning || isRunning) return;
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.level != null) {
+            // Stop the specific sound using SoundManager
+            mc.getSoundManager().stop(SoundEvents.PORTAL_AMBIENT.getLocation(), SoundSource.BLOCKS);
         }
-        super.onDataPacket(net, pkt, lookupProvider);
-
     }
 
     @Override
@@ -695,11 +696,61 @@ public class ParadoxMachineBE extends BaseMachineBE implements PoweredMachineBE,
         tag.put("snapshotData", snapshotData);
         tag.putBoolean("renderParadox", renderParadox);
         tag.putInt("targetType", targetType);
+        tag.putFloat("paradoxEnergy", paradoxEnergy);
+        saveRunState(tag);
+    }
+
+    @Override
+    public void loadAdditional(CompoundTag tag, HolderLookup.Provider provider) {
+        super.loadAdditional(tag, provider);
+        if (tag.contains("snapshotData"))
+            snapshotData = tag.getCompound("snapshotData");
+        if (tag.contains("renderParadox"))
+            renderParadox = tag.getBoolean("renderParadox");
+        if (tag.contains("targetType"))
+            targetType = tag.getInt("targetType");
+        if (tag.contains("paradoxEnergy"))
+            paradoxEnergy = tag.getFloat("paradoxEnergy");
+        loadRunState(tag);
+        previewVersion++;
+    }
+
+    @Override
+    protected void saveSyncData(CompoundTag tag, int syncFlags, HolderLookup.Provider provider) {
+        super.saveSyncData(tag, syncFlags, provider);
+        if ((syncFlags & SYNC_PARADOX_RENDER) != 0) {
+            tag.putBoolean("renderParadox", renderParadox);
+            tag.putInt("targetType", targetType);
+        }
+        if ((syncFlags & SYNC_PARADOX_ENERGY) != 0)
+            tag.putFloat("paradoxEnergy", paradoxEnergy);
+        if ((syncFlags & SYNC_PARADOX_RUN) != 0)
+            saveRunState(tag);
+    }
+
+    @Override
+    protected void loadSyncData(CompoundTag tag, int syncFlags, HolderLookup.Provider provider) {
+        super.loadSyncData(tag, syncFlags, provider);
+        if ((syncFlags & SYNC_PARADOX_RENDER) != 0) {
+            renderParadox = tag.getBoolean("renderParadox");
+            targetType = tag.getInt("targetType");
+        }
+        if ((syncFlags & SYNC_PARADOX_ENERGY) != 0)
+            paradoxEnergy = tag.getFloat("paradoxEnergy");
+        if ((syncFlags & SYNC_PARADOX_RUN) != 0) {
+            boolean wasRunning = isRunning;
+            loadRunState(tag);
+            stopRunningSound(wasRunning);
+        }
+        if ((syncFlags & (SYNC_PARADOX_RENDER | SYNC_PARADOX_RUN)) != 0)
+            previewVersion++;
+    }
+
+    private void saveRunState(CompoundTag tag) {
         tag.putBoolean("isRunning", isRunning);
         tag.putInt("timeRunning", timeRunning);
         tag.putInt("fePerTick", fePerTick);
         tag.putInt("fluidPerTick", fluidPerTick);
-        tag.putFloat("paradoxEnergy", paradoxEnergy);
 
         // Save restoringBlocks map
         ListTag restoringBlocksList = new ListTag();
@@ -720,21 +771,11 @@ public class ParadoxMachineBE extends BaseMachineBE implements PoweredMachineBE,
         tag.put("restoringEntities", restoringEntitiesList);
     }
 
-    @Override
-    public void loadAdditional(CompoundTag tag, HolderLookup.Provider provider) {
-        super.loadAdditional(tag, provider);
-        if (tag.contains("snapshotData"))
-            snapshotData = tag.getCompound("snapshotData");
-        if (tag.contains("renderParadox"))
-            renderParadox = tag.getBoolean("renderParadox");
-        if (tag.contains("targetType"))
-            targetType = tag.getInt("targetType");
+    private void loadRunState(CompoundTag tag) {
         if (tag.contains("isRunning"))
             isRunning = tag.getBoolean("isRunning");
         if (tag.contains("timeRunning"))
             timeRunning = tag.getInt("timeRunning");
-        if (tag.contains("paradoxEnergy"))
-            paradoxEnergy = tag.getFloat("paradoxEnergy");
 
         // Load restoringBlocks map
         restoringBlocks.clear();
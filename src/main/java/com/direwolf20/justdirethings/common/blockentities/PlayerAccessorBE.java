@@ -147,11 +147,11 @@ public class PlayerAccessorBE extends BaseMachineBE {
     }
 
     @Override
-    public void markDirtyClient() {
+    public void markDirtyClient(int syncFlags) {
         //System.out.println("Marking Dirty Client!");
         if (level != null) {
             level.invalidateCapabilities(getBlockPos());
         }
-        super.markDirtyClient();
+        super.markDirtyClient(syncFlags);
     }
 }
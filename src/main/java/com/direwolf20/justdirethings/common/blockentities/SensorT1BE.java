@@ -205,6 +205,11 @@ public class SensorT1BE extends BaseMachineBE implements FilterableBE {
         sense();
     }
 
+    @Override
+    public long getSleepUntil() {
+        return getNextOperationTime(); //We only sense when canRun() is true, so skip the ticks in between
+    }
+
     public boolean canSense() {
         return true;
     }
@@ -74,7 +74,7 @@ public interface AreaAffectingBE {
         getAreaAffectingData().renderArea = renderArea;
         getAreaAffectingData().area = null;
         if (getBlockEntity() instanceof BaseMachineBE baseMachineBE)
-            baseMachineBE.markDirtyClient();
+            baseMachineBE.markDirtyClient(BaseMachineBE.SYNC_AREA);
     }
 
     default void saveAreaSettings(CompoundTag tag) {
@@ -1,7 +1,9 @@
 package com.direwolf20.justdirethings.common.blockentities.basebe;
 
 import com.direwolf20.justdirethings.common.containers.handlers.FilterBasicHandler;
+import com.direwolf20.justdirethings.common.network.data.MachineSyncPayload;
 import com.direwolf20.justdirethings.setup.Registration;
+import com.direwolf20.justdirethings.util.MachineSync;
 import com.direwolf20.justdirethings.util.MiscHelpers;
 import com.direwolf20.justdirethings.util.UsefulFakePlayer;
 import com.direwolf20.justdirethings.util.interfacehelpers.AreaAffectingData;
@@ -29,6 +31,7 @@ import net.neoforged.neoforge.common.util.FakePlayer;
 import net.neoforged.neoforge.common.util.FakePlayerFactory;
 import net.neoforged.neoforge.event.EventHooks;
 import net.neoforged.neoforge.items.ItemStackHandler;
+import net.neoforged.neoforge.network.PacketDistributor;
 
 import java.util.Map;
 import java.util.UUID;
@@ -38,12 +41,24 @@ public class BaseMachineBE extends BlockEntity {
     public int ANYSIZE_FILTER_SLOTS = 0;
     public static final UUID defaultFakePlayerUUID = UUID.fromString("4191a6f5-37fe-45d9-8ba3-4549be778e54");
     public static final GameProfile defaultFakePlayerProfile = new GameProfile(defaultFakePlayerUUID, "[JustDiresFakePlayer]");
+    public static final long AWAKE = -1;
+    public static final long SLEEP_UNTIL_WOKEN = Long.MAX_VALUE;
+    //Sync groups for markDirtyClient(int) - only the groups that changed get sent to clients. Machines add their own from SYNC_CUSTOM up
+    public static final int SYNC_MACHINE = 1; //Tick speed, direction and placedBy
+    public static final int SYNC_AREA = 1 << 1;
+    public static final int SYNC_FILTER = 1 << 2;
+    public static final int SYNC_REDSTONE = 1 << 3;
+    public static final int SYNC_CUSTOM = 1 << 4;
+    public static final int SYNC_ALL = -1; //The full update tag, for changes that don't fit a group
     public UUID placedByUUID;
     protected int direction = 0;
     protected int tickSpeed = 20;
     protected int operationTicks = -1;
     protected UsefulFakePlayer usefulFakePlayer;
     protected final Map<ChunkPos, Boolean> chunkTestCache = new Object2BooleanOpenHashMap<>();
+    protected long sleepUntil = AWAKE; //Not saved - machines always start awake
+    protected long sleptAt;
+    protected int pendingSync; //Server side only - sync groups waiting for the end of the tick (see MachineSync)
 
     public BaseMachineBE(BlockEntityType<?> pType, BlockPos pPos, BlockState pBlockState) {
         super(pType, pPos, pBlockState);
@@ -59,6 +74,83 @@ public class BaseMachineBE extends BlockEntity {
             redstoneControlledBE.evaluateRedstone();
     }
 
+    /**
+     * The game time this machine can skip ticking until, SLEEP_UNTIL_WOKEN to sleep until something calls wake(), or AWAKE to keep ticking.
+     * Checked after every server tick - override in machines that have nothing to do in some states.
+     * Neighbor updates (Including redstone changes), machine inventory changes, energy received and settings changes all wake a machine
+     */
+    public long getSleepUntil() {
+        if (sleepsWhenRedstoneInactive() && isRedstoneIdle())
+            return SLEEP_UNTIL_WOKEN;
+        return AWAKE;
+    }
+
+    /**
+     * Override to return true in machines that do nothing at all while redstone says they shouldn't run. Machines that keep working regardless (Generators etc) should leave this false
+     */
+    protected boolean sleepsWhenRedstoneInactive() {
+        return false;
+    }
+
+    /**
+     * True if redstone is stopping this machine from running, and only a redstone change can start it again. Pulse mode is left awake, since machines carry on working after a pulse
+     */
+    protected boolean isRedstoneIdle() {
+        if (!(this instanceof RedstoneControlledBE redstoneControlledBE)) return false;
+        RedstoneControlData redstoneControlData = redstoneControlledBE.getRedstoneControlData();
+        if (!redstoneControlData.checkedRedstone) return false;
+        if (!redstoneControlData.redstoneMode.equals(MiscHelpers.RedstoneMode.LOW) && !redstoneControlData.redstoneMode.equals(MiscHelpers.RedstoneMode.HIGH))
+            return false;
+        return !redstoneControlledBE.isActiveRedstoneTestOnly();
+    }
+
+    /**
+     * True if this machine needs power to work and doesn't have enough for a single operation
+     */
+    protected boolean isPowerIdle() {
+        if (!(this instanceof PoweredMachineBE poweredMachineBE)) return false;
+        int cost = poweredMachineBE.getStandardEnergyCost();
+        return cost > 0 && !poweredMachineBE.hasEnoughPower(cost);
+    }
+
+    /**
+     * The game time of the next tick where operationTicks hits 0 and canRun() would be true - for machines that do nothing in between
+     */
+    protected long getNextOperationTime() {
+        if (level == null) return AWAKE;
+        return level.getGameTime() + (operationTicks > 0 ? operationTicks : tickSpeed);
+    }
+
+    public void trySleep() {
+        if (level == null) return;
+        long wakeTime = getSleepUntil();
+        if (wakeTime == AWAKE || wakeTime <= level.getGameTime() + 1) return;
+        sleepUntil = wakeTime;
+        sleptAt = level.getGameTime();
+    }
+
+    public boolean isAsleep() {
+        if (sleepUntil == AWAKE) return false;
+        if (level == null || level.getGameTime() >= sleepUntil) {
+            wake();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Wake up a sleeping machine, catching operationTicks up on the ticks it skipped so it still runs on schedule
+     */
+    public void wake() {
+        if (sleepUntil == AWAKE) return;
+        sleepUntil = AWAKE;
+        if (level == null) return;
+        long skippedTicks = level.getGameTime() - sleptAt - 1;
+        if (skippedTicks <= 0) return;
+        int ticksUntilRun = operationTicks > 0 ? operationTicks : tickSpeed;
+        operationTicks = (int) Math.max(1, ticksUntilRun - skippedTicks);
+    }
+
     public void clearProtectionCache() {
         chunkTestCache.clear();
     }
@@ -77,7 +169,7 @@ public class BaseMachineBE extends BlockEntity {
         this.tickSpeed = newTickSpeed;
         if (operationTicks > tickSpeed)
             operationTicks = tickSpeed;
-        markDirtyClient();
+        markDirtyClient(SYNC_MACHINE);
     }
 
     public boolean canRun() {
@@ -173,6 +265,7 @@ public class BaseMachineBE extends BlockEntity {
         this.loadAdditional(tag, lookupProvider);
     }
 
+    //Only sent along with the chunk - changes after that go out through markDirtyClient as MachineSyncPayloads
     @Override
     public CompoundTag getUpdateTag(HolderLookup.Provider provider) {
         CompoundTag tag = new CompoundTag();
@@ -188,20 +281,80 @@ public class BaseMachineBE extends BlockEntity {
     }
 
     public void markDirtyClient() {
+        markDirtyClient(SYNC_ALL);
+    }
+
+    /**
+     * Save the machine and queue the given sync groups to be sent to clients at the end of the tick. Several calls in one tick are merged into one packet
+     */
+    public void markDirtyClient(int syncFlags) {
+        wake(); //Settings changed, so re-evaluate whether we should be sleeping
         setChanged();
-        if (level != null) {
-            BlockState state = level.getBlockState(getBlockPos());
-            level.sendBlockUpdated(getBlockPos(), state, state, 3);
+        if (level instanceof ServerLevel) {
+            if (pendingSync == 0)
+                MachineSync.queue(this);
+            pendingSync |= syncFlags;
         }
     }
 
-    @Override
-    public void setChanged() {
-        super.setChanged();
-        if (this instanceof FilterableBE filterableBE) {
-            filterableBE.getFilterData().filterCache.clear();
-            filterableBE.getFilterData().entityCache.clear();
+    /**
+     * Send the queued sync groups to everyone tracking this chunk - called by MachineSync
+     */
+    public void sendSyncData() {
+        int syncFlags = pendingSync;
+        pendingSync = 0;
+        if (syncFlags == 0 || isRemoved() || !(level instanceof ServerLevel serverLevel)) return;
+        CompoundTag tag = new CompoundTag();
+        if (syncFlags == SYNC_ALL)
+            saveAdditional(tag, serverLevel.registryAccess());
+        else
+            saveSyncData(tag, syncFlags, serverLevel.registryAccess());
+        MachineSync.sent(tag, syncFlags == SYNC_ALL);
+        PacketDistributor.sendToPlayersTrackingChunk(serverLevel, new ChunkPos(getBlockPos()), new MachineSyncPayload(getBlockPos(), syncFlags, tag));
+    }
+
+    public void receiveSyncData(int syncFlags, CompoundTag tag, HolderLookup.Provider provider) {
+        if (syncFlags == SYNC_ALL)
+            loadWithComponents(tag, provider);
+        else
+            loadSyncData(tag, syncFlags, provider);
+        if ((syncFlags & SYNC_AREA) != 0 && this instanceof AreaAffectingBE areaAffectingBE)
+            areaAffectingBE.getAreaAffectingData().area = null; //Clear this cache, so it can redraw properly if the area was changed
+    }
+
+    /**
+     * Write the fields in the given sync groups. Machines with their own groups override this and loadSyncData, and call super
+     */
+    protected void saveSyncData(CompoundTag tag, int syncFlags, HolderLookup.Provider provider) {
+        if ((syncFlags & SYNC_MACHINE) != 0) {
+            tag.putInt("tickspeed", tickSpeed);
+            if (placedByUUID != null)
+                tag.putUUID("placedBy", placedByUUID);
+            tag.putInt("direction", direction);
         }
+        if ((syncFlags & SYNC_AREA) != 0 && this instanceof AreaAffectingBE areaAffectingBE)
+            areaAffectingBE.saveAreaSettings(tag);
+        if ((syncFlags & SYNC_FILTER) != 0 && this instanceof FilterableBE filterableBE)
+            filterableBE.saveFilterSettings(tag);
+        if ((syncFlags & SYNC_REDSTONE) != 0 && this instanceof RedstoneControlledBE redstoneControlledBE)
+            redstoneControlledBE.saveRedstoneSettings(tag);
+    }
+
+    protected void loadSyncData(CompoundTag tag, int syncFlags, HolderLookup.Provider provider) {
+        if ((syncFlags & SYNC_MACHINE) != 0) {
+            if (tag.contains("direction"))
+                direction = tag.getInt("direction");
+            if (tag.contains("tickspeed"))
+                tickSpeed = tag.getInt("tickspeed");
+            if (tag.contains("placedBy"))
+                placedByUUID = tag.getUUID("placedBy");
+        }
+        if ((syncFlags & SYNC_AREA) != 0 && this instanceof AreaAffectingBE areaAffectingBE)
+            areaAffectingBE.loadAreaSettings(tag);
+        if ((syncFlags & SYNC_FILTER) != 0 && this instanceof FilterableBE filterableBE)
+            filterableBE.loadFilterSettings(tag);
+        if ((syncFlags & SYNC_REDSTONE) != 0 && this instanceof RedstoneControlledBE redstoneControlledBE)
+            redstoneControlledBE.loadRedstoneSettings(tag);
     }
 
     public FilterData getDefaultFilterData() {
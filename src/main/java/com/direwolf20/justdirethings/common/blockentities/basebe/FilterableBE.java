@@ -1,16 +1,13 @@
 package com.direwolf20.justdirethings.common.blockentities.basebe;
 
 import com.direwolf20.justdirethings.common.containers.handlers.FilterBasicHandler;
-import com.direwolf20.justdirethings.common.entities.CreatureCatcherEntity;
-import com.direwolf20.justdirethings.common.items.CreatureCatcher;
+import com.direwolf20.justdirethings.util.EntityTagCache;
 import com.direwolf20.justdirethings.util.ItemStackKey;
 import com.direwolf20.justdirethings.util.interfacehelpers.FilterData;
+import com.direwolf20.justdirethings.util.interfacehelpers.FilterMatcher;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.entity.Entity;
-import net.minecraft.world.entity.Mob;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.SpawnEggItem;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.LiquidBlock;
 import net.minecraft.world.level.block.entity.BlockEntity;
@@ -40,143 +37,83 @@ public interface FilterableBE {
         int blockItemFilter = tag.getInt("blockitemfilter");
         if (blockItemFilter != -1 && getFilterData().blockItemFilter != -1)
             getFilterData().blockItemFilter = blockItemFilter;
+        getFilterData().clearCaches();
     }
 
     default void setFilterSettings(FilterData filterData) {
+        if (!getFilterData().equals(filterData))
+            getFilterData().clearCaches();
         getFilterData().allowlist = filterData.allowlist;
         getFilterData().compareNBT = filterData.compareNBT;
         getFilterData().blockItemFilter = filterData.blockItemFilter;
         if (getBlockEntity() instanceof BaseMachineBE baseMachineBE)
-            baseMachineBE.markDirtyClient();
+            baseMachineBE.markDirtyClient(BaseMachineBE.SYNC_FILTER);
+    }
+
+    /**
+     * Throws away cached filter results if the filter contents changed since they were cached
+     */
+    default void validateFilterCache() {
+        FilterData filterData = getFilterData();
+        int handlerVersion = getFilterHandler().getVersion();
+        if (filterData.cachedHandlerVersion != handlerVersion) {
+            filterData.clearCaches();
+            filterData.cachedHandlerVersion = handlerVersion;
+        }
+    }
+
+    /**
+     * The compiled form of the current filter contents - only cached once there's a level, since creature catchers need one to be read
+     */
+    default FilterMatcher getFilterMatcher(Level level) {
+        validateFilterCache();
+        FilterData filterData = getFilterData();
+        if (filterData.filterMatcher != null) return filterData.filterMatcher;
+        FilterMatcher filterMatcher = new FilterMatcher(this, level);
+        if (level != null)
+            filterData.filterMatcher = filterMatcher;
+        return filterMatcher;
     }
 
     default boolean isStackValidFilter(ItemStack testStack) {
-        ItemStackKey key = new ItemStackKey(testStack, getFilterData().compareNBT);
-        if (getFilterData().filterCache.containsKey(key)) return getFilterData().filterCache.get(key);
-
-        FilterBasicHandler filteredItems = getFilterHandler();
-        for (int i = 0; i < filteredItems.getSlots(); i++) {
-            ItemStack stack = filteredItems.getStackInSlot(i);
-            if (stack.isEmpty()) continue;
-            if (key.equals(new ItemStackKey(stack, getFilterData().compareNBT))) {
-                getFilterData().filterCache.put(key, getFilterData().allowlist);
-                return getFilterData().allowlist;
-            }
+        return isKeyValidFilter(new ItemStackKey(testStack, getFilterData().compareNBT));
+    }
+
+    private boolean isKeyValidFilter(ItemStackKey key) {
+        FilterMatcher filterMatcher = getFilterMatcher(getBlockEntity().getLevel());
+        if (getFilterData().filterCache.containsKey(key)) {
+            getFilterData().cacheHits++;
+            return getFilterData().filterCache.get(key);
         }
-        getFilterData().filterCache.put(key, !getFilterData().allowlist);
-        return !getFilterData().allowlist;
+        getFilterData().cacheMisses++;
+
+        boolean result = filterMatcher.matches(key) == getFilterData().allowlist;
+        getFilterData().filterCache.put(key, result);
+        return result;
     }
 
     default boolean isEntityValidFilter(Entity entity, Level level) {
-        if (getFilterData().entityCache.containsKey(entity)) return getFilterData().entityCache.get(entity);
-
-        FilterBasicHandler filteredItems = getFilterHandler();
-        for (int i = 0; i < filteredItems.getSlots(); i++) {
-            ItemStack stack = filteredItems.getStackInSlot(i);
-            if (stack.isEmpty()) continue;
-            if (stack.getItem() instanceof SpawnEggItem) {
-                Item entityEgg = SpawnEggItem.byId(entity.getType());
-                if (entityEgg == null) continue;
-                if (stack.is(entityEgg)) {
-                    getFilterData().entityCache.put(entity, getFilterData().allowlist);
-                    return getFilterData().allowlist;
-                }
-            } else if (stack.getItem() instanceof CreatureCatcher creatureCatcher) {
-                Mob mob = CreatureCatcherEntity.getEntityFromItemStack(stack, level);
-                if (mob == null)
-                    continue;
-                if (entity.getType().equals(mob.getType())) {
-                    if (getFilterData().compareNBT) {
-                        CompoundTag filterTag = getNormalizedTag(mob);
-                        CompoundTag targetTag = getNormalizedTag(entity);
-                        if (filterTag.equals(targetTag)) {
-                            getFilterData().entityCache.put(entity, getFilterData().allowlist);
-                            return getFilterData().allowlist;
-                        }
-                    } else {
-                        getFilterData().entityCache.put(entity, getFilterData().allowlist);
-                        return getFilterData().allowlist;
-                    }
-                }
-            }
-
+        FilterMatcher filterMatcher = getFilterMatcher(level);
+        if (getFilterData().compareNBT && getFilterData().entityCacheGameTime != level.getGameTime()) {
+            getFilterData().entityCache.clear(); //Entity data can change at any time, so only trust the cache within a single tick
+            getFilterData().entityCacheGameTime = level.getGameTime();
         }
-        getFilterData().entityCache.put(entity, !getFilterData().allowlist);
-        return !getFilterData().allowlist;
+        if (getFilterData().entityCache.containsKey(entity)) {
+            getFilterData().cacheHits++;
+            return getFilterData().entityCache.get(entity);
+        }
+        getFilterData().cacheMisses++;
+
+        boolean result = filterMatcher.matches(entity, this) == getFilterData().allowlist;
+        getFilterData().entityCache.put(entity, result);
+        return result;
     }
 
     default CompoundTag getNormalizedTag(Entity entity) {
-        CompoundTag tag = new CompoundTag();
-        entity.save(tag);
-        // Remove generic entity tags
-        tag.remove("AbsorptionAmount");
-        tag.remove("Age");
-        tag.remove("Air");
-        tag.remove("ArmorDropChances");
-        tag.remove("ArmorItems");
-        tag.remove("Brain");
-        tag.remove("CanPickUpLoot");
-        tag.remove("DeathTime");
-        tag.remove("FallDistance");
-        tag.remove("FallFlying");
-        tag.remove("Fire");
-        tag.remove("ForcedAge");
-        tag.remove("HandDropChances");
-        tag.remove("HandItems");
-        tag.remove("HurtByTimestamp");
-        tag.remove("HurtTime");
-        tag.remove("InLove");
-        tag.remove("Invulnerable");
-        tag.remove("LeftHanded");
-        tag.remove("Motion");
-        tag.remove("OnGround");
-        tag.remove("PersistenceRequired");
-        tag.remove("PortalCooldown");
-        tag.remove("Pos");
-        tag.remove("Rotation");
-        tag.remove("UUID");
-        tag.remove("attributes");  // This may contain some relevant attributes, but is generally generic
-        tag.remove("id");  // If you're not comparing the entity type
-
-        // Additional generic tags
-        tag.remove("NoAI");
-        tag.remove("Silent");
-        tag.remove("Glowing");
-        tag.remove("Tags");
-        tag.remove("Passengers");
-        tag.remove("Leashed");
-        tag.remove("Leash");
-        tag.remove("CustomName");
-        tag.remove("FireTicks");
-        tag.remove("Dimension");
-        tag.remove("HasVisualFire");
-        tag.remove("ActiveEffects");
-
-        //Special Cases
-        tag.remove("FromBucket"); //Axolotls
-
-        // If there are any additional mod-specific tags that don't affect sheep directly, you can remove them too:
-        tag.remove("neoforge:spawn_type");  // Example of a mod-specific tag that might not be relevant
-
-
-        return tag;
+        return EntityTagCache.getNormalizedTag(entity);
     }
 
     default boolean isStackValidFilter(LiquidBlock liquidBlock) {
-        ItemStack testStack = new ItemStack(liquidBlock.fluid.getBucket());
-        ItemStackKey key = new ItemStackKey(testStack, getFilterData().compareNBT);
-        if (getFilterData().filterCache.containsKey(key)) return getFilterData().filterCache.get(key);
-
-        FilterBasicHandler filteredItems = getFilterHandler();
-        for (int i = 0; i < filteredItems.getSlots(); i++) {
-            ItemStack stack = filteredItems.getStackInSlot(i);
-            if (stack.isEmpty()) continue;
-            if (key.equals(new ItemStackKey(stack, getFilterData().compareNBT))) {
-                getFilterData().filterCache.put(key, getFilterData().allowlist);
-                return getFilterData().allowlist;
-            }
-        }
-        getFilterData().filterCache.put(key, !getFilterData().allowlist);
-        return !getFilterData().allowlist;
+        return isStackValidFilter(new ItemStack(liquidBlock.fluid.getBucket()));
     }
 }
@@ -1,11 +1,8 @@
 package com.direwolf20.justdirethings.common.blockentities.basebe;
 
 import com.direwolf20.justdirethings.client.particles.gooexplodeparticle.GooExplodeParticleData;
-import com.direwolf20.justdirethings.datagen.recipes.GooSpreadRecipe;
-import com.direwolf20.justdirethings.datagen.recipes.GooSpreadRecipeTag;
 import com.direwolf20.justdirethings.setup.Config;
-import com.direwolf20.justdirethings.setup.Registration;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import com.direwolf20.justdirethings.util.GooSpreadRecipeIndex;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
@@ -16,49 +13,39 @@ import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
+import net.minecraft.util.Mth;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.crafting.RecipeHolder;
-import net.minecraft.world.item.crafting.RecipeManager;
-import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.Random;
 
 import static com.direwolf20.justdirethings.common.blocks.gooblocks.GooBlock_Base.ALIVE;
 
 public class GooBlockBE_Base extends BlockEntity {
-    public final Map<Direction, Integer> sidedCounters = new Object2IntOpenHashMap<>();
-    public final Map<Direction, Integer> sidedDurations = new Object2IntOpenHashMap<>();
+    private static final int RECHECK_INTERVAL = 200; //In case a neighbor changes without telling us - e.g. setBlock without update flags
 
-    //Cache so we don't have to iterate recipes every time
-    public final Map<BlockState, BlockState> outputCache = new HashMap<>();
-    public final Map<BlockState, Integer> durationCache = new Object2IntOpenHashMap<>();
+    //Indexed by Direction ordinal. -1 means we aren't operating on anything on that side
+    private final int[] sidedDurations = new int[6];
+    private final long[] sidedCompletionTimes = new long[6];
+    @Nullable
+    private int[] legacyCounters; //Counters saved by older versions, converted once we know the game time
+
+    //Server side only - whether anything could have changed since we last looked at our sides
+    private boolean needsCheck = true;
+    private boolean lastAlive;
+    private int recipeGeneration = -1;
+    private long lastChecked;
+    private long nextCompletion = Long.MAX_VALUE;
 
     public GooBlockBE_Base(BlockEntityType<?> type, BlockPos pos, BlockState state) {
         super(type, pos, state);
-        for (Direction direction : Direction.values()) {
-            sidedCounters.put(direction, -1); //Init the counters, -1 means we aren't operating on anything on that side
-            sidedDurations.put(direction, -1); //Init the durations, -1 means we aren't operating on anything on that side
-        }
-    }
-
-    public boolean updateSideCounter(Direction direction, int newCounter) {
-        int oldCounter = sidedCounters.get(direction);
-        sidedCounters.put(direction, newCounter);
-        if (oldCounter >= 0 && newCounter == -1 && level.isClientSide) {
-            spawnParticles(direction);
-        }
-        int duration = sidedDurations.get(direction);
-        if (newCounter <= 0 || duration <= 0)
-            return false;
-        // Every 3 seconds or so
-        return (newCounter % (60 * counterReducer())) == 0;
+        Arrays.fill(sidedDurations, -1);
+        Arrays.fill(sidedCompletionTimes, -1);
     }
 
     public int counterReducer() {
@@ -70,21 +57,43 @@ public class GooBlockBE_Base extends BlockEntity {
     }
 
     public int getCraftingDuration(Direction direction) {
-        return sidedDurations.get(direction);
+        return sidedDurations[direction.ordinal()];
     }
 
+    /**
+     * Remaining crafting time in counter units (the same units as the crafting duration), worked out from the completion time
+     */
     public int getRemainingTimeFor(Direction direction) {
-        return sidedCounters.get(direction);
+        long completionTime = sidedCompletionTimes[direction.ordinal()];
+        if (completionTime == -1 || level == null) return -1;
+        long remaining = (completionTime - level.getGameTime()) * counterReducer();
+        return (int) Mth.clamp(remaining, 0, Math.max(sidedDurations[direction.ordinal()], 0));
     }
 
-    public void tickClient() {
-        tickCounters(); //We tick on client side too, just for rendering of course!
+    /**
+     * Called by the block when a neighbor changes, so the next tick looks at our sides again
+     */
+    public void neighborChanged() {
+        needsCheck = true;
     }
 
     public void tickServer() {
-        checkSides();
-        tickCounters();
-        this.setChanged();
+        if (level == null) return;
+        long gameTime = level.getGameTime();
+        if (legacyCounters != null)
+            convertLegacyCounters(gameTime);
+        boolean alive = getBlockState().getValue(ALIVE);
+        if (alive != lastAlive) {
+            lastAlive = alive;
+            needsCheck = true;
+        }
+        if (recipeGeneration != GooSpreadRecipeIndex.getGeneration()) {
+            recipeGeneration = GooSpreadRecipeIndex.getGeneration();
+            needsCheck = true;
+        }
+        if (!needsCheck && gameTime < nextCompletion && gameTime - lastChecked < RECHECK_INTERVAL)
+            return;
+        checkSides(gameTime);
     }
 
     public void spawnParticles(Direction side) {
@@ -102,46 +111,42 @@ public class GooBlockBE_Base extends BlockEntity {
         }
     }
 
-    public void tickCounters() {
-        boolean needsUpdate = false;
-        for (Direction direction : Direction.values()) {
-            int sideCounter = sidedCounters.get(direction);
-            if (sideCounter > 0) {
-                sideCounter = Math.max(sideCounter - counterReducer(), 0);
-                if (updateSideCounter(direction, sideCounter))
-                    needsUpdate = true;
-            }
-        }
-        if (needsUpdate && !level.isClientSide)
-            markDirtyClient();
-    }
-
-    public void checkSides() {
-        if (level == null) return;
+    public void checkSides(long gameTime) {
+        needsCheck = false;
+        lastChecked = gameTime;
+        boolean changed = false;
         for (Direction direction : Direction.values()) {
+            int side = direction.ordinal();
             BlockState input = level.getBlockState(getBlockPos().relative(direction));
-            BlockState output = findOutput(input);
-            int duration = findDuration(input);
-            int sideCounter = sidedCounters.get(direction);
+            GooSpreadRecipeIndex.GooSpreadResult result = findResult(input);
+            BlockState output = result.output();
+            boolean running = sidedCompletionTimes[side] != -1;
             if (!output.isAir()) {
-                if (sideCounter == -1 && this.getBlockState().getValue(ALIVE)) { //Valid Recipe and not running yet
-                    sideCounter = duration;
-                    sidedDurations.put(direction, sideCounter);
-                    updateSideCounter(direction, sideCounter);
-                    markDirtyClient(); //Either way, update the client with the new sideCounters
-                } else if (sideCounter == 0) { //Craftings done!
+                if (!running && lastAlive) { //Valid Recipe and not running yet
+                    sidedDurations[side] = result.craftingDuration();
+                    sidedCompletionTimes[side] = gameTime + Mth.positiveCeilDiv(Math.max(result.craftingDuration(), 0), counterReducer());
+                    changed = true;
+                } else if (running && gameTime >= sidedCompletionTimes[side]) { //Craftings done!
                     setBlockToTarget(output, direction);
-                    markDirtyClient(); //Either way, update the client with the new sideCounters
-                }
-            } else { //If the recipe is null, it means this isn't a valid input block (or its already been converted!)
-                if (sideCounter != -1) { //If we have a timer running, cancel it
-                    sideCounter = -1;
-                    updateSideCounter(direction, sideCounter);
-                    sidedDurations.put(direction, sideCounter);
-                    markDirtyClient();
+                    changed = true;
                 }
+            } else if (running) { //If the recipe is null, it means this isn't a valid input block (or its already been converted!) - so cancel the timer
+                clearSide(side);
+                changed = true;
             }
         }
+        nextCompletion = Long.MAX_VALUE;
+        for (long completionTime : sidedCompletionTimes) {
+            if (completionTime != -1)
+                nextCompletion = Math.min(nextCompletion, completionTime);
+        }
+        if (changed)
+            markDirtyClient(); //Update the client with the new completion times
+    }
+
+    private void clearSide(int side) {
+        sidedDurations[side] = -1;
+        sidedCompletionTimes[side] = -1;
     }
 
     public void setBlockToTarget(BlockState output, Direction direction) {
@@ -149,8 +154,7 @@ public class GooBlockBE_Base extends BlockEntity {
             level.setBlockAndUpdate(getBlockPos().relative(direction), output.setValue(BlockStateProperties.FACING, direction));
         else
             level.setBlockAndUpdate(getBlockPos().relative(direction), output);
-        updateSideCounter(direction, -1);
-        sidedDurations.put(direction, -1);
+        clearSide(direction.ordinal());
         level.playSound(null, getBlockPos(), SoundEvents.SCULK_BLOCK_BREAK, SoundSource.BLOCKS, 1.0F, 1.0F);
         killGoo();
     }
@@ -169,102 +173,60 @@ public class GooBlockBE_Base extends BlockEntity {
         }
     }
 
-    public BlockState findOutput(BlockState input) {
-        if (!outputCache.containsKey(input))
-            populateCaches(input);
-        return outputCache.get(input);
+    public GooSpreadRecipeIndex.GooSpreadResult findResult(BlockState input) {
+        return GooSpreadRecipeIndex.getResult(level.getRecipeManager(), input, getTier());
     }
 
-    public int findDuration(BlockState input) {
-        if (!durationCache.containsKey(input))
-            populateCaches(input);
-        return durationCache.get(input);
-    }
-
-    public void populateCaches(BlockState input) {
-        BlockState output = Blocks.AIR.defaultBlockState();
-        int duration = -1;
-        GooSpreadRecipe gooSpreadRecipe = findRecipe(input);
-        if (gooSpreadRecipe != null) {
-            output = gooSpreadRecipe.getOutput();
-            duration = gooSpreadRecipe.getCraftingDuration();
-        } else {
-            GooSpreadRecipeTag gooSpreadRecipeTag = findRecipeTag(input);
-            if (gooSpreadRecipeTag != null) {
-                output = gooSpreadRecipeTag.getOutput();
-                duration = gooSpreadRecipeTag.getCraftingDuration();
-            }
-        }
-        outputCache.put(input, output);
-        durationCache.put(input, duration);
+    public BlockState findOutput(BlockState input) {
+        return findResult(input).output();
     }
 
-    @Nullable
-    private GooSpreadRecipe findRecipe(BlockState state) {
-        RecipeManager recipeManager = getLevel().getRecipeManager();
-
-        for (RecipeHolder<?> recipe : recipeManager.getAllRecipesFor(Registration.GOO_SPREAD_RECIPE_TYPE.get())) {
-            if (recipe.value() instanceof GooSpreadRecipe gooSpreadRecipe && gooSpreadRecipe.matches(this, state)) {
-                return gooSpreadRecipe;
-            }
-        }
-
-        return null;
+    public int findDuration(BlockState input) {
+        return findResult(input).craftingDuration();
     }
 
-    @Nullable
-    private GooSpreadRecipeTag findRecipeTag(BlockState state) {
-        RecipeManager recipeManager = getLevel().getRecipeManager();
-
-        for (RecipeHolder<?> recipe : recipeManager.getAllRecipesFor(Registration.GOO_SPREAD_RECIPE_TYPE_TAG.get())) {
-            if (recipe.value() instanceof GooSpreadRecipeTag gooSpreadRecipeTag && gooSpreadRecipeTag.matches(this, state)) {
-                return gooSpreadRecipeTag;
-            }
+    private void convertLegacyCounters(long gameTime) {
+        for (int side = 0; side < 6; side++) {
+            int counter = legacyCounters[side];
+            if (counter >= 0)
+                sidedCompletionTimes[side] = gameTime + Mth.positiveCeilDiv(counter, counterReducer());
         }
-
-        return null;
+        legacyCounters = null;
+        needsCheck = true;
+        setChanged();
     }
 
     @Override
     public void saveAdditional(CompoundTag tag, HolderLookup.Provider provider) {
         super.saveAdditional(tag, provider);
-        ListTag counterListTag = new ListTag();
-        for (Direction direction : Direction.values()) {
-            CompoundTag counterTag = new CompoundTag();
-            counterTag.putInt("side", direction.ordinal());
-            counterTag.putInt("counter", sidedCounters.get(direction));
-            counterListTag.add(counterTag);
-        }
-        tag.put("sideCounters", counterListTag);
-
-        ListTag durationListTag = new ListTag();
-        for (Direction direction : Direction.values()) {
-            CompoundTag durationTag = new CompoundTag();
-            durationTag.putInt("side", direction.ordinal());
-            durationTag.putInt("duration", sidedDurations.get(direction));
-            durationListTag.add(durationTag);
-        }
-        tag.put("sideDurations", durationListTag);
+        tag.putIntArray("durations", sidedDurations);
+        tag.putLongArray("completionTimes", sidedCompletionTimes);
     }
 
     @Override
     public void loadAdditional(CompoundTag tag, HolderLookup.Provider provider) {
-        if (tag.contains("sideCounters")) {
+        if (tag.contains("completionTimes")) {
+            long[] completionTimes = tag.getLongArray("completionTimes");
+            int[] durations = tag.getIntArray("durations");
+            for (int side = 0; side < 6; side++) {
+                long completionTime = side < completionTimes.length ? completionTimes[side] : -1;
+                if (level != null && level.isClientSide && sidedCompletionTimes[side] != -1 && completionTime == -1)
+                    spawnParticles(Direction.values()[side]);
+                sidedCompletionTimes[side] = completionTime;
+                sidedDurations[side] = side < durations.length ? durations[side] : -1;
+            }
+        } else if (tag.contains("sideCounters")) {
+            //Older saves kept a counter and duration per side in lists
+            legacyCounters = new int[]{-1, -1, -1, -1, -1, -1};
             ListTag listNBT = tag.getList("sideCounters", Tag.TAG_COMPOUND);
             for (int i = 0; i < listNBT.size(); i++) {
                 CompoundTag sideCounterTag = listNBT.getCompound(i);
-                int direction = sideCounterTag.getInt("side");
-                int counter = sideCounterTag.getInt("counter");
-                this.updateSideCounter(Direction.values()[direction], counter);
+                legacyCounters[sideCounterTag.getInt("side")] = sideCounterTag.getInt("counter");
             }
-        }
-        if (tag.contains("sideDurations")) {
-            ListTag listNBT = tag.getList("sideDurations", Tag.TAG_COMPOUND);
-            for (int i = 0; i < listNBT.size(); i++) {
-                CompoundTag sideCounterTag = listNBT.getCompound(i);
-                int direction = sideCounterTag.getInt("side");
-                int duration = sideCounterTag.getInt("duration");
-                this.sidedDurations.put(Direction.values()[direction], duration);
+            ListTag durationList = tag.getList("sideDurations", Tag.TAG_COMPOUND);
+            for (int i = 0; i < durationList.size(); i++) {
+                CompoundTag sideDurationTag = durationList.getCompound(i);
+                sidedDurations[sideDurationTag.getInt("side")] = sideDurationTag.getInt("duration");
             }
         }
         super.loadAdditional(tag, provider);
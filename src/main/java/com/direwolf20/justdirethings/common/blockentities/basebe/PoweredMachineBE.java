@@ -37,6 +37,12 @@ public interface PoweredMachineBE {
         return getEnergyStorage().extractEnergy(power, simulate);
     }
 
+    default boolean canChargeItemStack(ItemStack itemStack) {
+        if (itemStack.isEmpty() || getEnergyStored() <= 0) return false;
+        IEnergyStorage slotEnergy = itemStack.getCapability(Capabilities.EnergyStorage.ITEM);
+        return slotEnergy != null && slotEnergy.receiveEnergy(1, true) > 0;
+    }
+
     default void chargeItemStack(ItemStack itemStack) {
         IEnergyStorage slotEnergy = itemStack.getCapability(Capabilities.EnergyStorage.ITEM);
         if (slotEnergy != null) {
@@ -15,7 +15,7 @@ public interface RedstoneControlledBE {
     default void setRedstoneSettings(int redstoneMode) {
         getRedstoneControlData().redstoneMode = MiscHelpers.RedstoneMode.values()[redstoneMode];
         if (getBlockEntity() instanceof BaseMachineBE baseMachineBE)
-            baseMachineBE.markDirtyClient();
+            baseMachineBE.markDirtyClient(BaseMachineBE.SYNC_REDSTONE);
         BlockState blockState = getBlockEntity().getBlockState();
         if (blockState.hasProperty(BlockBreakerT1.ACTIVE)) {
             getBlockEntity().getLevel().setBlockAndUpdate(getBlockEntity().getBlockPos(), blockState.setValue(BlockBreakerT1.ACTIVE, isActiveRedstoneTestOnly()));
@@ -0,0 +1,55 @@
+package com.direwolf20.justdirethings.common.blockentities.basebe;
+
+import com.direwolf20.justdirethings.common.blockentities.EnergyTransmitterBE;
+import net.minecraft.world.inventory.ContainerData;
+
+/**
+ * Syncs the totals of the transmitter's whole network, rather than just this transmitters share
+ */
+public class TransmitterContainerData implements ContainerData {
+    EnergyTransmitterBE energyTransmitterBE;
+    private int networkEnergy, networkMaxEnergy; //Client side copies of the synced values
+
+    public TransmitterContainerData(EnergyTransmitterBE energyTransmitterBE) {
+        this.energyTransmitterBE = energyTransmitterBE;
+    }
+
+    private boolean isClientSide() {
+        return energyTransmitterBE.getLevel() == null || energyTransmitterBE.getLevel().isClientSide;
+    }
+
+    private int getNetworkEnergy() {
+        return isClientSide() ? networkEnergy : energyTransmitterBE.getNetworkEnergyStored();
+    }
+
+    private int getNetworkMaxEnergy() {
+        return isClientSide() ? networkMaxEnergy : energyTransmitterBE.getNetworkMaxEnergyStored();
+    }
+
+    @Override
+    public int get(int index) {
+        return switch (index) {
+            case 0 -> getNetworkEnergy() & 0xFFFF;
+            case 1 -> getNetworkEnergy() >> 16;
+            case 2 -> getNetworkMaxEnergy() & 0xFFFF;
+            case 3 -> getNetworkMaxEnergy() >> 16;
+            default -> throw new IllegalArgumentException("Invalid index: " + index);
+        };
+    }
+
+    @Override
+    public void set(int index, int value) {
+        switch (index) {
+            case 0 -> networkEnergy = (networkEnergy & 0xFFFF0000) | (value & 0xFFFF);
+            case 1 -> networkEnergy = (networkEnergy & 0xFFFF) | (value << 16);
+            case 2 -> networkMaxEnergy = (networkMaxEnergy & 0xFFFF0000) | (value & 0xFFFF);
+            case 3 -> networkMaxEnergy = (networkMaxEnergy & 0xFFFF) | (value << 16);
+            default -> throw new IllegalArgumentException("Invalid index: " + index);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return 4;
+    }
+}
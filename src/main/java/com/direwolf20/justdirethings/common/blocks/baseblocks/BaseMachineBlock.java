@@ -6,6 +6,7 @@ import com.direwolf20.justdirethings.common.blockentities.basebe.RedstoneControl
 import com.direwolf20.justdirethings.common.items.FerricoreWrench;
 import com.direwolf20.justdirethings.common.items.MachineSettingsCopier;
 import com.direwolf20.justdirethings.common.items.datacomponents.JustDireDataComponents;
+import com.direwolf20.justdirethings.util.MachineScheduler;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
@@ -97,7 +98,7 @@ public abstract class BaseMachineBlock extends Block implements EntityBlock {
         }
         return (lvl, pos, blockState, t) -> {
             if (t instanceof BaseMachineBE tile) {
-                tile.tickServer();
+                MachineScheduler.tickServer(tile);
             }
         };
     }
@@ -108,6 +109,8 @@ public abstract class BaseMachineBlock extends Block implements EntityBlock {
         if (blockEntity instanceof RedstoneControlledBE redstoneControlledBE) {
             redstoneControlledBE.getRedstoneControlData().checkedRedstone = false;
         }
+        if (blockEntity instanceof BaseMachineBE baseMachineBE)
+            baseMachineBE.wake();
     }
 
     @Override
@@ -4,6 +4,7 @@ import com.direwolf20.justdirethings.common.blockentities.basebe.GooBlockBE_Base
 import com.direwolf20.justdirethings.datagen.JustDireItemTags;
 import com.direwolf20.justdirethings.setup.Registration;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
@@ -12,6 +13,7 @@ import net.minecraft.world.ItemInteractionResult;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.EntityBlock;
 import net.minecraft.world.level.block.SoundType;
@@ -78,15 +80,26 @@ public class GooBlock_Base extends Block implements EntityBlock {
         return itemStack.is(JustDireItemTags.GOO_REVIVE_TIER_1);
     }
 
+    @Override
+    protected void neighborChanged(BlockState state, Level level, BlockPos pos, Block neighborBlock, BlockPos neighborPos, boolean movedByPiston) {
+        super.neighborChanged(state, level, pos, neighborBlock, neighborPos, movedByPiston);
+        if (!level.isClientSide && level.getBlockEntity(pos) instanceof GooBlockBE_Base gooBlockBE)
+            gooBlockBE.neighborChanged();
+    }
+
+    @Override
+    protected BlockState updateShape(BlockState state, Direction direction, BlockState neighborState, LevelAccessor level, BlockPos pos, BlockPos neighborPos) {
+        //Also catches neighbors changed without a block update (flag 2), like crops growing
+        if (!level.isClientSide() && level.getBlockEntity(pos) instanceof GooBlockBE_Base gooBlockBE)
+            gooBlockBE.neighborChanged();
+        return super.updateShape(state, direction, neighborState, level, pos, neighborPos);
+    }
+
     @Nullable
     @Override
     public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> type) {
         if (level.isClientSide()) {
-            return (lvl, pos, blockState, t) -> {
-                if (t instanceof GooBlockBE_Base tile) {
-                    tile.tickClient();
-                }
-            };
+            return null; //Clients work out crafting progress from the synced completion times
         }
         return (lvl, pos, blockState, t) -> {
             if (t instanceof GooBlockBE_Base tile) {
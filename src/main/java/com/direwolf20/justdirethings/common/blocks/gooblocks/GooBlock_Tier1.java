@@ -24,11 +24,7 @@ public class GooBlock_Tier1 extends GooBlock_Base implements EntityBlock {
     @Override
     public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> type) {
         if (level.isClientSide()) {
-            return (lvl, pos, blockState, t) -> {
-                if (t instanceof GooBlockBE_Tier1 tile) {
-                    tile.tickClient();
-                }
-            };
+            return null; //Clients work out crafting progress from the synced completion times
         }
         return (lvl, pos, blockState, t) -> {
             if (t instanceof GooBlockBE_Tier1 tile) {
@@ -23,7 +23,7 @@ public class ExperienceHolderFluidTank extends FluidTank {
         }
 
         // Safe to multiply without overflow
-        return Math.min(experienceHolderBE.exp * 20, getCapacity());
+        return (int) Math.min(experienceHolderBE.exp * 20, getCapacity());
     }
 
     @Override
@@ -59,14 +59,14 @@ public class ExperienceHolderFluidTank extends FluidTank {
     }
 
     public int insertFluid(int amt) {
-        int remaining = experienceHolderBE.addExp(amt / 20);
+        int remaining = (int) experienceHolderBE.addExp(amt / 20); //Never more than we tried to add
         int excessFluid = amt % 20;  // Calculate remainder fluid (less than 1 XP)
         return (remaining * 20) + excessFluid;
     }
 
     public int extractFluid(int amt) {
         int expNeeded = amt / 20;
-        int unAvailable = experienceHolderBE.subExp(expNeeded);
+        int unAvailable = (int) experienceHolderBE.subExp(expNeeded);
         return (unAvailable * 20) + (amt % 20);
     }
 
@@ -94,6 +94,6 @@ public class ExperienceHolderFluidTank extends FluidTank {
 
     @Override
     protected void onContentsChanged() {
-        experienceHolderBE.markDirtyClient();
+        experienceHolderBE.markDirtyClient(ExperienceHolderBE.SYNC_EXP);
     }
 }
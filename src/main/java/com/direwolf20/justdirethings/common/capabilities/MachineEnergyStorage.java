@@ -1,14 +1,29 @@
 package com.direwolf20.justdirethings.common.capabilities;
 
+import com.direwolf20.justdirethings.common.blockentities.basebe.BaseMachineBE;
 import net.neoforged.neoforge.energy.EnergyStorage;
 
 public class MachineEnergyStorage extends EnergyStorage {
+    private final BaseMachineBE baseMachineBE; //Optional - woken up when energy arrives
 
     public MachineEnergyStorage(int capacity) {
+        this(capacity, null);
+    }
+
+    public MachineEnergyStorage(int capacity, BaseMachineBE baseMachineBE) {
         super(capacity);
+        this.baseMachineBE = baseMachineBE;
     }
 
     public void setEnergy(int energy) {
         this.energy = energy;
     }
-}
\ No newline at end of file
+
+    @Override
+    public int receiveEnergy(int toReceive, boolean simulate) {
+        int received = super.receiveEnergy(toReceive, simulate);
+        if (received > 0 && !simulate && baseMachineBE != null)
+            baseMachineBE.wake();
+        return received;
+    }
+}
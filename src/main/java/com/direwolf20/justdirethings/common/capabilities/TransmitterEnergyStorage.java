@@ -7,33 +7,38 @@ import net.minecraft.nbt.Tag;
 
 public class TransmitterEnergyStorage extends MachineEnergyStorage {
     private final EnergyTransmitterBE energyTransmitterBE;
+    private TransmitterNetwork network;
 
     public TransmitterEnergyStorage(int capacity, EnergyTransmitterBE energyTransmitterBE) {
         super(capacity);
         this.energyTransmitterBE = energyTransmitterBE;
     }
 
+    public TransmitterNetwork getNetwork() {
+        return network;
+    }
+
+    void setNetwork(TransmitterNetwork network) {
+        this.network = network;
+    }
+
     @Override
     public void setEnergy(int energy) {
-        this.energy = energy;
+        if (network != null)
+            network.adjustEnergy(energy - getRealEnergyStored());
+        else
+            this.energy = energy;
     }
 
+    /**
+     * Inserts into the network's pooled buffer if we're part of one, otherwise just into this transmitter
+     */
     @Override
     public int receiveEnergy(int maxReceive, boolean simulate) {
         if (!canReceive())
             return 0;
-
-        int energyReceived = Math.min(getMaxEnergyStored() - getEnergyStored(), Math.min(this.maxReceive, maxReceive));
-        if (!simulate) {
-            energyTransmitterBE.distributeEnergy(energyReceived);
-            //energy += energyReceived;
-        }
-        return energyReceived;
-    }
-
-    public int realReceiveEnergy(int maxReceive, boolean simulate) {
-        if (!canReceive())
-            return 0;
+        if (network != null)
+            return network.receiveEnergy(Math.min(this.maxReceive, maxReceive), simulate);
 
         int energyReceived = Math.min(capacity - energy, Math.min(this.maxReceive, maxReceive));
         if (!simulate)
@@ -45,16 +50,8 @@ public class TransmitterEnergyStorage extends MachineEnergyStorage {
     public int extractEnergy(int maxExtract, boolean simulate) {
         if (!canExtract())
             return 0;
-
-        int energyExtracted = Math.min(getEnergyStored(), Math.min(this.maxExtract, maxExtract));
-        if (!simulate)
-            energy -= energyExtracted;
-        return energyExtracted;
-    }
-
-    public int realExtractEnergy(int maxExtract, boolean simulate) {
-        if (!canExtract())
-            return 0;
+        if (network != null)
+            return network.extractEnergy(Math.min(this.maxExtract, maxExtract), simulate);
 
         int energyExtracted = Math.min(energy, Math.min(this.maxExtract, maxExtract));
         if (!simulate)
@@ -64,16 +61,19 @@ public class TransmitterEnergyStorage extends MachineEnergyStorage {
 
     @Override
     public int getEnergyStored() {
-        return energyTransmitterBE.getTotalEnergyStored();
+        return network != null ? network.getEnergyStored() : energy;
     }
 
     @Override
     public int getMaxEnergyStored() {
-        return energyTransmitterBE.getTotalMaxEnergyStored();
+        return network != null ? network.getMaxEnergyStored() : capacity;
     }
 
+    /**
+     * This transmitters own share of the network's energy - this is what gets saved
+     */
     public int getRealEnergyStored() {
-        return energy;
+        return network != null ? network.getShare(this) : energy;
     }
 
     public int getRealMaxEnergyStored() {
@@ -0,0 +1,108 @@
+package com.direwolf20.justdirethings.common.capabilities;
+
+import net.minecraft.core.BlockPos;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A group of energy transmitters that can see each other, sharing one pooled energy buffer.
+ * Created and merged/split by the TransmitterNetworkManager - each TransmitterEnergyStorage only holds a reference to its network.
+ */
+public class TransmitterNetwork {
+    private final Map<BlockPos, TransmitterEnergyStorage> members = new HashMap<>();
+    private long energy;
+    private long capacity;
+
+    public TransmitterNetwork() {
+    }
+
+    public Map<BlockPos, TransmitterEnergyStorage> getMembers() {
+        return Collections.unmodifiableMap(members);
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    void addMember(BlockPos blockPos, TransmitterEnergyStorage storage, long memberEnergy) {
+        members.put(blockPos, storage);
+        capacity += storage.getRealMaxEnergyStored();
+        energy += memberEnergy;
+        storage.setNetwork(this);
+    }
+
+    /**
+     * Removes a member, taking its share of the pooled energy with it
+     */
+    long removeMember(BlockPos blockPos) {
+        TransmitterEnergyStorage storage = members.get(blockPos);
+        if (storage == null) return 0;
+        long share = getShare(storage);
+        members.remove(blockPos);
+        capacity -= storage.getRealMaxEnergyStored();
+        energy -= share;
+        storage.setNetwork(null);
+        return share;
+    }
+
+    /**
+     * Absorbs another network into this one - members, capacity and energy
+     */
+    void merge(TransmitterNetwork other) {
+        for (Map.Entry<BlockPos, TransmitterEnergyStorage> entry : other.members.entrySet()) {
+            members.put(entry.getKey(), entry.getValue());
+            entry.getValue().setNetwork(this);
+        }
+        capacity += other.capacity;
+        energy += other.energy;
+        other.members.clear();
+        other.capacity = 0;
+        other.energy = 0;
+    }
+
+    long getRawEnergy() {
+        return energy;
+    }
+
+    long getRawCapacity() {
+        return capacity;
+    }
+
+    /**
+     * How much of the pooled energy belongs to this member, proportional to its capacity. Used when saving, and when a member leaves.
+     */
+    public int getShare(TransmitterEnergyStorage storage) {
+        if (capacity <= 0) return 0;
+        return (int) (energy * storage.getRealMaxEnergyStored() / capacity);
+    }
+
+    public void adjustEnergy(long amount) {
+        energy = Math.max(0, Math.min(capacity, energy + amount));
+    }
+
+    public int receiveEnergy(int maxReceive, boolean simulate) {
+        int energyReceived = (int) Math.min(capacity - energy, maxReceive);
+        if (energyReceived <= 0) return 0;
+        if (!simulate)
+            energy += energyReceived;
+        return energyReceived;
+    }
+
+    public int extractEnergy(int maxExtract, boolean simulate) {
+        int energyExtracted = (int) Math.min(energy, maxExtract);
+        if (energyExtracted <= 0) return 0;
+        if (!simulate)
+            energy -= energyExtracted;
+        return energyExtracted;
+    }
+
+    public int getEnergyStored() {
+        return (int) Math.min(energy, Integer.MAX_VALUE);
+    }
+
+    public int getMaxEnergyStored() {
+        return (int) Math.min(capacity, Integer.MAX_VALUE);
+    }
+}
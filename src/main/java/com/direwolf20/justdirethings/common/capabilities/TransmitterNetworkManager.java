@@ -0,0 +1,153 @@
+package com.direwolf20.justdirethings.common.capabilities;
+
+import com.direwolf20.justdirethings.common.blockentities.EnergyTransmitterBE;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+
+import java.util.*;
+
+/**
+ * Tracks every loaded energy transmitter in a level, and which network each belongs to.
+ * Two transmitters are in the same network if either one can see the other - networks are merged (smaller into larger)
+ * as links appear, and split again with a union-find over the remaining links when a transmitter leaves or loses sight of another.
+ */
+public class TransmitterNetworkManager {
+    private static final Map<LevelAccessor, TransmitterNetworkManager> managers = new HashMap<>();
+
+    private final Map<BlockPos, TransmitterNetwork> networks = new HashMap<>();
+    private final Map<BlockPos, Set<BlockPos>> links = new HashMap<>();
+
+    public static TransmitterNetworkManager get(Level level) {
+        return managers.computeIfAbsent(level, k -> new TransmitterNetworkManager());
+    }
+
+    /**
+     * Removes a transmitter from its level's manager, if there is one - doesn't create a new manager for levels that are unloading
+     */
+    public static void remove(Level level, EnergyTransmitterBE energyTransmitterBE) {
+        TransmitterNetworkManager manager = managers.get(level);
+        if (manager != null)
+            manager.leave(energyTransmitterBE);
+    }
+
+    public static void levelUnloaded(LevelAccessor level) {
+        managers.remove(level);
+    }
+
+    public TransmitterNetwork getNetwork(BlockPos blockPos) {
+        return networks.get(blockPos);
+    }
+
+    /**
+     * Adds a transmitter as a network of its own, bringing its saved energy, then connects it to anything already linked to it
+     */
+    public void join(EnergyTransmitterBE energyTransmitterBE) {
+        BlockPos blockPos = energyTransmitterBE.getBlockPos();
+        if (networks.containsKey(blockPos)) return;
+        TransmitterEnergyStorage storage = energyTransmitterBE.getEnergyStorage();
+        TransmitterNetwork network = new TransmitterNetwork();
+        network.addMember(blockPos, storage, storage.getRealEnergyStored());
+        networks.put(blockPos, network);
+        for (Map.Entry<BlockPos, Set<BlockPos>> entry : links.entrySet()) {
+            if (entry.getValue().contains(blockPos))
+                union(blockPos, entry.getKey());
+        }
+    }
+
+    /**
+     * Removes a transmitter (broken or unloaded), handing its share of the energy back to its own storage, and splits whatever is left of its network
+     */
+    public void leave(EnergyTransmitterBE energyTransmitterBE) {
+        BlockPos blockPos = energyTransmitterBE.getBlockPos();
+        links.remove(blockPos);
+        TransmitterNetwork network = networks.remove(blockPos);
+        if (network == null) return;
+        TransmitterEnergyStorage storage = energyTransmitterBE.getEnergyStorage();
+        storage.setEnergy((int) network.removeMember(blockPos));
+        rebuild(network);
+    }
+
+    /**
+     * Called whenever a transmitter's set of visible transmitters changes
+     */
+    public void updateLinks(EnergyTransmitterBE energyTransmitterBE, Set<BlockPos> visible) {
+        Level level = energyTransmitterBE.getLevel();
+        BlockPos blockPos = energyTransmitterBE.getBlockPos();
+        join(energyTransmitterBE);
+        Set<BlockPos> newLinks = new HashSet<>(visible);
+        newLinks.remove(blockPos);
+        Set<BlockPos> oldLinks = links.put(blockPos, newLinks);
+        if (newLinks.equals(oldLinks)) return;
+        for (BlockPos linkedPos : newLinks) {
+            if (!networks.containsKey(linkedPos) && level.getBlockEntity(linkedPos) instanceof EnergyTransmitterBE other)
+                join(other);
+            union(blockPos, linkedPos);
+        }
+        if (oldLinks != null && !newLinks.containsAll(oldLinks))
+            rebuild(networks.get(blockPos));
+    }
+
+    private void union(BlockPos first, BlockPos second) {
+        TransmitterNetwork firstNetwork = networks.get(first);
+        TransmitterNetwork secondNetwork = networks.get(second);
+        if (firstNetwork == null || secondNetwork == null || firstNetwork == secondNetwork) return;
+        TransmitterNetwork larger = firstNetwork.size() >= secondNetwork.size() ? firstNetwork : secondNetwork;
+        TransmitterNetwork smaller = larger == firstNetwork ? secondNetwork : firstNetwork;
+        for (BlockPos memberPos : smaller.getMembers().keySet())
+            networks.put(memberPos, larger);
+        larger.merge(smaller);
+    }
+
+    /**
+     * Recomputes the connected components of a network, splitting its energy between them by capacity
+     */
+    private void rebuild(TransmitterNetwork network) {
+        if (network == null || network.size() == 0) return;
+        List<BlockPos> positions = new ArrayList<>(network.getMembers().keySet());
+        Map<BlockPos, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < positions.size(); i++)
+            indexes.put(positions.get(i), i);
+
+        int[] parents = new int[positions.size()];
+        for (int i = 0; i < parents.length; i++)
+            parents[i] = i;
+        for (int i = 0; i < positions.size(); i++) {
+            Set<BlockPos> memberLinks = links.get(positions.get(i));
+            if (memberLinks == null) continue;
+            for (BlockPos linkedPos : memberLinks) {
+                Integer linkedIndex = indexes.get(linkedPos);
+                if (linkedIndex == null) continue;
+                int rootA = find(parents, i);
+                int rootB = find(parents, linkedIndex);
+                if (rootA != rootB)
+                    parents[rootA] = rootB;
+            }
+        }
+
+        Map<Integer, TransmitterNetwork> components = new HashMap<>();
+        Map<BlockPos, TransmitterEnergyStorage> members = new HashMap<>(network.getMembers());
+        long totalEnergy = network.getRawEnergy();
+        long totalCapacity = network.getRawCapacity();
+        long assignedEnergy = 0;
+        for (int i = 0; i < positions.size(); i++) {
+            BlockPos memberPos = positions.get(i);
+            TransmitterEnergyStorage storage = members.get(memberPos);
+            long memberEnergy = totalCapacity <= 0 ? 0 : totalEnergy * storage.getRealMaxEnergyStored() / totalCapacity;
+            if (i == positions.size() - 1)
+                memberEnergy = totalEnergy - assignedEnergy; //Don't lose the rounding remainder
+            assignedEnergy += memberEnergy;
+            TransmitterNetwork component = components.computeIfAbsent(find(parents, i), k -> new TransmitterNetwork());
+            component.addMember(memberPos, storage, memberEnergy);
+            networks.put(memberPos, component);
+        }
+    }
+
+    private static int find(int[] parents, int index) {
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+}
@@ -0,0 +1,98 @@
+package com.direwolf20.justdirethings.common.commands;
+
+import com.direwolf20.justdirethings.common.blockentities.basebe.FilterableBE;
+import com.direwolf20.justdirethings.util.CookingResultCache;
+import com.direwolf20.justdirethings.util.EclipseGateReverts;
+import com.direwolf20.justdirethings.util.MachineScheduler;
+import com.direwolf20.justdirethings.util.MachineSync;
+import com.direwolf20.justdirethings.util.TimeWandBudget;
+import com.direwolf20.justdirethings.util.interfacehelpers.FilterData;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+
+import java.util.Map;
+
+/**
+ * Server side debug commands - /justdirethings ...
+ */
+public class JustDireCommands {
+    @SubscribeEvent
+    public static void registerCommands(RegisterCommandsEvent event) {
+        CommandDispatcher<CommandSourceStack> dispatcher = event.getDispatcher();
+        dispatcher.register(Commands.literal("justdirethings")
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("machines").executes(JustDireCommands::machineCounts))
+                .then(Commands.literal("eclipsegates").executes(JustDireCommands::eclipseGateStats))
+                .then(Commands.literal("timewands").executes(JustDireCommands::timeWandBudget))
+                .then(Commands.literal("smeltcache").executes(JustDireCommands::cookingCacheStats))
+                .then(Commands.literal("machinesync").executes(JustDireCommands::machineSyncStats))
+                .then(Commands.literal("filtercache")
+                        .then(Commands.argument("pos", BlockPosArgument.blockPos()).executes(JustDireCommands::filterCacheStats)))
+        );
+    }
+
+    private static int machineCounts(CommandContext<CommandSourceStack> context) {
+        Map<ResourceKey<Level>, MachineScheduler.MachineCounts> counts = MachineScheduler.getCounts();
+        if (counts.isEmpty()) {
+            context.getSource().sendSuccess(() -> Component.literal("No machines have ticked yet"), false);
+            return 0;
+        }
+        for (Map.Entry<ResourceKey<Level>, MachineScheduler.MachineCounts> entry : counts.entrySet()) {
+            MachineScheduler.MachineCounts machineCounts = entry.getValue();
+            context.getSource().sendSuccess(() -> Component.literal(entry.getKey().location() + ": " + machineCounts.lastAwake + " awake, " + machineCounts.lastAsleep + " asleep"), false);
+        }
+        return counts.size();
+    }
+
+    private static int eclipseGateStats(CommandContext<CommandSourceStack> context) {
+        EclipseGateReverts eclipseGateReverts = EclipseGateReverts.get(context.getSource().getLevel());
+        context.getSource().sendSuccess(() -> Component.literal(eclipseGateReverts.getPending() + " gate blocks pending, last revert tick restored " + eclipseGateReverts.lastTickReverts + " in " + eclipseGateReverts.lastTickNanos / 1000 + "us"), false);
+        return eclipseGateReverts.getPending();
+    }
+
+    private static int timeWandBudget(CommandContext<CommandSourceStack> context) {
+        long budgetNanos = TimeWandBudget.getBudgetNanos();
+        String budget = budgetNanos == 0 ? "unlimited" : (TimeWandBudget.lastUsedNanos * 100 / budgetNanos) + "% of " + budgetNanos / 1000 + "us";
+        context.getSource().sendSuccess(() -> Component.literal(TimeWandBudget.lastActive + " accelerated blocks used " + TimeWandBudget.lastUsedNanos / 1000 + "us (" + budget + "), " + TimeWandBudget.lastThrottled + " ran out of time"), false);
+        return TimeWandBudget.lastThrottled;
+    }
+
+    private static int cookingCacheStats(CommandContext<CommandSourceStack> context) {
+        long lookups = CookingResultCache.hits + CookingResultCache.misses;
+        long hitRate = lookups == 0 ? 0 : CookingResultCache.hits * 100 / lookups;
+        context.getSource().sendSuccess(() -> Component.literal("Smelt/smoke results: " + CookingResultCache.hits + " hits, " + CookingResultCache.misses + " misses (" + hitRate + "%)"), false);
+        return (int) Math.min(CookingResultCache.hits, Integer.MAX_VALUE);
+    }
+
+    private static int machineSyncStats(CommandContext<CommandSourceStack> context) {
+        double seconds = Math.max(1, (System.nanoTime() - MachineSync.countingSince) / 1_000_000_000D);
+        long bytesPerSecond = (long) (MachineSync.bytes / seconds);
+        long packets = MachineSync.packets;
+        long fullPackets = MachineSync.fullPackets;
+        context.getSource().sendSuccess(() -> Component.literal(packets + " machine sync packets (" + fullPackets + " full) in " + (long) seconds + "s, " + bytesPerSecond + " NBT bytes/s - counts reset"), false);
+        MachineSync.resetCounts();
+        return (int) Math.min(packets, Integer.MAX_VALUE);
+    }
+
+    private static int filterCacheStats(CommandContext<CommandSourceStack> context) {
+        BlockPos blockPos = BlockPosArgument.getBlockPos(context, "pos");
+        if (!(context.getSource().getLevel().getBlockEntity(blockPos) instanceof FilterableBE filterableBE)) {
+            context.getSource().sendFailure(Component.literal("No filterable machine at " + blockPos.toShortString()));
+            return 0;
+        }
+        FilterData filterData = filterableBE.getFilterData();
+        long lookups = filterData.cacheHits + filterData.cacheMisses;
+        long hitRate = lookups == 0 ? 0 : filterData.cacheHits * 100 / lookups;
+        context.getSource().sendSuccess(() -> Component.literal(blockPos.toShortString() + ": " + filterData.cacheHits + " hits, " + filterData.cacheMisses + " misses (" + hitRate + "%)"), false);
+        return (int) Math.min(filterData.cacheHits, Integer.MAX_VALUE);
+    }
+}
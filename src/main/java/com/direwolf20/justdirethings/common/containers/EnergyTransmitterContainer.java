@@ -20,6 +20,10 @@ public class EnergyTransmitterContainer extends BaseMachineContainer {
         addPlayerSlots(player.getInventory());
     }
 
+    public int getNetworkMaxEnergy() {
+        return this.data == null ? 0 : ((this.data.get(3) << 16) | this.data.get(2));
+    }
+
     @Override
     public boolean stillValid(Player playerIn) {
         return stillValid(ContainerLevelAccess.create(player.level(), pos), player, Registration.EnergyTransmitter.get());
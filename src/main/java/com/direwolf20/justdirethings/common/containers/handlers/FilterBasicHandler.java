@@ -1,11 +1,15 @@
 package com.direwolf20.justdirethings.common.containers.handlers;
 
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.item.ItemStack;
 import net.neoforged.neoforge.items.ItemStackHandler;
 
 import javax.annotation.Nonnull;
 
 public class FilterBasicHandler extends ItemStackHandler {
+    private int version = 0; //Bumped whenever the filter contents change, so anything caching filter results knows to throw them away
+
     public FilterBasicHandler(int size) {
         super(size);
     }
@@ -19,4 +23,20 @@ public class FilterBasicHandler extends ItemStackHandler {
     public int getSlotLimit(int slot) {
         return 1;
     }
+
+    @Override
+    protected void onContentsChanged(int slot) {
+        super.onContentsChanged(slot);
+        version++;
+    }
+
+    @Override
+    public void deserializeNBT(HolderLookup.Provider provider, CompoundTag nbt) {
+        super.deserializeNBT(provider, nbt);
+        version++;
+    }
+
+    public int getVersion() {
+        return version;
+    }
 }
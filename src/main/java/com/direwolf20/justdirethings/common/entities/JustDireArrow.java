@@ -1,6 +1,7 @@
 package com.direwolf20.justdirethings.common.entities;
 
 import com.direwolf20.justdirethings.setup.Registration;
+import com.direwolf20.justdirethings.util.MobTargetIndex;
 import net.minecraft.core.Holder;
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.core.particles.ColorParticleOption;
@@ -434,25 +435,15 @@ public class JustDireArrow extends AbstractArrow {
     private LivingEntity findNearestEntity() {
         double radius = searchRadius();
         AABB searchArea = this.getBoundingBox().inflate(radius, radius / 2, radius);
-        List<Mob> entities = this.level().getEntitiesOfClass(Mob.class, searchArea);
-        LivingEntity nearestEntity = null;
-        double nearestDistance = Double.MAX_VALUE;
-
-        for (Mob entity : entities) {
-            if (entity == this.getOwner() || !entity.isAlive() || wasAlreadyHit(entity)) {
-                continue;
+        return MobTargetIndex.findNearest(this.level(), searchArea, this.getX(), this.getY(), this.getZ(), entity -> {
+            if (entity == this.getOwner() || wasAlreadyHit(entity)) {
+                return false;
             }
             if (getHostileOnly() && !isHostileEntity(entity)) {
-                continue;  // Skip non-hostile entities if onlyHostile is true
-            }
-            double distance = this.distanceToSqr(entity);
-            if (distance < nearestDistance) {
-                nearestEntity = entity;
-                nearestDistance = distance;
+                return false;  // Skip non-hostile entities if onlyHostile is true
             }
-        }
-
-        return nearestEntity;
+            return true;
+        });
     }
 
     private boolean wasAlreadyHit(LivingEntity target) {
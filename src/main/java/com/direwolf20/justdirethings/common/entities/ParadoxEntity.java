@@ -22,6 +22,7 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.LiquidBlock;
 import net.minecraft.world.level.block.state.BlockState;
@@ -49,6 +50,9 @@ public class ParadoxEntity extends Entity {
     private double itemSuckSpeed = 0.5;
     private boolean collapsing = false;
     private int maxBlocksForPerf = 40;
+    private static final float ABSORB_CHANCE = 0.0125f; // Chance per block per tick of starting to absorb it
+    private static final int ABSORB_SAMPLES = 256; // Positions checked per tick - bigger areas check a random sample with a higher chance per sample instead of every block
+    private static final Map<Block, ItemStack> particleStacks = new HashMap<>();
     public int radiusGrowthTime = 1200;
     public int radiusGrowthTimer = 0;
     public int maxRadiusGrowthTimer;
@@ -122,16 +126,32 @@ public class ParadoxEntity extends Entity {
     }
 
     private void handleBlockAbsorption(int currentRadius) {
-        for (BlockPos pos : BlockPos.betweenClosed(getOnPos().offset(-currentRadius, -currentRadius, -currentRadius), getOnPos().offset(currentRadius, currentRadius, currentRadius))) {
-            //if (blocksToAbsorb.size() > maxBlocksForPerf * 4)
-            //    break;
-            float rand = random.nextFloat();
-            if (isBlockValid(pos) && rand < 0.0125f) {
-                // Add block with a countdown between 40 and 80 ticks
-                blocksToAbsorb.put(new BlockPos(pos), 40 + random.nextInt(41));
+        BlockPos center = getOnPos();
+        int diameter = currentRadius * 2 + 1;
+        int volume = diameter * diameter * diameter;
+        if (volume <= ABSORB_SAMPLES) {
+            for (BlockPos pos : BlockPos.betweenClosed(center.offset(-currentRadius, -currentRadius, -currentRadius), center.offset(currentRadius, currentRadius, currentRadius))) {
+                if (random.nextFloat() < ABSORB_CHANCE && isBlockValid(pos)) {
+                    // Add block with a countdown between 40 and 80 ticks
+                    blocksToAbsorb.put(new BlockPos(pos), 40 + random.nextInt(41));
+                }
+            }
+        } else {
+            // Same expected number of blocks per tick as rolling every position in the cube, but the cost doesn't grow with the radius
+            float sampleChance = Math.min(1f, ABSORB_CHANCE * volume / ABSORB_SAMPLES);
+            BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            for (int i = 0; i < ABSORB_SAMPLES; i++) {
+                if (random.nextFloat() >= sampleChance)
+                    continue;
+                pos.set(center.getX() + random.nextInt(diameter) - currentRadius, center.getY() + random.nextInt(diameter) - currentRadius, center.getZ() + random.nextInt(diameter) - currentRadius);
+                if (isBlockValid(pos)) {
+                    // Add block with a countdown between 40 and 80 ticks
+                    blocksToAbsorb.put(pos.immutable(), 40 + random.nextInt(41));
+                }
             }
         }
 
+        Vec3 targetVec = position().add(0, 0.5, 0);
         Iterator<Map.Entry<BlockPos, Integer>> iterator = blocksToAbsorb.entrySet().iterator();
         while (iterator.hasNext()) {
             Map.Entry<BlockPos, Integer> entry = iterator.next();
@@ -143,12 +163,7 @@ public class ParadoxEntity extends Entity {
             }
             int timeLeft = entry.getValue() - 1;
 
-
-            Vec3 targetVec = position().add(0, 0.5, 0);
-            ItemStack blockStack = new ItemStack(level().getBlockState(pos).getBlock());
-            if (blockStack.equals(ItemStack.EMPTY) || blockStack.getItem().equals(Items.AIR))
-                blockStack = new ItemStack(Items.STONE);
-            ParadoxParticleData data = new ParadoxParticleData(blockStack, targetVec.x, targetVec.y, targetVec.z, 1, this.getUUID());
+            ParadoxParticleData data = new ParadoxParticleData(getParticleStack(level().getBlockState(pos).getBlock()), targetVec.x, targetVec.y, targetVec.z, 1, this.getUUID());
 
             Vec3 sourcePos = pos.getCenter();
             double x = sourcePos.x + (random.nextDouble() - 0.5);
@@ -187,6 +202,18 @@ public class ParadoxEntity extends Entity {
         }
     }
 
+    /**
+     * The item shown by the particles for a block being absorbed, shared by every paradox - don't modify it
+     */
+    private static ItemStack getParticleStack(Block block) {
+        return particleStacks.computeIfAbsent(block, k -> {
+            ItemStack blockStack = new ItemStack(k);
+            if (blockStack.equals(ItemStack.EMPTY) || blockStack.getItem().equals(Items.AIR))
+                blockStack = new ItemStack(Items.STONE);
+            return blockStack;
+        });
+    }
+
     public boolean isBlockWithinRadius(BlockPos pos) {
         BlockPos centerPos = getOnPos();
         int radius = getTargetRadius();
@@ -234,10 +261,11 @@ public class ParadoxEntity extends Entity {
     }
 
     private void handleItemAbsorption(int currentRadius) {
-        List<ItemEntity> items = level().getEntitiesOfClass(ItemEntity.class, getBoundingBox().inflate(currentRadius + 0.25f));
+        // One query for both items and living entities - items are handled first, as they can collapse the paradox
+        List<Entity> entities = level().getEntities(this, getBoundingBox().inflate(currentRadius + 0.25f), entity -> entity instanceof ItemEntity || entity instanceof LivingEntity);
 
-        for (ItemEntity item : items) {
-            if (!isValidItem(item))
+        for (Entity entity : entities) {
+            if (!(entity instanceof ItemEntity item) || !isValidItem(item))
                 continue;
             if (collapsing) break;
             Vec3 itemPosition = item.position();
@@ -258,10 +286,9 @@ public class ParadoxEntity extends Entity {
             }
         }
         if (collapsing) return;
-        List<LivingEntity> livingEntities = level().getEntitiesOfClass(LivingEntity.class, getBoundingBox().inflate(currentRadius + 0.25f));
 
-        for (LivingEntity livingEntity : livingEntities) {
-            if (!isValidEntity(livingEntity))
+        for (Entity entity : entities) {
+            if (!(entity instanceof LivingEntity livingEntity) || !isValidEntity(livingEntity))
                 continue;
             Vec3 position = livingEntity.position();
             Vec3 direction = position().subtract(position).normalize().scale(itemSuckSpeed);
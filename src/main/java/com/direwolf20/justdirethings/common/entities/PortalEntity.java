@@ -1,13 +1,14 @@
 package com.direwolf20.justdirethings.common.entities;
 
 import com.direwolf20.justdirethings.setup.Registration;
+import com.direwolf20.justdirethings.util.PortalRegistry;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.protocol.game.ClientboundSetEntityMotionPacket;
 import net.minecraft.network.syncher.EntityDataAccessor;
 import net.minecraft.network.syncher.EntityDataSerializers;
 import net.minecraft.network.syncher.SynchedEntityData;
-import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundSource;
@@ -35,11 +36,13 @@ public class PortalEntity extends Entity {
     private UUID linkedPortalUUID;
     private boolean isAdvanced;
     private static final int TELEPORT_COOLDOWN = 10; // Cooldown period in ticks (1 second)
+    private static final int VELOCITY_TRACKING_TIME = 10; // How long we remember an entity's positions after it leaves the velocity box
+    private static final int PRUNE_INTERVAL = 100;
     public static int ANIMATION_COOLDOWN = 5;
-    public final Map<UUID, Integer> entityCooldowns = new HashMap<>();
-    public final Map<UUID, Integer> entityVelocityCooldowns = new HashMap<>();
-    public final Map<UUID, Vec3> entityLastPosition = new HashMap<>();
-    public final Map<UUID, Vec3> entityLastLastPosition = new HashMap<>();
+    //Game time each entity's teleport cooldown runs out at - expired entries are just ignored, and pruned now and then.
+    //Keyed by UUID rather than entity id, since entities crossing dimensions get a new id
+    public final Object2LongOpenHashMap<UUID> entityCooldowns = new Object2LongOpenHashMap<>();
+    public final Map<UUID, TrackedPosition> entityPositions = new HashMap<>();
     public int expirationTime = -99;
     public int deathCounter = 0;
     @Nullable
@@ -50,6 +53,21 @@ public class PortalEntity extends Entity {
     private static final EntityDataAccessor<Boolean> ISPRIMARY = SynchedEntityData.defineId(PortalEntity.class, EntityDataSerializers.BOOLEAN);
     private static final EntityDataAccessor<Boolean> ISDYING = SynchedEntityData.defineId(PortalEntity.class, EntityDataSerializers.BOOLEAN);
 
+    /**
+     * The last two positions of an entity near the portal, used to work out its velocity when it goes through
+     */
+    public static class TrackedPosition {
+        private Vec3 lastPosition;
+        private Vec3 lastLastPosition;
+        private long expiresAt;
+
+        private void record(Vec3 position, long expiresAt) {
+            this.lastLastPosition = this.lastPosition;
+            this.lastPosition = position;
+            this.expiresAt = expiresAt;
+        }
+    }
+
     public PortalEntity(EntityType<?> entityType, Level world) {
         super(entityType, world);
     }
@@ -100,23 +118,12 @@ public class PortalEntity extends Entity {
     }
 
     public void tickCooldowns() {
-        // Update cooldowns
-        entityVelocityCooldowns.entrySet().removeIf(entry -> {
-            if (entry.getValue() <= 0) {
-                entityLastPosition.remove(entry.getKey());
-                entityLastLastPosition.remove(entry.getKey());
-                return true;
-            }
-            entry.setValue(entry.getValue() - 1);
-            return false;
-        });
-        entityCooldowns.entrySet().removeIf(entry -> {
-            if (entry.getValue() <= 0) {
-                return true;
-            }
-            entry.setValue(entry.getValue() - 1);
-            return false;
-        });
+        // Cooldowns expire by themselves, just drop the stale entries every so often
+        long gameTime = level().getGameTime();
+        if (gameTime % PRUNE_INTERVAL == 0) {
+            entityCooldowns.object2LongEntrySet().removeIf(entry -> entry.getLongValue() <= gameTime);
+            entityPositions.values().removeIf(trackedPosition -> trackedPosition.expiresAt <= gameTime);
+        }
         if (isAdvanced && expirationTime > 0) {
             expirationTime = expirationTime - 1;
             if (expirationTime == 0) {
@@ -139,18 +146,29 @@ public class PortalEntity extends Entity {
     public void captureVelocity() {
         AABB boundingBox = getVelocityBoundingBox();
         List<Entity> entities = level().getEntities(this, boundingBox);
+        long gameTime = level().getGameTime();
         for (Entity entity : entities) {
-            UUID entityUUID = entity.getUUID();
             if (entity != this && isValidEntity(entity)) {
-                Vec3 currentPos = entity.position();
-                if (entityLastPosition.containsKey(entityUUID))
-                    entityLastLastPosition.put(entityUUID, entityLastPosition.get(entityUUID));
-                entityLastPosition.put(entityUUID, currentPos);
-                entityVelocityCooldowns.put(entityUUID, 10);
+                TrackedPosition trackedPosition = entityPositions.get(entity.getUUID());
+                if (trackedPosition == null) {
+                    trackedPosition = new TrackedPosition();
+                    entityPositions.put(entity.getUUID(), trackedPosition);
+                } else if (trackedPosition.expiresAt <= gameTime) {
+                    trackedPosition.lastPosition = null; //Left the box long enough ago that the old positions don't count any more
+                }
+                trackedPosition.record(entity.position(), gameTime + VELOCITY_TRACKING_TIME + 1);
             }
         }
     }
 
+    public boolean isOnCooldown(Entity entity) {
+        return entityCooldowns.getLong(entity.getUUID()) > level().getGameTime();
+    }
+
+    public void addCooldown(Entity entity) {
+        entityCooldowns.put(entity.getUUID(), level().getGameTime() + TELEPORT_COOLDOWN + 1);
+    }
+
     public AABB getVelocityBoundingBox() {
         return this.getBoundingBox().expandTowards(getDirection().getStepX() * 2.5, getDirection().getStepY() * 2.5, getDirection().getStepZ() * 2.5);
     }
@@ -233,6 +251,7 @@ public class PortalEntity extends Entity {
     public void onAddedToLevel() {
         super.onAddedToLevel();
         if (!level().isClientSide) {
+            PortalRegistry.add(this);
             ServerLevel serverLevel = (ServerLevel) this.level();
             ChunkPos chunkPos = new ChunkPos(this.blockPosition());
             Registration.TICKET_CONTROLLER.forceChunk(serverLevel, this, chunkPos.x, chunkPos.z, true, false);
@@ -250,6 +269,13 @@ public class PortalEntity extends Entity {
         }
     }
 
+    @Override
+    public void onRemovedFromLevel() {
+        super.onRemovedFromLevel();
+        if (!level().isClientSide)
+            PortalRegistry.remove(this);
+    }
+
     public void setDying() {
         this.entityData.set(ISDYING, true);
         level().playSound(
@@ -321,19 +347,15 @@ public class PortalEntity extends Entity {
         return new AABB(x - halfWidth, y, z - halfDepth, x + halfWidth, y + height, z + halfDepth);
     }
 
-    public PortalEntity findPartnerPortal(MinecraftServer server) {
-        for (ServerLevel serverLevel : server.getAllLevels()) {
-            List<? extends PortalEntity> customEntities = serverLevel.getEntities(Registration.PortalEntity.get(), k -> k.getUUID().equals(this.linkedPortalUUID));
-            if (!customEntities.isEmpty())
-                return customEntities.getFirst();
-        }
-        return null;
+    public PortalEntity findPartnerPortal() {
+        return PortalRegistry.get(this.linkedPortalUUID);
     }
 
     public PortalEntity getLinkedPortal() {
         if (level().isClientSide) return null;
-        if (linkedPortal == null && linkedPortalUUID != null) {
-            linkedPortal = findPartnerPortal(level().getServer());
+        //A cheap lookup, so a partner that isn't loaded is just looked for again next time. Also picks up the new entity if the partner was unloaded and loaded again
+        if ((linkedPortal == null || linkedPortal.isRemoved()) && linkedPortalUUID != null) {
+            linkedPortal = findPartnerPortal();
         }
         return linkedPortal;
     }
@@ -398,25 +420,21 @@ public class PortalEntity extends Entity {
 
     public Vec3 calculateVelocity(Entity entity) {
         Vec3 newMotion = Vec3.ZERO;
-        UUID entityUUID = entity.getUUID();
-        if (entityLastPosition.containsKey(entityUUID)) {
+        TrackedPosition trackedPosition = entityPositions.remove(entity.getUUID());
+        if (trackedPosition != null && trackedPosition.lastPosition != null && trackedPosition.expiresAt > level().getGameTime()) {
             double threshold = 0.2;
-            Vec3 previousPos = entityLastPosition.get(entityUUID);
+            Vec3 previousPos = trackedPosition.lastPosition;
             Vec3 currentPos = entity.position();
             // Calculate velocity based on position change and assuming a tick length of 1/20th of a second
             Vec3 thisVelocity = currentPos.subtract(previousPos);
             Vec3 lastVelocity = Vec3.ZERO;
-            if (entityLastLastPosition.containsKey(entityUUID)) {
-                Vec3 lastLastPos = entityLastLastPosition.get(entityUUID);
-                Vec3 lastPos = entityLastPosition.get(entityUUID);
-                lastVelocity = lastPos.subtract(lastLastPos);
+            if (trackedPosition.lastLastPosition != null) {
+                lastVelocity = trackedPosition.lastPosition.subtract(trackedPosition.lastLastPosition);
             }
             Vec3 velocity = lastVelocity.equals(Vec3.ZERO) ? thisVelocity : lastVelocity;
             if (Math.abs(velocity.x) > threshold || Math.abs(velocity.y) > threshold || Math.abs(velocity.z) > threshold || velocity.y > 0) {
                 newMotion = transformMotion(velocity, getDirection(), linkedPortal.getDirection().getOpposite());
             }
-            entityLastPosition.remove(entityUUID);
-            entityLastLastPosition.remove(entityUUID);
         }
         return newMotion;
     }
@@ -444,7 +462,7 @@ public class PortalEntity extends Entity {
                     else
                         ((ServerLevel) entity.level()).getChunkSource().broadcast(entity, new ClientboundSetEntityMotionPacket(entity));
                 }
-                linkedPortal.entityCooldowns.put(entity.getUUID(), TELEPORT_COOLDOWN); //Ensure it doesn't get teleported back!
+                linkedPortal.addCooldown(entity); //Ensure it doesn't get teleported back!
             }
         }
     }
@@ -452,7 +470,7 @@ public class PortalEntity extends Entity {
     public boolean isValidEntity(Entity entity) {
         if (entity.getType().equals(Registration.PortalEntity.get()))
             return false;
-        if (entityCooldowns.containsKey(entity.getUUID()))
+        if (isOnCooldown(entity))
             return false; // Skip entities with active cooldown
         if (entity.isMultipartEntity())
             return false;
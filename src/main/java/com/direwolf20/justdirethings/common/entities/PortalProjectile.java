@@ -2,6 +2,7 @@ package com.direwolf20.justdirethings.common.entities;
 
 import com.direwolf20.justdirethings.setup.Registration;
 import com.direwolf20.justdirethings.util.NBTHelpers;
+import com.direwolf20.justdirethings.util.PortalRegistry;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
@@ -20,7 +21,6 @@ import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -97,22 +97,14 @@ public class PortalProjectile extends Projectile {
     }
 
     protected List<? extends PortalEntity> findMatchingPortal(MinecraftServer server, boolean isPrimaryType) {
-        List<PortalEntity> returnList = new ArrayList<>();
-        for (ServerLevel serverLevel : server.getAllLevels()) {
-            List<? extends PortalEntity> customEntities = serverLevel.getEntities(Registration.PortalEntity.get(), k -> k.getPortalGunUUID().equals(portalGunUUID) && k.getIsPrimary() == isPrimaryType);
-            if (!customEntities.isEmpty())
-                returnList.addAll(customEntities);
-        }
+        List<PortalEntity> returnList = PortalRegistry.getByGun(portalGunUUID);
+        returnList.removeIf(k -> k.getIsPrimary() != isPrimaryType);
         return returnList;
     }
 
     public void closeMyPortals(MinecraftServer server) {
-        for (ServerLevel serverLevel : server.getAllLevels()) {
-            List<? extends PortalEntity> customEntities = serverLevel.getEntities(Registration.PortalEntity.get(), k -> k.getPortalGunUUID().equals(portalGunUUID));
-
-            for (PortalEntity entity : customEntities) {
-                entity.setDying();
-            }
+        for (PortalEntity entity : PortalRegistry.getByGun(portalGunUUID)) {
+            entity.setDying();
         }
     }
 
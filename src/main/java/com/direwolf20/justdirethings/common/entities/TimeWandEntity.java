@@ -2,6 +2,7 @@ package com.direwolf20.justdirethings.common.entities;
 
 import com.direwolf20.justdirethings.setup.Registration;
 import com.direwolf20.justdirethings.util.MiscTools;
+import com.direwolf20.justdirethings.util.TimeWandBudget;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtUtils;
@@ -18,6 +19,7 @@ public class TimeWandEntity extends Entity {
     private static final EntityDataAccessor<Integer> REMAINING_TIME = SynchedEntityData.defineId(TimeWandEntity.class, EntityDataSerializers.INT);
     private static final EntityDataAccessor<Integer> TOTAL_TIME = SynchedEntityData.defineId(TimeWandEntity.class, EntityDataSerializers.INT);
     private BlockPos blockPos;
+    private int remainingTime = 600; //Only synced to clients every second (or when changed), clients count it down themselves in between
 
     public TimeWandEntity(EntityType<? extends Entity> entityType, Level level) {
         super(entityType, level);
@@ -37,6 +39,8 @@ public class TimeWandEntity extends Entity {
                 this.remove(RemovalReason.DISCARDED);
             doExtraTicks();
             tickLife();
+        } else {
+            remainingTime--;
         }
     }
 
@@ -50,12 +54,23 @@ public class TimeWandEntity extends Entity {
 
     public void doExtraTicks() {
         if (level() instanceof ServerLevel serverLevel) { //Should always be true - mostly just getting serverlevel!
-            MiscTools.doExtraTicks(serverLevel, blockPos, getAccelerationRate());
+            long startTime = System.nanoTime();
+            boolean finished = MiscTools.doExtraTicks(serverLevel, blockPos, getAccelerationRate(), TimeWandBudget.getDeadline(serverLevel.getServer()));
+            TimeWandBudget.report(System.nanoTime() - startTime, !finished);
         }
     }
 
     public void tickLife() {
-        setRemainingTime(getRemainingTime() - 1);
+        remainingTime--;
+        if (remainingTime % 20 == 0 || remainingTime < 0)
+            this.entityData.set(REMAINING_TIME, remainingTime);
+    }
+
+    @Override
+    public void onSyncedDataUpdated(EntityDataAccessor<?> key) {
+        super.onSyncedDataUpdated(key);
+        if (REMAINING_TIME.equals(key))
+            remainingTime = this.entityData.get(REMAINING_TIME);
     }
 
     @Override
@@ -90,15 +105,16 @@ public class TimeWandEntity extends Entity {
     }
 
     public int getRemainingTime() {
-        return this.entityData.get(REMAINING_TIME);
+        return remainingTime;
     }
 
     public void setRemainingTime(int remainingTime) {
+        this.remainingTime = remainingTime;
         this.entityData.set(REMAINING_TIME, remainingTime);
     }
 
     public void addTime(int moreTime) {
-        this.entityData.set(REMAINING_TIME, getRemainingTime() + moreTime);
+        setRemainingTime(getRemainingTime() + moreTime);
         //this.entityData.set(TOTAL_TIME, getTotalTime() + moreTime);
     }
 
@@ -107,7 +123,7 @@ public class TimeWandEntity extends Entity {
         if (compound.contains("tickSpeed"))
             this.entityData.set(TICKSPEED, compound.getInt("tickSpeed"));
         if (compound.contains("remainingTime"))
-            this.entityData.set(REMAINING_TIME, compound.getInt("remainingTime"));
+            setRemainingTime(compound.getInt("remainingTime"));
         if (compound.contains("totalTime"))
             this.entityData.set(TOTAL_TIME, compound.getInt("totalTime"));
         if (compound.contains("blockpos"))
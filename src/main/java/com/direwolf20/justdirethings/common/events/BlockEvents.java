@@ -1,5 +1,6 @@
 package com.direwolf20.justdirethings.common.events;
 
+import com.direwolf20.justdirethings.common.capabilities.TransmitterNetworkManager;
 import com.direwolf20.justdirethings.common.items.interfaces.AbilityMethods;
 import com.direwolf20.justdirethings.common.items.interfaces.ToggleableItem;
 import com.direwolf20.justdirethings.common.items.interfaces.ToggleableTool;
@@ -8,6 +9,12 @@ import com.direwolf20.justdirethings.common.items.tools.CelestigemHoe;
 import com.direwolf20.justdirethings.common.items.tools.EclipseAlloyHoe;
 import com.direwolf20.justdirethings.common.items.tools.FerricoreHoe;
 import com.direwolf20.justdirethings.setup.Registration;
+import com.direwolf20.justdirethings.util.BlockChangeTracker;
+import com.direwolf20.justdirethings.util.EclipseGateReverts;
+import com.direwolf20.justdirethings.util.EntityTagCache;
+import com.direwolf20.justdirethings.util.MachineSync;
+import com.direwolf20.justdirethings.util.MiningSessionCache;
+import com.direwolf20.justdirethings.util.MobTargetIndex;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.Entity;
@@ -20,6 +27,9 @@ import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.common.ItemAbilities;
 import net.neoforged.neoforge.event.level.BlockDropsEvent;
 import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -81,4 +91,34 @@ public class BlockEvents {
             event.setCanceled(true);
         }
     }
+
+    @SubscribeEvent
+    public static void NeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        BlockChangeTracker.blockChanged(event.getLevel(), event.getPos());
+    }
+
+    @SubscribeEvent
+    public static void ChunkLoad(ChunkEvent.Load event) {
+        BlockChangeTracker.chunkLoaded(event.getLevel(), event.getChunk().getPos());
+        if (event.getLevel() instanceof ServerLevel serverLevel)
+            EclipseGateReverts.get(serverLevel).chunkLoaded(event.getChunk().getPos());
+    }
+
+    @SubscribeEvent
+    public static void LevelTick(LevelTickEvent.Post event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            EclipseGateReverts.get(serverLevel).tick(serverLevel);
+            MachineSync.flush(serverLevel);
+        }
+    }
+
+    @SubscribeEvent
+    public static void LevelUnload(LevelEvent.Unload event) {
+        BlockChangeTracker.levelUnloaded(event.getLevel());
+        MiningSessionCache.levelUnloaded(event.getLevel());
+        TransmitterNetworkManager.levelUnloaded(event.getLevel());
+        EntityTagCache.levelUnloaded(event.getLevel());
+        MachineSync.levelUnloaded(event.getLevel());
+        MobTargetIndex.levelUnloaded(event.getLevel());
+    }
 }
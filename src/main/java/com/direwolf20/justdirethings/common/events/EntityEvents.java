@@ -3,6 +3,8 @@ package com.direwolf20.justdirethings.common.events;
 import com.direwolf20.justdirethings.common.items.tools.basetools.BaseBow;
 import com.direwolf20.justdirethings.datagen.recipes.FluidDropRecipe;
 import com.direwolf20.justdirethings.setup.Registration;
+import com.direwolf20.justdirethings.util.CookingResultCache;
+import com.direwolf20.justdirethings.util.GooSpreadRecipeIndex;
 import net.minecraft.core.BlockPos;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
@@ -19,6 +21,7 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.client.event.RecipesUpdatedEvent;
 import net.neoforged.neoforge.event.AddReloadListenerEvent;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
 import net.neoforged.neoforge.event.entity.living.LivingEntityUseItemEvent;
 import net.neoforged.neoforge.event.server.ServerStartedEvent;
 import net.neoforged.neoforge.event.tick.EntityTickEvent;
@@ -87,6 +90,8 @@ public class EntityEvents {
 
     private static void clearCache() {
         fluidCraftCache.clear();
+        GooSpreadRecipeIndex.clear();
+        CookingResultCache.clear();
     }
 
     @SubscribeEvent
@@ -101,6 +106,15 @@ public class EntityEvents {
 
     @SubscribeEvent
     public static void onClientRecipesUpdated(RecipesUpdatedEvent e) {
-        clearCache();
+        //Fires on the client thread - CookingResultCache is server only, and clears itself when the server's RecipeManager changes
+        fluidCraftCache.clear();
+        GooSpreadRecipeIndex.clear();
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent e) {
+        GooSpreadRecipeIndex.clear(); //Tag recipes are indexed by the blocks in their tags
+        if (e.getUpdateCause() == TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD)
+            CookingResultCache.clear(); //Includes the auto smelt/smoke deny tags - server only, so not when the client receives tags
     }
 }
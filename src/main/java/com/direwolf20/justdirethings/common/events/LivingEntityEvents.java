@@ -4,6 +4,7 @@ import com.direwolf20.justdirethings.common.items.TotemOfDeathRecall;
 import com.direwolf20.justdirethings.common.items.armors.utils.ArmorTiers;
 import com.direwolf20.justdirethings.common.items.interfaces.*;
 import com.direwolf20.justdirethings.setup.Registration;
+import com.direwolf20.justdirethings.util.MiningSessionCache;
 import com.direwolf20.justdirethings.util.NBTHelpers;
 import com.direwolf20.justdirethings.util.UsefulFakePlayer;
 import net.minecraft.nbt.CompoundTag;
@@ -24,6 +25,7 @@ import net.minecraft.world.item.ItemStack;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.event.entity.EntityInvulnerabilityCheckEvent;
 import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
 import net.neoforged.neoforge.event.entity.living.*;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 import net.neoforged.neoforge.items.IItemHandler;
@@ -55,7 +57,7 @@ public class LivingEntityEvents {
                 }
             }
             if (chestplate.getItem() instanceof ToggleableTool toggleableTool && toggleableTool.hasAbility(Ability.INVULNERABILITY)) {
-                int activeCooldown = ToggleableTool.getCooldown(chestplate, Ability.INVULNERABILITY, true);
+                int activeCooldown = ToggleableTool.getCooldown(player.level(), chestplate, Ability.INVULNERABILITY, true);
                 if (activeCooldown == -1) return;
                 player.playNotifySound(SoundEvents.SHIELD_BLOCK, SoundSource.PLAYERS, 1.0F, 1.0F);
                 e.setInvulnerable(true);
@@ -70,7 +72,7 @@ public class LivingEntityEvents {
         if (target instanceof Player player) {
             ItemStack helmet = player.getItemBySlot(EquipmentSlot.HEAD);
             if (helmet.getItem() instanceof ToggleableTool toggleableTool) {
-                if (toggleableTool.canUseAbilityAndDurability(helmet, Ability.STUPEFY) && ToggleableTool.getCooldown(helmet, Ability.STUPEFY, true) != -1 && AbilityMethods.getStupefyTargets(helmet).contains(source.getStringUUID())) {
+                if (toggleableTool.canUseAbilityAndDurability(helmet, Ability.STUPEFY) && ToggleableTool.getCooldown(player.level(), helmet, Ability.STUPEFY, true) != -1 && AbilityMethods.getStupefyTargets(helmet).contains(source.getStringUUID())) {
                     e.setCanceled(true);
                 } else if (toggleableTool.canUseAbilityAndDurability(helmet, Ability.MINDFOG)) {
                     double distance = source.position().distanceTo(target.position());
@@ -106,6 +108,12 @@ public class LivingEntityEvents {
             e.setCanceled(true);
     }
 
+    @SubscribeEvent
+    public static void entityLeave(EntityLeaveLevelEvent e) {
+        if (e.getEntity() instanceof LivingEntity livingEntity)
+            MiningSessionCache.entityRemoved(livingEntity);
+    }
+
     @SubscribeEvent
     public static void LivingFallDamage(LivingFallEvent event) {
         if (event.getEntity() instanceof ServerPlayer player) {
@@ -219,11 +227,11 @@ public class LivingEntityEvents {
     public static void onPlayerDeath(LivingDeathEvent event) {
         if (event.getEntity() instanceof ServerPlayer player) {
             ItemStack chestplate = player.getItemBySlot(EquipmentSlot.CHEST);
-            int currentCooldown = ToggleableTool.getAnyCooldown(chestplate, Ability.DEATHPROTECTION);
+            int currentCooldown = ToggleableTool.getAnyCooldown(player.level(), chestplate, Ability.DEATHPROTECTION);
             if (currentCooldown == -1) {
                 if (chestplate.getItem() instanceof ToggleableTool toggleableTool && toggleableTool.canUseAbilityAndDurability(chestplate, Ability.DEATHPROTECTION)) {
                     AbilityParams abilityParams = toggleableTool.getAbilityParams(Ability.DEATHPROTECTION);
-                    ToggleableTool.addCooldown(chestplate, Ability.DEATHPROTECTION, abilityParams.cooldown, false);
+                    ToggleableTool.addCooldown(player.level(), chestplate, Ability.DEATHPROTECTION, abilityParams.cooldown, false);
                     player.playNotifySound(SoundEvents.TOTEM_USE, SoundSource.PLAYERS, 1.0F, 1.0F);
                     Helpers.damageTool(chestplate, player, Ability.DEATHPROTECTION);
                     player.setHealth(10.0F);
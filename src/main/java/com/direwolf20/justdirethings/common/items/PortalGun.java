@@ -6,9 +6,8 @@ import com.direwolf20.justdirethings.common.items.datacomponents.JustDireDataCom
 import com.direwolf20.justdirethings.common.items.interfaces.BasePoweredItem;
 import com.direwolf20.justdirethings.common.items.interfaces.PoweredItem;
 import com.direwolf20.justdirethings.setup.Config;
-import com.direwolf20.justdirethings.setup.Registration;
+import com.direwolf20.justdirethings.util.PortalRegistry;
 import net.minecraft.network.chat.Component;
-import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
@@ -19,7 +18,8 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.UseAnim;
 import net.minecraft.world.level.Level;
 
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 public class PortalGun extends BasePoweredItem implements PoweredItem {
@@ -57,13 +57,10 @@ public class PortalGun extends BasePoweredItem implements PoweredItem {
 
     public static void closeMyPortals(ServerLevel level, ItemStack itemStack, Player player) {
         UUID portalGunUUID = getUUID(itemStack);
-        MinecraftServer server = level.getServer();
-        for (ServerLevel serverLevel : server.getAllLevels()) {
-            List<? extends PortalEntity> customEntities = serverLevel.getEntities(Registration.PortalEntity.get(), k -> k.getOwner() == player.getUUID() || k.getPortalGunUUID().equals(portalGunUUID));
-
-            for (PortalEntity entity : customEntities) {
-                entity.setDying();
-            }
+        Set<PortalEntity> portals = new HashSet<>(PortalRegistry.getByOwner(player.getUUID()));
+        portals.addAll(PortalRegistry.getByGun(portalGunUUID));
+        for (PortalEntity entity : portals) {
+            entity.setDying();
         }
     }
 
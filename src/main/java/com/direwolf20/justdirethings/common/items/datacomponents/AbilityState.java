@@ -0,0 +1,285 @@
+package com.direwolf20.justdirethings.common.items.datacomponents;
+
+import com.direwolf20.justdirethings.common.items.interfaces.Ability;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.core.component.DataComponentPatch;
+import net.minecraft.core.component.DataComponentType;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Every per-ability setting of a tool packed into one immutable component - bitsets for the on/off flags and int arrays for the values,
+ * all indexed by ability ordinal. Saved by ability name, so adding abilities doesn't shuffle existing stacks.
+ * Replaces the separate _toggle, _value, _bindingmode, _custom_setting and _upgrade_installed components, which are migrated the first time the stack is written to.
+ */
+public final class AbilityState {
+    private static final Ability[] ABILITIES = Ability.values();
+    private static final int SIZE = ABILITIES.length;
+    private static final int WORDS = (SIZE + 63) >> 6;
+    private static final int FLAG_DISABLED = 1, FLAG_UPGRADED = 2, FLAG_HAS_VALUE = 4;
+
+    public static final AbilityState EMPTY = new AbilityState(new long[WORDS], new long[WORDS], new long[WORDS], new int[SIZE], new int[SIZE], new int[SIZE]);
+
+    private final long[] disabled;
+    private final long[] upgraded;
+    private final long[] hasValue;
+    private final int[] values;
+    private final int[] customSettings;
+    private final int[] bindingModes;
+    private final int hash;
+
+    private AbilityState(long[] disabled, long[] upgraded, long[] hasValue, int[] values, int[] customSettings, int[] bindingModes) {
+        this.disabled = disabled;
+        this.upgraded = upgraded;
+        this.hasValue = hasValue;
+        this.values = values;
+        this.customSettings = customSettings;
+        this.bindingModes = bindingModes;
+        this.hash = Objects.hash(Arrays.hashCode(disabled), Arrays.hashCode(upgraded), Arrays.hashCode(hasValue), Arrays.hashCode(values), Arrays.hashCode(customSettings), Arrays.hashCode(bindingModes));
+    }
+
+    private static boolean getBit(long[] bits, int index) {
+        return (bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    private static long[] withBit(long[] bits, int index, boolean value) {
+        long[] copy = bits.clone();
+        if (value)
+            copy[index >> 6] |= 1L << index;
+        else
+            copy[index >> 6] &= ~(1L << index);
+        return copy;
+    }
+
+    private static int[] withInt(int[] ints, int index, int value) {
+        int[] copy = ints.clone();
+        copy[index] = value;
+        return copy;
+    }
+
+    //Getters
+    public boolean isEnabled(Ability ability) {
+        return !getBit(disabled, ability.ordinal()); //Enabled by default
+    }
+
+    public boolean hasUpgrade(Ability ability) {
+        return getBit(upgraded, ability.ordinal());
+    }
+
+    public boolean hasValue(Ability ability) {
+        return getBit(hasValue, ability.ordinal());
+    }
+
+    public int getValue(Ability ability) {
+        return values[ability.ordinal()];
+    }
+
+    public int getCustomSetting(Ability ability) {
+        return customSettings[ability.ordinal()];
+    }
+
+    public int getBindingMode(Ability ability) {
+        return bindingModes[ability.ordinal()];
+    }
+
+    //Setters - these return a modified copy
+    public AbilityState withEnabled(Ability ability, boolean enabled) {
+        if (isEnabled(ability) == enabled) return this;
+        return new AbilityState(withBit(disabled, ability.ordinal(), !enabled), upgraded, hasValue, values, customSettings, bindingModes);
+    }
+
+    public AbilityState withUpgrade(Ability ability, boolean upgrade) {
+        if (hasUpgrade(ability) == upgrade) return this;
+        return new AbilityState(disabled, withBit(upgraded, ability.ordinal(), upgrade), hasValue, values, customSettings, bindingModes);
+    }
+
+    public AbilityState withValue(Ability ability, int value) {
+        if (hasValue(ability) && getValue(ability) == value) return this;
+        return new AbilityState(disabled, upgraded, withBit(hasValue, ability.ordinal(), true), withInt(values, ability.ordinal(), value), customSettings, bindingModes);
+    }
+
+    public AbilityState withCustomSetting(Ability ability, int value) {
+        if (getCustomSetting(ability) == value) return this;
+        return new AbilityState(disabled, upgraded, hasValue, values, withInt(customSettings, ability.ordinal(), value), bindingModes);
+    }
+
+    public AbilityState withBindingMode(Ability ability, int mode) {
+        if (getBindingMode(ability) == mode) return this;
+        return new AbilityState(disabled, upgraded, hasValue, values, customSettings, withInt(bindingModes, ability.ordinal(), mode));
+    }
+
+    private int getFlags(int index) {
+        return (getBit(disabled, index) ? FLAG_DISABLED : 0) | (getBit(upgraded, index) ? FLAG_UPGRADED : 0) | (getBit(hasValue, index) ? FLAG_HAS_VALUE : 0);
+    }
+
+    private boolean isDefault(int index) {
+        return getFlags(index) == 0 && values[index] == 0 && customSettings[index] == 0 && bindingModes[index] == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AbilityState that)) return false;
+        return hash == that.hash && Arrays.equals(disabled, that.disabled) && Arrays.equals(upgraded, that.upgraded) && Arrays.equals(hasValue, that.hasValue)
+                && Arrays.equals(values, that.values) && Arrays.equals(customSettings, that.customSettings) && Arrays.equals(bindingModes, that.bindingModes);
+    }
+
+    //Reading and writing stacks
+    public static AbilityState get(ItemStack stack) {
+        AbilityState abilityState = stack.get(JustDireDataComponents.ABILITY_STATE);
+        if (abilityState != null) return abilityState;
+        return fromLegacy(stack);
+    }
+
+    public static void update(ItemStack stack, UnaryOperator<AbilityState> updater) {
+        AbilityState abilityState = get(stack);
+        removeLegacy(stack);
+        stack.set(JustDireDataComponents.ABILITY_STATE, updater.apply(abilityState));
+    }
+
+    //Migration from the old one-component-per-setting format
+    private enum LegacyKind {TOGGLE, VALUE, BINDING_MODE, CUSTOM_SETTING, UPGRADE}
+
+    private record LegacyKey(Ability ability, LegacyKind kind) {
+    }
+
+    private static Map<DataComponentType<?>, LegacyKey> legacyTypes;
+
+    private static Map<DataComponentType<?>, LegacyKey> getLegacyTypes() {
+        if (legacyTypes == null) {
+            Map<DataComponentType<?>, LegacyKey> types = new IdentityHashMap<>();
+            JustDireDataComponents.ABILITY_TOGGLES.forEach((ability, holder) -> types.put(holder.get(), new LegacyKey(ability, LegacyKind.TOGGLE)));
+            JustDireDataComponents.ABILITY_VALUES.forEach((ability, holder) -> types.put(holder.get(), new LegacyKey(ability, LegacyKind.VALUE)));
+            JustDireDataComponents.ABILITY_BINDING_MODES.forEach((ability, holder) -> types.put(holder.get(), new LegacyKey(ability, LegacyKind.BINDING_MODE)));
+            JustDireDataComponents.ABILITY_CUSTOM_SETTINGS.forEach((ability, holder) -> types.put(holder.get(), new LegacyKey(ability, LegacyKind.CUSTOM_SETTING)));
+            JustDireDataComponents.ABILITY_UPGRADE_INSTALLS.forEach((ability, holder) -> types.put(holder.get(), new LegacyKey(ability, LegacyKind.UPGRADE)));
+            legacyTypes = types;
+        }
+        return legacyTypes;
+    }
+
+    /**
+     * Builds the state from any old style components on the stack - only walks the stack's own patch, so stacks without old data are cheap
+     */
+    private static AbilityState fromLegacy(ItemStack stack) {
+        DataComponentPatch patch = stack.getComponentsPatch();
+        if (patch.isEmpty()) return EMPTY;
+        Map<DataComponentType<?>, LegacyKey> types = getLegacyTypes();
+        AbilityState abilityState = EMPTY;
+        for (Map.Entry<DataComponentType<?>, Optional<?>> entry : patch.entrySet()) {
+            LegacyKey legacyKey = types.get(entry.getKey());
+            if (legacyKey == null || entry.getValue().isEmpty()) continue;
+            Object value = entry.getValue().get();
+            abilityState = switch (legacyKey.kind()) {
+                case TOGGLE -> abilityState.withEnabled(legacyKey.ability(), (Boolean) value);
+                case VALUE -> abilityState.withValue(legacyKey.ability(), (Integer) value);
+                case BINDING_MODE -> abilityState.withBindingMode(legacyKey.ability(), (Integer) value);
+                case CUSTOM_SETTING -> abilityState.withCustomSetting(legacyKey.ability(), (Integer) value);
+                case UPGRADE -> abilityState.withUpgrade(legacyKey.ability(), (Boolean) value);
+            };
+        }
+        return abilityState;
+    }
+
+    private static void removeLegacy(ItemStack stack) {
+        DataComponentPatch patch = stack.getComponentsPatch();
+        if (patch.isEmpty()) return;
+        Map<DataComponentType<?>, LegacyKey> types = getLegacyTypes();
+        List<DataComponentType<?>> toRemove = new ArrayList<>();
+        for (Map.Entry<DataComponentType<?>, Optional<?>> entry : patch.entrySet()) {
+            if (types.containsKey(entry.getKey()))
+                toRemove.add(entry.getKey());
+        }
+        toRemove.forEach(stack::remove);
+    }
+
+    //Codecs - saved as a list of non-default abilities by name, synced as a list of non-default abilities by ordinal
+    private record Entry(String ability, boolean enabled, boolean upgraded, Optional<Integer> value, int customSetting, int bindingMode) {
+        public static final Codec<Entry> CODEC = RecordCodecBuilder.create(
+                instance -> instance.group(
+                                Codec.STRING.fieldOf("ability").forGetter(Entry::ability),
+                                Codec.BOOL.optionalFieldOf("enabled", true).forGetter(Entry::enabled),
+                                Codec.BOOL.optionalFieldOf("upgraded", false).forGetter(Entry::upgraded),
+                                Codec.INT.optionalFieldOf("value").forGetter(Entry::value),
+                                Codec.INT.optionalFieldOf("custom_setting", 0).forGetter(Entry::customSetting),
+                                Codec.INT.optionalFieldOf("binding_mode", 0).forGetter(Entry::bindingMode)
+                        )
+                        .apply(instance, Entry::new)
+        );
+    }
+
+    private static AbilityState fromEntries(List<Entry> entries) {
+        AbilityState abilityState = EMPTY;
+        for (Entry entry : entries) {
+            Ability ability;
+            try {
+                ability = Ability.byName(entry.ability());
+            } catch (IllegalArgumentException e) {
+                continue; //An ability that no longer exists
+            }
+            abilityState = abilityState.withEnabled(ability, entry.enabled()).withUpgrade(ability, entry.upgraded()).withCustomSetting(ability, entry.customSetting()).withBindingMode(ability, entry.bindingMode());
+            if (entry.value().isPresent())
+                abilityState = abilityState.withValue(ability, entry.value().get());
+        }
+        return abilityState;
+    }
+
+    private List<Entry> toEntries() {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            if (isDefault(i)) continue;
+            entries.add(new Entry(ABILITIES[i].getName(), !getBit(disabled, i), getBit(upgraded, i), getBit(hasValue, i) ? Optional.of(values[i]) : Optional.empty(), customSettings[i], bindingModes[i]));
+        }
+        return entries;
+    }
+
+    public static final Codec<AbilityState> CODEC = Entry.CODEC.listOf().xmap(AbilityState::fromEntries, AbilityState::toEntries);
+
+    public static final StreamCodec<ByteBuf, AbilityState> STREAM_CODEC = new StreamCodec<>() {
+        @Override
+        public AbilityState decode(ByteBuf buf) {
+            long[] disabled = new long[WORDS], upgraded = new long[WORDS], hasValue = new long[WORDS];
+            int[] values = new int[SIZE], customSettings = new int[SIZE], bindingModes = new int[SIZE];
+            int count = ByteBufCodecs.VAR_INT.decode(buf);
+            for (int i = 0; i < count; i++) {
+                int index = ByteBufCodecs.VAR_INT.decode(buf);
+                int flags = buf.readByte();
+                if ((flags & FLAG_DISABLED) != 0) disabled[index >> 6] |= 1L << index;
+                if ((flags & FLAG_UPGRADED) != 0) upgraded[index >> 6] |= 1L << index;
+                if ((flags & FLAG_HAS_VALUE) != 0) hasValue[index >> 6] |= 1L << index;
+                values[index] = ByteBufCodecs.VAR_INT.decode(buf);
+                customSettings[index] = ByteBufCodecs.VAR_INT.decode(buf);
+                bindingModes[index] = ByteBufCodecs.VAR_INT.decode(buf);
+            }
+            return new AbilityState(disabled, upgraded, hasValue, values, customSettings, bindingModes);
+        }
+
+        @Override
+        public void encode(ByteBuf buf, AbilityState abilityState) {
+            int count = 0;
+            for (int i = 0; i < SIZE; i++) {
+                if (!abilityState.isDefault(i)) count++;
+            }
+            ByteBufCodecs.VAR_INT.encode(buf, count);
+            for (int i = 0; i < SIZE; i++) {
+                if (abilityState.isDefault(i)) continue;
+                ByteBufCodecs.VAR_INT.encode(buf, i);
+                buf.writeByte(abilityState.getFlags(i));
+                ByteBufCodecs.VAR_INT.encode(buf, abilityState.values[i]);
+                ByteBufCodecs.VAR_INT.encode(buf, abilityState.customSettings[i]);
+                ByteBufCodecs.VAR_INT.encode(buf, abilityState.bindingModes[i]);
+            }
+        }
+    };
+}
@@ -1,7 +1,6 @@
 package com.direwolf20.justdirethings.common.items.interfaces;
 
 import com.direwolf20.justdirethings.client.renderactions.ThingFinder;
-import com.direwolf20.justdirethings.common.blockentities.EclipseGateBE;
 import com.direwolf20.justdirethings.common.entities.DecoyEntity;
 import com.direwolf20.justdirethings.common.events.BlockEvents;
 import com.direwolf20.justdirethings.common.items.datacomponents.JustDireDataComponents;
@@ -11,6 +10,7 @@ import com.direwolf20.justdirethings.datagen.JustDireBlockTags;
 import com.direwolf20.justdirethings.datagen.JustDireEntityTags;
 import com.direwolf20.justdirethings.setup.Config;
 import com.direwolf20.justdirethings.setup.Registration;
+import com.direwolf20.justdirethings.util.EclipseGateReverts;
 import com.direwolf20.justdirethings.util.MiscTools;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -152,6 +152,7 @@ public class AbilityMethods {
         if (level.isClientSide) return true;
         int distance = ToggleableTool.getToolValue(pStack, Ability.ECLIPSEGATE.getName());
         Set<BlockPos> posList = getEclipseGateBlocks(pContext, distance);
+        EclipseGateReverts eclipseGateReverts = EclipseGateReverts.get((ServerLevel) level);
         boolean anyWorked = false;
         for (BlockPos blockPos : posList) {
             if (testUseTool(pStack, Ability.ECLIPSEGATE) < 0)
@@ -160,10 +161,7 @@ public class AbilityMethods {
             boolean placed = level.setBlockAndUpdate(blockPos, Registration.EclipseGateBlock.get().defaultBlockState());
             if (!placed) continue;
             level.sendBlockUpdated(blockPos, blockState, Registration.EclipseGateBlock.get().defaultBlockState(), 3);
-            BlockEntity be = level.getBlockEntity(blockPos);
-            if (be instanceof EclipseGateBE eclipseGateBE) {
-                eclipseGateBE.setSourceBlock(blockState);
-            }
+            eclipseGateReverts.schedule((ServerLevel) level, blockPos, blockState, EclipseGateReverts.LIFETIME);
             damageTool(pStack, pContext.getPlayer(), Ability.ECLIPSEGATE);
             anyWorked = true;
         }
@@ -294,11 +292,11 @@ public class AbilityMethods {
             return false;
         if (player.getHealth() >= player.getMaxHealth()) return false;
         if (!level.isClientSide) {
-            int currentCooldown = ToggleableTool.getAnyCooldown(itemStack, Ability.CAUTERIZEWOUNDS);
+            int currentCooldown = ToggleableTool.getAnyCooldown(level, itemStack, Ability.CAUTERIZEWOUNDS);
             if (currentCooldown != -1) return false;
             if (itemStack.getItem() instanceof ToggleableTool toggleableTool && toggleableTool.canUseAbilityAndDurability(itemStack, Ability.CAUTERIZEWOUNDS)) {
                 AbilityParams abilityParams = toggleableTool.getAbilityParams(Ability.CAUTERIZEWOUNDS);
-                ToggleableTool.addCooldown(itemStack, Ability.CAUTERIZEWOUNDS, abilityParams.cooldown, false);
+                ToggleableTool.addCooldown(level, itemStack, Ability.CAUTERIZEWOUNDS, abilityParams.cooldown, false);
                 player.heal(6f);
                 player.playNotifySound(SoundEvents.LAVA_EXTINGUISH, SoundSource.PLAYERS, 1.0F, 1.0F);
                 Random random = new Random();
@@ -427,11 +425,11 @@ public class AbilityMethods {
     public static boolean extinguish(Level level, Player player, ItemStack itemStack) {
         if (level.isClientSide) return false;
         if (player.isOnFire() && ((ServerPlayer) player).gameMode.isSurvival()) {
-            int currentCooldown = ToggleableTool.getAnyCooldown(itemStack, Ability.EXTINGUISH);
+            int currentCooldown = ToggleableTool.getAnyCooldown(level, itemStack, Ability.EXTINGUISH);
             if (currentCooldown != -1) return false;
             if (itemStack.getItem() instanceof ToggleableTool toggleableTool && toggleableTool.canUseAbilityAndDurability(itemStack, Ability.EXTINGUISH)) {
                 AbilityParams abilityParams = toggleableTool.getAbilityParams(Ability.EXTINGUISH);
-                ToggleableTool.addCooldown(itemStack, Ability.EXTINGUISH, abilityParams.cooldown, false);
+                ToggleableTool.addCooldown(level, itemStack, Ability.EXTINGUISH, abilityParams.cooldown, false);
                 player.clearFire();
                 player.playNotifySound(SoundEvents.LAVA_EXTINGUISH, SoundSource.PLAYERS, .5F, 1.0F);
                 ((ServerLevel) level).sendParticles(ParticleTypes.SOUL_FIRE_FLAME, player.getX(), player.getY(), player.getZ(), 20, 0.5, 1.5, 0.5, 0);
@@ -443,11 +441,11 @@ public class AbilityMethods {
 
     public static boolean invulnerability(Level level, Player player, ItemStack itemStack) {
         if (level.isClientSide) return false;
-        int currentCooldown = ToggleableTool.getAnyCooldown(itemStack, Ability.INVULNERABILITY);
+        int currentCooldown = ToggleableTool.getAnyCooldown(level, itemStack, Ability.INVULNERABILITY);
         if (currentCooldown != -1) return false;
         if (itemStack.getItem() instanceof ToggleableTool toggleableTool && toggleableTool.canUseAbilityAndDurability(itemStack, Ability.INVULNERABILITY)) {
             AbilityParams abilityParams = toggleableTool.getAbilityParams(Ability.INVULNERABILITY);
-            ToggleableTool.addCooldown(itemStack, Ability.INVULNERABILITY, abilityParams.activeCooldown, true);
+            ToggleableTool.addCooldown(level, itemStack, Ability.INVULNERABILITY, abilityParams.activeCooldown, true);
             player.playNotifySound(SoundEvents.CONDUIT_ACTIVATE, SoundSource.PLAYERS, 1.0F, 1.0F);
             Helpers.damageTool(itemStack, player, Ability.INVULNERABILITY);
         }
@@ -456,7 +454,7 @@ public class AbilityMethods {
 
     public static boolean stupefy(Level level, Player player, ItemStack itemStack) {
         if (level.isClientSide) return false;
-        int currentCooldown = ToggleableTool.getAnyCooldown(itemStack, Ability.STUPEFY);
+        int currentCooldown = ToggleableTool.getAnyCooldown(level, itemStack, Ability.STUPEFY);
         if (currentCooldown != -1) return false;
         if (itemStack.getItem() instanceof ToggleableTool toggleableTool && toggleableTool.canUseAbilityAndDurability(itemStack, Ability.STUPEFY)) {
             Entity entity = MiscTools.getEntityLookedAt(player, 32);
@@ -464,7 +462,7 @@ public class AbilityMethods {
                 addStupefyTarget(itemStack, entity.getStringUUID());
                 mob.setTarget(null);
                 AbilityParams abilityParams = toggleableTool.getAbilityParams(Ability.STUPEFY);
-                ToggleableTool.addCooldown(itemStack, Ability.STUPEFY, abilityParams.activeCooldown, true);
+                ToggleableTool.addCooldown(level, itemStack, Ability.STUPEFY, abilityParams.activeCooldown, true);
                 player.playNotifySound(SoundEvents.ILLUSIONER_CAST_SPELL, SoundSource.PLAYERS, 0.5F, 0.75F);
                 ((ServerLevel) level).sendParticles(ParticleTypes.WHITE_SMOKE, mob.getX(), mob.getEyeY(), mob.getZ(), 20, 0.25, 0.2, 0.25, 0);
                 Helpers.damageTool(itemStack, player, Ability.STUPEFY);
@@ -567,11 +565,11 @@ public class AbilityMethods {
 
     public static boolean groundstomp(Level level, Player player, ItemStack itemStack) {
         if (level.isClientSide) return false;
-        int currentCooldown = ToggleableTool.getAnyCooldown(itemStack, Ability.GROUNDSTOMP);
+        int currentCooldown = ToggleableTool.getAnyCooldown(level, itemStack, Ability.GROUNDSTOMP);
         if (currentCooldown != -1) return false;
         if (itemStack.getItem() instanceof ToggleableTool toggleableTool && toggleableTool.canUseAbilityAndDurability(itemStack, Ability.GROUNDSTOMP)) {
             AbilityParams abilityParams = toggleableTool.getAbilityParams(Ability.GROUNDSTOMP);
-            ToggleableTool.addCooldown(itemStack, Ability.GROUNDSTOMP, abilityParams.cooldown, false);
+            ToggleableTool.addCooldown(level, itemStack, Ability.GROUNDSTOMP, abilityParams.cooldown, false);
             int radius = 3;
             AABB aabb = new AABB(player.getX() - radius, player.getY() - radius, player.getZ() - radius,
                     player.getX() + radius, player.getY() + radius, player.getZ() + radius);
@@ -600,7 +598,7 @@ public class AbilityMethods {
 
     public static boolean decoy(Level level, Player player, ItemStack itemStack) {
         if (level.isClientSide) return false;
-        int currentCooldown = ToggleableTool.getAnyCooldown(itemStack, Ability.DECOY);
+        int currentCooldown = ToggleableTool.getAnyCooldown(level, itemStack, Ability.DECOY);
         if (currentCooldown != -1) return false;
         if (itemStack.getItem() instanceof ToggleableTool toggleableTool && toggleableTool.canUseAbilityAndDurability(itemStack, Ability.DECOY)) {
             AbilityParams abilityParams = toggleableTool.getAbilityParams(Ability.DECOY);
@@ -609,7 +607,7 @@ public class AbilityMethods {
             decoy.setSummonerName(player.getName().getString());
             decoy.setOwnerUUID(player.getUUID());
             level.addFreshEntity(decoy);
-            ToggleableTool.addCooldown(itemStack, Ability.DECOY, abilityParams.activeCooldown, true);
+            ToggleableTool.addCooldown(level, itemStack, Ability.DECOY, abilityParams.activeCooldown, true);
             player.playNotifySound(SoundEvents.EVOKER_PREPARE_SUMMON, SoundSource.PLAYERS, 1.0F, 1.0F);
             Helpers.damageTool(itemStack, player, Ability.DECOY);
 
@@ -619,11 +617,11 @@ public class AbilityMethods {
 
     public static boolean debuffRemover(Level level, Player player, ItemStack itemStack) {
         if (level.isClientSide) return false;
-        int currentCooldown = ToggleableTool.getAnyCooldown(itemStack, Ability.DEBUFFREMOVER);
+        int currentCooldown = ToggleableTool.getAnyCooldown(level, itemStack, Ability.DEBUFFREMOVER);
         if (currentCooldown != -1) return false;
         if (itemStack.getItem() instanceof ToggleableTool toggleableTool && toggleableTool.canUseAbilityAndDurability(itemStack, Ability.DEBUFFREMOVER)) {
             AbilityParams abilityParams = toggleableTool.getAbilityParams(Ability.DEBUFFREMOVER);
-            ToggleableTool.addCooldown(itemStack, Ability.DEBUFFREMOVER, abilityParams.cooldown, false);
+            ToggleableTool.addCooldown(level, itemStack, Ability.DEBUFFREMOVER, abilityParams.cooldown, false);
             player.playNotifySound(SoundEvents.WANDERING_TRADER_DRINK_MILK, SoundSource.PLAYERS, 1.0F, 1.0F);
             List<Holder<MobEffect>> negativeEffects = new ArrayList<>();
             for (Holder<MobEffect> mobEffect : player.getActiveEffectsMap().keySet()) {
@@ -642,11 +640,11 @@ public class AbilityMethods {
 
     public static boolean earthquake(Level level, Player player, ItemStack itemStack) {
         if (level.isClientSide) return false;
-        int currentCooldown = ToggleableTool.getAnyCooldown(itemStack, Ability.EARTHQUAKE);
+        int currentCooldown = ToggleableTool.getAnyCooldown(level, itemStack, Ability.EARTHQUAKE);
         if (currentCooldown != -1) return false;
         if (itemStack.getItem() instanceof ToggleableTool toggleableTool && toggleableTool.canUseAbilityAndDurability(itemStack, Ability.EARTHQUAKE)) {
             AbilityParams abilityParams = toggleableTool.getAbilityParams(Ability.EARTHQUAKE);
-            ToggleableTool.addCooldown(itemStack, Ability.EARTHQUAKE, abilityParams.activeCooldown, true);
+            ToggleableTool.addCooldown(level, itemStack, Ability.EARTHQUAKE, abilityParams.activeCooldown, true);
             player.playNotifySound(SoundEvents.MACE_SMASH_GROUND_HEAVY, SoundSource.PLAYERS, 1.0F, 0.5F);
             int radius = 5;
             AABB aabb = new AABB(player.getX() - radius, player.getY() - radius, player.getZ() - radius,
@@ -668,11 +666,11 @@ public class AbilityMethods {
 
     public static boolean noAI(Level level, Player player, ItemStack itemStack) {
         if (level.isClientSide) return false;
-        int currentCooldown = ToggleableTool.getAnyCooldown(itemStack, Ability.NOAI);
+        int currentCooldown = ToggleableTool.getAnyCooldown(level, itemStack, Ability.NOAI);
         if (currentCooldown != -1) return false;
         if (itemStack.getItem() instanceof ToggleableTool toggleableTool && toggleableTool.canUseAbilityAndDurability(itemStack, Ability.NOAI)) {
             AbilityParams abilityParams = toggleableTool.getAbilityParams(Ability.NOAI);
-            ToggleableTool.addCooldown(itemStack, Ability.NOAI, abilityParams.cooldown, false);
+            ToggleableTool.addCooldown(level, itemStack, Ability.NOAI, abilityParams.cooldown, false);
             int radius = 5;
             AABB aabb = new AABB(player.getX() - radius, player.getY() - radius, player.getZ() - radius,
                     player.getX() + radius, player.getY() + radius, player.getZ() + radius);
@@ -695,7 +693,7 @@ public class AbilityMethods {
 
     public static boolean epicArrow(Level level, Player player, ItemStack itemStack) {
         if (level.isClientSide) return false;
-        int currentCooldown = ToggleableTool.getAnyCooldown(itemStack, Ability.EPICARROW);
+        int currentCooldown = ToggleableTool.getAnyCooldown(level, itemStack, Ability.EPICARROW);
         if (currentCooldown != -1) return false;
         if (itemStack.getItem() instanceof ToggleableTool toggleableTool && toggleableTool.canUseAbilityAndDurability(itemStack, Ability.EPICARROW) && !itemStack.getOrDefault(JustDireDataComponents.EPIC_ARROW, false)) {
             itemStack.set(JustDireDataComponents.EPIC_ARROW, true);
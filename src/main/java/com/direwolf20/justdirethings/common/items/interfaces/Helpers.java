@@ -2,13 +2,13 @@ package com.direwolf20.justdirethings.common.items.interfaces;
 
 import com.direwolf20.justdirethings.client.particles.itemparticle.ItemFlowParticleData;
 import com.direwolf20.justdirethings.common.items.datacomponents.JustDireDataComponents;
-import com.direwolf20.justdirethings.datagen.JustDireItemTags;
 import com.direwolf20.justdirethings.setup.Registration;
+import com.direwolf20.justdirethings.util.CookingResultCache;
+import com.direwolf20.justdirethings.util.FloodFill;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.core.RegistryAccess;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvents;
@@ -278,40 +278,25 @@ public class Helpers {
     }
 
     public static ItemStack getSmeltedItem(Level level, ItemStack itemStack) {
-        RegistryAccess registryAccess = level.registryAccess();
-        RecipeManager recipeManager = level.getRecipeManager();
-        ItemStack returnStack = ItemStack.EMPTY;
-        Optional<RecipeHolder<SmeltingRecipe>> smeltingRecipe = recipeManager.getRecipeFor(RecipeType.SMELTING, new SingleRecipeInput(itemStack), level);
-        if (smeltingRecipe.isPresent() && !itemStack.is(JustDireItemTags.AUTO_SMELT_DENY))
-            returnStack = smeltingRecipe.get().value().getResultItem(registryAccess);
+        ItemStack returnStack = CookingResultCache.getSmeltingResult(level, itemStack);
         if (returnStack.isEmpty()) return itemStack;
         return returnStack;
     }
 
     public static List<ItemStack> smeltDrops(ServerLevel level, List<ItemStack> drops, ItemStack tool, LivingEntity entityLiving, boolean[] didISmelt) {
         List<ItemStack> returnList = new ArrayList<>();
-        RegistryAccess registryAccess = level.registryAccess();
-        RecipeManager recipeManager = level.getRecipeManager();
         didISmelt[0] = false;
         for (ItemStack drop : drops) {
-            // Check if there's a smelting recipe for the drop
-            Optional<RecipeHolder<SmeltingRecipe>> smeltingRecipe = recipeManager.getRecipeFor(RecipeType.SMELTING, new SingleRecipeInput(drop), level);
-
-            if (smeltingRecipe.isPresent() && !drop.is(JustDireItemTags.AUTO_SMELT_DENY)) {
-                // Get the result of the smelting recipe
-                ItemStack smeltedResult = smeltingRecipe.get().value().getResultItem(registryAccess);
-
-                if (!smeltedResult.isEmpty() && (testUseTool(tool, Ability.SMELTER, drop.getCount()) >= 0)) {
-                    // If the smelting result is valid, prepare to replace the original drop with the smelted result
-                    ItemStack resultStack = smeltedResult.copy();
-                    resultStack.setCount(drop.getCount()); // Assume all items in the stack are smelted
-                    if (!tool.isEmpty())
-                        damageTool(tool, entityLiving, Ability.SMELTER, drop.getCount());
-                    returnList.add(resultStack);
-                    didISmelt[0] = true;
-                } else {
-                    returnList.add(drop);
-                }
+            // Check if there's a smelting result for the drop
+            ItemStack smeltedResult = CookingResultCache.getSmeltingResult(level, drop);
+
+            if (!smeltedResult.isEmpty() && (testUseTool(tool, Ability.SMELTER, drop.getCount()) >= 0)) {
+                // If the smelting result is valid, prepare to replace the original drop with the smelted result
+                ItemStack resultStack = smeltedResult.copyWithCount(drop.getCount()); // Assume all items in the stack are smelted
+                if (!tool.isEmpty())
+                    damageTool(tool, entityLiving, Ability.SMELTER, drop.getCount());
+                returnList.add(resultStack);
+                didISmelt[0] = true;
             } else {
                 returnList.add(drop);
             }
@@ -320,25 +305,17 @@ public class Helpers {
     }
 
     public static void smokeDrop(ServerLevel level, ItemEntity drop, ItemStack tool, LivingEntity entityLiving, boolean[] didISmoke) {
-        RegistryAccess registryAccess = level.registryAccess();
-        RecipeManager recipeManager = level.getRecipeManager();
         didISmoke[0] = false;
 
-        // Check if there's a smoking recipe for the drop
-        Optional<RecipeHolder<SmokingRecipe>> smokingRecipe = recipeManager.getRecipeFor(RecipeType.SMOKING, new SingleRecipeInput(drop.getItem()), level);
-
-        if (smokingRecipe.isPresent() && !drop.getItem().is(JustDireItemTags.AUTO_SMOKE_DENY)) {
-            // Get the result of the smoking recipe
-            ItemStack smokedResults = smokingRecipe.get().value().getResultItem(registryAccess);
+        // Check if there's a smoking result for the drop
+        ItemStack smokedResults = CookingResultCache.getSmokingResult(level, drop.getItem());
 
-            if (!smokedResults.isEmpty() && (testUseTool(tool, Ability.SMOKER, drop.getItem().getCount()) >= 0)) {
-                didISmoke[0] = true;
-                smokedResults.setCount(drop.getItem().getCount()); // Assume all items in the stack are smoked
-                // If the smoking result is valid, replace the original drop with the smoked result
-                drop.setItem(smokedResults.copy());
-                if (!tool.isEmpty())
-                    damageTool(tool, entityLiving, Ability.SMOKER, drop.getItem().getCount());
-            }
+        if (!smokedResults.isEmpty() && (testUseTool(tool, Ability.SMOKER, drop.getItem().getCount()) >= 0)) {
+            didISmoke[0] = true;
+            // If the smoking result is valid, replace the original drop with the smoked result
+            drop.setItem(smokedResults.copyWithCount(drop.getItem().getCount())); // Assume all items in the stack are smoked
+            if (!tool.isEmpty())
+                damageTool(tool, entityLiving, Ability.SMOKER, drop.getItem().getCount());
         }
     }
 
@@ -397,34 +374,7 @@ public class Helpers {
      * Basically a veinminer
      */
     private static Set<BlockPos> findBlocks(Level pLevel, BlockState pState, BlockPos pPos, int maxBreak, int radius) {
-        Set<BlockPos> foundBlocks = new HashSet<>(); //The matching Blocks
-        Queue<BlockPos> blocksToCheck = new LinkedList<>(); //A list of blocks to check around
-        Set<BlockPos> checkedBlocks = new HashSet<>(); //A list of blocks we already checked
-
-        foundBlocks.add(pPos); //Obviously the block we broke is included in the return!
-        blocksToCheck.add(pPos); //Start scanning around the block we broke
-
-        while (!blocksToCheck.isEmpty()) {
-            BlockPos posToCheck = blocksToCheck.poll(); //Get the next blockPos to scan around
-
-            if (!checkedBlocks.add(posToCheck))
-                continue; //Don't check blockPos we've checked before
-
-            Set<BlockPos> matchingBlocks = BlockPos.betweenClosedStream(posToCheck.offset(-radius, -radius, -radius), posToCheck.offset(radius, radius, radius))
-                    .filter(blockPos -> pLevel.getBlockState(blockPos).is(pState.getBlock()))
-                    .map(BlockPos::immutable)
-                    .collect(Collectors.toSet());
-
-            for (BlockPos toAdd : matchingBlocks) { //Ensure we don't go beyond maxBreak
-                if (foundBlocks.size() < maxBreak) {
-                    foundBlocks.add(toAdd); //Add all the blocks we found to our set of found blocks
-                    if (!checkedBlocks.contains(toAdd))
-                        blocksToCheck.add(toAdd); //Add all the blocks we found to be checked as well
-                } else
-                    return foundBlocks;
-            }
-        }
-        return foundBlocks;
+        return FloodFill.find(pLevel, pPos, true, maxBreak, radius, blockState -> blockState.is(pState.getBlock()) ? FloodFill.PRIMARY : FloodFill.NO_MATCH);
     }
 
     /**
@@ -452,33 +402,12 @@ public class Helpers {
      * Basically a veinminer
      */
     public static Set<BlockPos> findTaggedBlocks(Level pLevel, List<TagKey<Block>> tags, BlockPos pPos, int maxBreak, int radius) {
-        Set<BlockPos> foundBlocks = new HashSet<>(); //The matching Blocks
-        Queue<BlockPos> blocksToCheck = new LinkedList<>(); //A list of blocks to check around
-        Set<BlockPos> checkedBlocks = new HashSet<>(); //A list of blocks we already checked
-
-        blocksToCheck.add(pPos); //Start scanning around the block we broke
-
-        while (!blocksToCheck.isEmpty()) {
-            BlockPos posToCheck = blocksToCheck.poll(); //Get the next blockPos to scan around
-
-            if (!checkedBlocks.add(posToCheck))
-                continue; //Don't check blockPos we've checked before
-
-            Set<BlockPos> matchingBlocks = BlockPos.betweenClosedStream(posToCheck.offset(-radius, -radius, -radius), posToCheck.offset(radius, radius, radius))
-                    .filter(blockPos -> tags.stream().anyMatch(pLevel.getBlockState(blockPos)::is))
-                    .map(BlockPos::immutable)
-                    .collect(Collectors.toSet());
-
-            for (BlockPos toAdd : matchingBlocks) { //Ensure we don't go beyond maxBreak
-                if (foundBlocks.size() < maxBreak) {
-                    foundBlocks.add(toAdd); //Add all the blocks we found to our set of found blocks
-                    if (!checkedBlocks.contains(toAdd))
-                        blocksToCheck.add(toAdd); //Add all the blocks we found to be checked as well
-                } else
-                    return foundBlocks;
+        return FloodFill.find(pLevel, pPos, false, maxBreak, radius, blockState -> {
+            for (TagKey<Block> tag : tags) {
+                if (blockState.is(tag)) return FloodFill.PRIMARY;
             }
-        }
-        return foundBlocks;
+            return FloodFill.NO_MATCH;
+        });
     }
 
     /**
@@ -486,45 +415,14 @@ public class Helpers {
      */
 
     public static Set<BlockPos> findLikeBlocks(Level pLevel, BlockState pState, BlockPos pPos, int maxBreak, int radius, List<TagKey<Block>> extraTags) {
-        Set<BlockPos> foundBlocks = new HashSet<>(); //The matching Blocks
-        Queue<BlockPos> blocksToCheck = new LinkedList<>(); //A list of blocks to check around
-        Queue<BlockPos> secondaryBlocksToCheck = new LinkedList<>(); // Matching states will always iterate first, extraTags will be scanned second!
-        Set<BlockPos> checkedBlocks = new HashSet<>(); //A list of blocks we already checked
-
-        foundBlocks.add(pPos); //Obviously the block we broke is included in the return!
-        blocksToCheck.add(pPos); //Start scanning around the block we broke
-
-        while (!blocksToCheck.isEmpty() || !secondaryBlocksToCheck.isEmpty()) {
-            boolean isPrimaryPhase = !blocksToCheck.isEmpty(); //Primary first!
-            BlockPos posToCheck = isPrimaryPhase ? blocksToCheck.poll() : secondaryBlocksToCheck.poll(); //Get the next blockPos to scan around
-
-            if (!checkedBlocks.add(posToCheck))
-                continue; //Don't check blockPos we've checked before
-
-            BlockPos.betweenClosedStream(posToCheck.offset(-radius, -radius, -radius), posToCheck.offset(radius, radius, radius))
-                    .forEach(blockPos -> {
-                        if (foundBlocks.size() >= maxBreak) {
-                            return; // Exit if we've reached the maxBreak limit
-                        }
-                        BlockState foundState = pLevel.getBlockState(blockPos);
-                        boolean isPrimaryBlock = foundState.is(pState.getBlock());
-                        boolean isSecondaryBlock = extraTags.stream().anyMatch(foundState::is);
-
-                        if (isPrimaryBlock || isSecondaryBlock) {
-                            foundBlocks.add(blockPos.immutable());
-
-                            if (!checkedBlocks.contains(blockPos.immutable())) {
-                                // Decide which queue to add the found block to
-                                if (isPrimaryBlock) {
-                                    blocksToCheck.add(blockPos.immutable());
-                                } else {
-                                    secondaryBlocksToCheck.add(blockPos.immutable());
-                                }
-                            }
-                        }
-                    });
-        }
-        return foundBlocks;
+        // Matching states will always iterate first, extraTags will be scanned second!
+        return FloodFill.find(pLevel, pPos, true, maxBreak, radius, blockState -> {
+            if (blockState.is(pState.getBlock())) return FloodFill.PRIMARY;
+            for (TagKey<Block> tag : extraTags) {
+                if (blockState.is(tag)) return FloodFill.SECONDARY;
+            }
+            return FloodFill.NO_MATCH;
+        });
     }
 
 
@@ -1,5 +1,6 @@
 package com.direwolf20.justdirethings.common.items.interfaces;
 
+import com.direwolf20.justdirethings.common.items.datacomponents.AbilityState;
 import com.direwolf20.justdirethings.common.items.datacomponents.JustDireDataComponents;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
@@ -11,11 +12,11 @@ import java.util.Set;
 
 public interface LeftClickableTool {
     static void setBindingMode(ItemStack stack, Ability ability, int mode) {
-        stack.set(JustDireDataComponents.ABILITY_BINDING_MODES.get(ability), mode);
+        AbilityState.update(stack, abilityState -> abilityState.withBindingMode(ability, mode));
     }
 
     static int getBindingMode(ItemStack stack, Ability ability) {
-        return stack.getOrDefault(JustDireDataComponents.ABILITY_BINDING_MODES.get(ability), 0);
+        return AbilityState.get(stack).getBindingMode(ability);
     }
 
     static void removeFromLeftClickList(ItemStack stack, Ability ability) {
@@ -84,7 +85,7 @@ public interface LeftClickableTool {
         returnSet.addAll(
                 abilityBindings.stream().filter(k -> k.isMouse() == isMouse &&
                                 k.key() == key &&
-                                stack.get(JustDireDataComponents.ABILITY_BINDING_MODES.get(Ability.byName(k.abilityName()))) == 2 &&
+                                getBindingMode(stack, Ability.byName(k.abilityName())) == 2 &&
                                 (!k.requireEquipped() || isEquipped))
                         .map(ToolRecords.AbilityBinding::abilityName)
                         .map(Ability::byName)
@@ -8,10 +8,12 @@ import com.direwolf20.justdirethings.common.items.armors.basearmors.BaseBoots;
 import com.direwolf20.justdirethings.common.items.armors.basearmors.BaseChestplate;
 import com.direwolf20.justdirethings.common.items.armors.basearmors.BaseHelmet;
 import com.direwolf20.justdirethings.common.items.armors.basearmors.BaseLeggings;
+import com.direwolf20.justdirethings.common.items.datacomponents.AbilityState;
 import com.direwolf20.justdirethings.common.items.datacomponents.JustDireDataComponents;
 import com.direwolf20.justdirethings.common.items.tools.utils.GooTier;
 import com.direwolf20.justdirethings.setup.Config;
 import com.direwolf20.justdirethings.util.MiningCollect;
+import com.direwolf20.justdirethings.util.MiningSessionCache;
 import com.direwolf20.justdirethings.util.MiscHelpers;
 import com.direwolf20.justdirethings.util.NBTHelpers;
 import net.minecraft.ChatFormatting;
@@ -120,7 +122,9 @@ public interface ToggleableTool extends ToggleableItem {
     }
 
     default boolean canUseAbility(ItemStack itemStack, Ability toolAbility) {
-        return hasAbility(toolAbility) && hasUpgrade(itemStack, toolAbility) && getEnabled(itemStack) && getSetting(itemStack, toolAbility.getName());
+        if (!hasAbility(toolAbility) || !getEnabled(itemStack)) return false;
+        AbilityState abilityState = AbilityState.get(itemStack);
+        return (!toolAbility.requiresUpgrade() || abilityState.hasUpgrade(toolAbility)) && abilityState.isEnabled(toolAbility);
     }
 
     default boolean canUseAbilityAndDurability(ItemStack itemStack, Ability toolAbility) {
@@ -143,7 +147,15 @@ public interface ToggleableTool extends ToggleableItem {
         return true;
     }
 
+    /**
+     * The blocks this tool would break - cached for the swing, so don't modify the returned set
+     */
     default Set<BlockPos> getBreakBlockPositions(ItemStack pStack, Level pLevel, BlockPos pPos, LivingEntity pEntityLiving, BlockState pState) {
+        Direction lookDirection = getTargetLookDirection(pEntityLiving);
+        return MiningSessionCache.getBreakBlockPositions(pStack, pLevel, pPos, pEntityLiving, pState, lookDirection, () -> findBreakBlockPositions(pStack, pLevel, pPos, pEntityLiving, pState, lookDirection));
+    }
+
+    default Set<BlockPos> findBreakBlockPositions(ItemStack pStack, Level pLevel, BlockPos pPos, LivingEntity pEntityLiving, BlockState pState, Direction lookDirection) {
         Set<BlockPos> breakBlockPositions = new HashSet<>();
         int maxBreak = Config.TOOL_MAX_BREAK_FERRICORE.get();
         if (pStack.getItem() instanceof TieredItem tieredItem) {
@@ -161,7 +173,7 @@ public interface ToggleableTool extends ToggleableItem {
             breakBlockPositions.addAll(findLikeBlocks(pLevel, pState, pPos, maxBreak, 2));
         }
         if (canUseAbility(pStack, Ability.HAMMER)) {
-            breakBlockPositions.addAll(MiningCollect.collect(pEntityLiving, pPos, getTargetLookDirection(pEntityLiving), pLevel, getToolValue(pStack, Ability.HAMMER.getName()), MiningCollect.SizeMode.AUTO, pStack));
+            breakBlockPositions.addAll(MiningCollect.collect(pEntityLiving, pPos, lookDirection, pLevel, getToolValue(pStack, Ability.HAMMER.getName()), MiningCollect.SizeMode.AUTO, pStack));
         }
         breakBlockPositions.add(pPos);
         if (canUseAbility(pStack, Ability.SKYSWEEPER) && pStack.isCorrectToolForDrops(pState)) {
@@ -288,66 +300,90 @@ public interface ToggleableTool extends ToggleableItem {
         }
     }
 
-    static int getAnyCooldown(ItemStack itemStack, Ability ability) {
-        if (!itemStack.has(JustDireDataComponents.ABILITY_COOLDOWNS)) return -1;
-        List<ToolRecords.AbilityCooldown> abilityCooldowns = itemStack.get(JustDireDataComponents.ABILITY_COOLDOWNS);
-        for (ToolRecords.AbilityCooldown abilityCooldown : abilityCooldowns) {
-            if (abilityCooldown.abilityName().equals(ability.getName()))
-                return abilityCooldown.cooldownTicks();
+    @Nullable
+    static ToolRecords.CooldownExpiry getCooldownExpiry(ItemStack itemStack, Ability ability) {
+        List<ToolRecords.CooldownExpiry> cooldownExpiries = itemStack.get(JustDireDataComponents.ABILITY_COOLDOWN_EXPIRIES);
+        if (cooldownExpiries == null) return null;
+        for (ToolRecords.CooldownExpiry cooldownExpiry : cooldownExpiries) {
+            if (cooldownExpiry.abilityName().equals(ability.getName()))
+                return cooldownExpiry;
         }
-        return -1;
+        return null;
     }
 
-    static int getCooldown(ItemStack itemStack, Ability ability, boolean active) {
-        if (!itemStack.has(JustDireDataComponents.ABILITY_COOLDOWNS)) return -1;
-        List<ToolRecords.AbilityCooldown> abilityCooldowns = itemStack.get(JustDireDataComponents.ABILITY_COOLDOWNS);
-        for (ToolRecords.AbilityCooldown abilityCooldown : abilityCooldowns) {
-            if (abilityCooldown.abilityName().equals(ability.getName()) && abilityCooldown.isactive() == active) {
-                return abilityCooldown.cooldownTicks();
-            }
-        }
-        return -1;
+    /**
+     * Ticks left in the ability's current cooldown phase (active or not), or -1 if it isn't cooling down
+     */
+    static int getAnyCooldown(Level level, ItemStack itemStack, Ability ability) {
+        ToolRecords.CooldownExpiry cooldownExpiry = getCooldownExpiry(itemStack, ability);
+        if (cooldownExpiry == null) return -1;
+        return cooldownExpiry.getRemaining(level.getGameTime());
     }
 
+    static int getCooldown(Level level, ItemStack itemStack, Ability ability, boolean active) {
+        ToolRecords.CooldownExpiry cooldownExpiry = getCooldownExpiry(itemStack, ability);
+        if (cooldownExpiry == null) return -1;
+        long gameTime = level.getGameTime();
+        if (cooldownExpiry.isActive(gameTime) != active) return -1;
+        return cooldownExpiry.getRemaining(gameTime);
+    }
+
+    /**
+     * Cooldowns are stored as game time stamps, so there's nothing to count down here - the stack is only written to
+     * when an active phase ends or a cooldown expires, to play the sounds and prune the entry.
+     */
     static void tickCooldowns(Level level, ItemStack itemStack, Player player) {
-        if (level.isClientSide || !itemStack.has(JustDireDataComponents.ABILITY_COOLDOWNS)) return;
-        Set<ToolRecords.AbilityCooldown> cooldownsToRemove = new HashSet<>();
-        List<ToolRecords.AbilityCooldown> abilityCooldowns = new ArrayList<>(itemStack.getOrDefault(JustDireDataComponents.ABILITY_COOLDOWNS, new ArrayList<>()));
-        for (int i = 0; i < abilityCooldowns.size(); i++) {
-            ToolRecords.AbilityCooldown abilityCooldown = abilityCooldowns.get(i);
-            int cooldown = abilityCooldown.cooldownTicks();
-            boolean active = abilityCooldown.isactive();
-            cooldown = cooldown - 1;
-            if (cooldown == 0) {
-                if (!active)
-                    cooldownsToRemove.add(abilityCooldown);
-                else {
-                    Ability ability = Ability.valueOf(abilityCooldown.abilityName().toUpperCase(Locale.ROOT));
-                    if (itemStack.getItem() instanceof ToggleableTool toggleableTool) {
-                        AbilityParams abilityParams = toggleableTool.getAbilityParams(ability);
-                        ToolRecords.AbilityCooldown updatedCooldown = new ToolRecords.AbilityCooldown(
-                                abilityCooldown.abilityName(), abilityParams.cooldown, false
-                        );
-                        abilityCooldowns.set(i, updatedCooldown);
-                        player.playNotifySound(SoundEvents.CONDUIT_DEACTIVATE, SoundSource.PLAYERS, 1.0F, 1.0F);
-                        cooldownDataClear(itemStack, ability);
-                    }
-                }
-            } else {
-                ToolRecords.AbilityCooldown updatedCooldown = new ToolRecords.AbilityCooldown(
-                        abilityCooldown.abilityName(), cooldown, abilityCooldown.isactive()
-                );
-                abilityCooldowns.set(i, updatedCooldown);
+        if (level.isClientSide) return;
+        long gameTime = level.getGameTime();
+        if (itemStack.has(JustDireDataComponents.ABILITY_COOLDOWNS))
+            migrateLegacyCooldowns(itemStack, gameTime);
+        List<ToolRecords.CooldownExpiry> cooldownExpiries = itemStack.get(JustDireDataComponents.ABILITY_COOLDOWN_EXPIRIES);
+        if (cooldownExpiries == null) return;
+        boolean changed = false;
+        for (ToolRecords.CooldownExpiry cooldownExpiry : cooldownExpiries) {
+            if (gameTime >= cooldownExpiry.cooldownUntil() || (cooldownExpiry.activeUntil() != 0 && gameTime >= cooldownExpiry.activeUntil())) {
+                changed = true;
+                break;
             }
         }
-        for (ToolRecords.AbilityCooldown cooldown : cooldownsToRemove) {
-            abilityCooldowns.remove(cooldown);
-            player.playNotifySound(SoundEvents.ENDER_EYE_DEATH, SoundSource.PLAYERS, 1.0F, 1.0F);
+        if (!changed) return;
+
+        List<ToolRecords.CooldownExpiry> updatedExpiries = new ArrayList<>(cooldownExpiries.size());
+        for (ToolRecords.CooldownExpiry cooldownExpiry : cooldownExpiries) {
+            if (cooldownExpiry.activeUntil() != 0 && gameTime >= cooldownExpiry.activeUntil()) {
+                player.playNotifySound(SoundEvents.CONDUIT_DEACTIVATE, SoundSource.PLAYERS, 1.0F, 1.0F);
+                cooldownDataClear(itemStack, Ability.valueOf(cooldownExpiry.abilityName().toUpperCase(Locale.ROOT)));
+                cooldownExpiry = new ToolRecords.CooldownExpiry(cooldownExpiry.abilityName(), 0, cooldownExpiry.cooldownUntil());
+            }
+            if (gameTime >= cooldownExpiry.cooldownUntil()) {
+                player.playNotifySound(SoundEvents.ENDER_EYE_DEATH, SoundSource.PLAYERS, 1.0F, 1.0F);
+                continue;
+            }
+            updatedExpiries.add(cooldownExpiry);
         }
-        if (abilityCooldowns.isEmpty())
-            itemStack.remove(JustDireDataComponents.ABILITY_COOLDOWNS);
+        if (updatedExpiries.isEmpty())
+            itemStack.remove(JustDireDataComponents.ABILITY_COOLDOWN_EXPIRIES);
         else
-            itemStack.set(JustDireDataComponents.ABILITY_COOLDOWNS, abilityCooldowns);
+            itemStack.set(JustDireDataComponents.ABILITY_COOLDOWN_EXPIRIES, updatedExpiries);
+    }
+
+    /**
+     * Converts the old count-down cooldowns into expiry stamps, starting from the current game time
+     */
+    private static void migrateLegacyCooldowns(ItemStack itemStack, long gameTime) {
+        List<ToolRecords.AbilityCooldown> abilityCooldowns = itemStack.remove(JustDireDataComponents.ABILITY_COOLDOWNS);
+        if (abilityCooldowns == null || !(itemStack.getItem() instanceof ToggleableTool toggleableTool)) return;
+        List<ToolRecords.CooldownExpiry> cooldownExpiries = new ArrayList<>(itemStack.getOrDefault(JustDireDataComponents.ABILITY_COOLDOWN_EXPIRIES, List.of()));
+        for (ToolRecords.AbilityCooldown abilityCooldown : abilityCooldowns) {
+            Ability ability = Ability.valueOf(abilityCooldown.abilityName().toUpperCase(Locale.ROOT));
+            if (abilityCooldown.isactive()) {
+                long activeUntil = gameTime + abilityCooldown.cooldownTicks();
+                cooldownExpiries.add(new ToolRecords.CooldownExpiry(ability.getName(), activeUntil, activeUntil + toggleableTool.getAbilityParams(ability).cooldown));
+            } else {
+                cooldownExpiries.add(new ToolRecords.CooldownExpiry(ability.getName(), 0, gameTime + abilityCooldown.cooldownTicks()));
+            }
+        }
+        itemStack.set(JustDireDataComponents.ABILITY_COOLDOWN_EXPIRIES, cooldownExpiries);
     }
 
     static void cooldownDataClear(ItemStack itemStack, Ability ability) {
@@ -355,17 +391,22 @@ public interface ToggleableTool extends ToggleableItem {
             AbilityMethods.clearStupefyTargets(itemStack);
     }
 
-    static void addCooldown(ItemStack itemStack, Ability ability, int cooldown, boolean active) {
-        List<ToolRecords.AbilityCooldown> abilityCooldowns;
-        if (itemStack.has(JustDireDataComponents.ABILITY_COOLDOWNS))
-            abilityCooldowns = itemStack.get(JustDireDataComponents.ABILITY_COOLDOWNS);
-        else
-            abilityCooldowns = new ArrayList<>();
-        ToolRecords.AbilityCooldown cooldownRecord = new ToolRecords.AbilityCooldown(
-                ability.getName(), cooldown, active
-        );
-        abilityCooldowns.add(cooldownRecord);
-        itemStack.set(JustDireDataComponents.ABILITY_COOLDOWNS, abilityCooldowns);
+    /**
+     * Starts a cooldown. An active cooldown is followed by the ability's normal cooldown once it runs out, so both expiry times are stored up front.
+     */
+    static void addCooldown(Level level, ItemStack itemStack, Ability ability, int cooldown, boolean active) {
+        long gameTime = level.getGameTime();
+        List<ToolRecords.CooldownExpiry> cooldownExpiries = new ArrayList<>(itemStack.getOrDefault(JustDireDataComponents.ABILITY_COOLDOWN_EXPIRIES, List.of()));
+        cooldownExpiries.removeIf(cooldownExpiry -> cooldownExpiry.abilityName().equals(ability.getName())); //Any old entry for this ability has already expired, or we wouldn't be here
+        ToolRecords.CooldownExpiry cooldownRecord;
+        if (active) {
+            int followingCooldown = itemStack.getItem() instanceof ToggleableTool toggleableTool ? toggleableTool.getAbilityParams(ability).cooldown : 0;
+            cooldownRecord = new ToolRecords.CooldownExpiry(ability.getName(), gameTime + cooldown, gameTime + cooldown + followingCooldown);
+        } else {
+            cooldownRecord = new ToolRecords.CooldownExpiry(ability.getName(), 0, gameTime + cooldown);
+        }
+        cooldownExpiries.add(cooldownRecord);
+        itemStack.set(JustDireDataComponents.ABILITY_COOLDOWN_EXPIRIES, cooldownExpiries);
     }
 
     static boolean isItemEquipped(ItemStack itemStack, Player player) {
@@ -562,7 +603,7 @@ public interface ToggleableTool extends ToggleableItem {
 
     static void toggleSetting(ItemStack stack, String setting) {
         Ability toolAbility = Ability.byName(setting);
-        stack.update(JustDireDataComponents.ABILITY_TOGGLES.get(toolAbility), true, val -> !val);
+        AbilityState.update(stack, abilityState -> abilityState.withEnabled(toolAbility, !abilityState.isEnabled(toolAbility)));
     }
 
     /**
@@ -606,27 +647,31 @@ public interface ToggleableTool extends ToggleableItem {
 
     static void setSetting(ItemStack stack, String setting, boolean value) {
         Ability toolAbility = Ability.byName(setting);
-        stack.set(JustDireDataComponents.ABILITY_TOGGLES.get(toolAbility), value);
+        AbilityState.update(stack, abilityState -> abilityState.withEnabled(toolAbility, value));
     }
 
     static boolean getSetting(ItemStack stack, String setting) {
         Ability toolAbility = Ability.byName(setting);
-        return !stack.has(JustDireDataComponents.ABILITY_TOGGLES.get(toolAbility)) || stack.getOrDefault(JustDireDataComponents.ABILITY_TOGGLES.get(toolAbility), true); //Enabled by default
+        return AbilityState.get(stack).isEnabled(toolAbility); //Enabled by default
     }
 
     static boolean hasUpgrade(ItemStack stack, Ability ability) {
         if (!ability.requiresUpgrade()) return true;
-        return stack.getOrDefault(JustDireDataComponents.ABILITY_UPGRADE_INSTALLS.get(ability), false);
+        return AbilityState.get(stack).hasUpgrade(ability);
+    }
+
+    static void setUpgrade(ItemStack stack, Ability ability, boolean installed) {
+        AbilityState.update(stack, abilityState -> abilityState.withUpgrade(ability, installed));
     }
 
     static void setCustomSetting(ItemStack stack, String setting, int value) {
         Ability toolAbility = Ability.byName(setting);
-        stack.set(JustDireDataComponents.ABILITY_CUSTOM_SETTINGS.get(toolAbility), value);
+        AbilityState.update(stack, abilityState -> abilityState.withCustomSetting(toolAbility, value));
     }
 
     static int getCustomSetting(ItemStack stack, String setting) {
         Ability toolAbility = Ability.byName(setting);
-        return stack.getOrDefault(JustDireDataComponents.ABILITY_CUSTOM_SETTINGS.get(toolAbility), 0);
+        return AbilityState.get(stack).getCustomSetting(toolAbility);
     }
 
     static void setToolValue(ItemStack stack, String setting, int value) {
@@ -635,7 +680,7 @@ public interface ToggleableTool extends ToggleableItem {
         int min = abilityParams.minSlider;
         int max = abilityParams.maxSlider;
         int setValue = Math.max(min, Math.min(max, value));
-        stack.set(JustDireDataComponents.ABILITY_VALUES.get(toolAbility), setValue);
+        AbilityState.update(stack, abilityState -> abilityState.withValue(toolAbility, setValue));
     }
 
     static int getToolValue(ItemStack stack, String setting) {
@@ -643,8 +688,9 @@ public interface ToggleableTool extends ToggleableItem {
         AbilityParams abilityParams = ((ToggleableTool) stack.getItem()).getAbilityParams(toolAbility);
         int min = abilityParams.minSlider;
         int max = abilityParams.maxSlider;
-        if (stack.has(JustDireDataComponents.ABILITY_VALUES.get(toolAbility)))
-            return Math.max(min, Math.min(max, stack.getOrDefault(JustDireDataComponents.ABILITY_VALUES.get(toolAbility), abilityParams.defaultValue)));
+        AbilityState abilityState = AbilityState.get(stack);
+        if (abilityState.hasValue(toolAbility))
+            return Math.max(min, Math.min(max, abilityState.getValue(toolAbility)));
         return abilityParams.defaultValue;
     }
 }
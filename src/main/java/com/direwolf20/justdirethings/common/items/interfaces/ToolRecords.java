@@ -30,6 +30,46 @@ public class ToolRecords {
         );
     }
 
+    /**
+     * A cooldown stored as game time stamps, so it only needs writing when it starts and when it changes phase.
+     * activeUntil is 0 for abilities without an active phase, and is reset to 0 once the active phase has been handled.
+     */
+    public record CooldownExpiry(String abilityName, long activeUntil, long cooldownUntil) {
+        public static final Codec<CooldownExpiry> CODEC = RecordCodecBuilder.create(
+                cooldownInstance -> cooldownInstance.group(
+                                Codec.STRING.fieldOf("ability_name").forGetter(CooldownExpiry::abilityName),
+                                Codec.LONG.fieldOf("active_until").forGetter(CooldownExpiry::activeUntil),
+                                Codec.LONG.fieldOf("cooldown_until").forGetter(CooldownExpiry::cooldownUntil)
+                        )
+                        .apply(cooldownInstance, CooldownExpiry::new)
+        );
+        public static final Codec<List<CooldownExpiry>> LIST_CODEC = CODEC.listOf();
+        public static final StreamCodec<ByteBuf, CooldownExpiry> STREAM_CODEC = StreamCodec.composite(
+                ByteBufCodecs.STRING_UTF8,
+                CooldownExpiry::abilityName,
+                ByteBufCodecs.VAR_LONG,
+                CooldownExpiry::activeUntil,
+                ByteBufCodecs.VAR_LONG,
+                CooldownExpiry::cooldownUntil,
+                CooldownExpiry::new
+        );
+
+        public boolean isActive(long gameTime) {
+            return activeUntil != 0 && gameTime < activeUntil;
+        }
+
+        /**
+         * Ticks left in whichever phase the cooldown is in, or -1 if it's over
+         */
+        public int getRemaining(long gameTime) {
+            if (isActive(gameTime))
+                return (int) (activeUntil - gameTime);
+            if (gameTime < cooldownUntil)
+                return (int) (cooldownUntil - gameTime);
+            return -1;
+        }
+    }
+
     public record AbilityBinding(String abilityName, int key, boolean isMouse, boolean requireEquipped) {
         public static final Codec<AbilityBinding> CODEC = RecordCodecBuilder.create(
                 cooldownInstance -> cooldownInstance.group(
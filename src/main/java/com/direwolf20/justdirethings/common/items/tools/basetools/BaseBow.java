@@ -88,7 +88,7 @@ public class BaseBow extends BowItem implements ToggleableTool, LeftClickableToo
                 justDireArrow.setEpicArrow(true);
                 justDireArrow.setBaseDamage(20d);
                 AbilityParams abilityParams = toggleableTool.getAbilityParams(Ability.EPICARROW);
-                ToggleableTool.addCooldown(itemStack, Ability.EPICARROW, abilityParams.cooldown, false);
+                ToggleableTool.addCooldown(level, itemStack, Ability.EPICARROW, abilityParams.cooldown, false);
                 itemStack.set(JustDireDataComponents.EPIC_ARROW, false);
             }
 
@@ -0,0 +1,30 @@
+package com.direwolf20.justdirethings.common.network.data;
+
+import com.direwolf20.justdirethings.JustDireThings;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+public record MachineSyncPayload(
+        BlockPos blockPos,
+        int syncFlags,
+        CompoundTag syncData
+) implements CustomPacketPayload {
+    public static final Type<MachineSyncPayload> TYPE = new Type<>(ResourceLocation.fromNamespaceAndPath(JustDireThings.MODID, "machine_sync"));
+
+    @Override
+    public Type<MachineSyncPayload> type() {
+        return TYPE;
+    }
+
+    public static final StreamCodec<FriendlyByteBuf, MachineSyncPayload> STREAM_CODEC = StreamCodec.composite(
+            BlockPos.STREAM_CODEC, MachineSyncPayload::blockPos,
+            ByteBufCodecs.VAR_INT, MachineSyncPayload::syncFlags,
+            ByteBufCodecs.COMPOUND_TAG, MachineSyncPayload::syncData,
+            MachineSyncPayload::new
+    );
+}
@@ -0,0 +1,26 @@
+package com.direwolf20.justdirethings.common.network.handler;
+
+import com.direwolf20.justdirethings.common.blockentities.basebe.BaseMachineBE;
+import com.direwolf20.justdirethings.common.network.data.MachineSyncPayload;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+public class MachineSyncPacket {
+    public static final MachineSyncPacket INSTANCE = new MachineSyncPacket();
+
+    public static MachineSyncPacket get() {
+        return INSTANCE;
+    }
+
+    public void handle(final MachineSyncPayload payload, final IPayloadContext context) {
+        context.enqueueWork(() -> {
+            Level level = context.player().level();
+            if (level == null) return;
+            BlockEntity blockEntity = level.getBlockEntity(payload.blockPos());
+            if (blockEntity instanceof BaseMachineBE baseMachineBE) {
+                baseMachineBE.receiveSyncData(payload.syncFlags(), payload.syncData(), level.registryAccess());
+            }
+        });
+    }
+}
@@ -2,7 +2,6 @@ package com.direwolf20.justdirethings.datagen.recipes;
 
 import com.direwolf20.justdirethings.JustDireThings;
 import com.direwolf20.justdirethings.common.items.abilityupgrades.Upgrade;
-import com.direwolf20.justdirethings.common.items.datacomponents.JustDireDataComponents;
 import com.direwolf20.justdirethings.common.items.interfaces.Ability;
 import com.direwolf20.justdirethings.common.items.interfaces.ToggleableTool;
 import com.direwolf20.justdirethings.setup.Config;
@@ -47,7 +46,7 @@ public class AbilityRecipe implements SmithingRecipe {
             Ability ability = Ability.getAbilityFromUpgradeItem(upgrade.getItem());
             if (ability != null && toggleableTool.hasAbility(ability) && !ToggleableTool.hasUpgrade(base, ability) && Config.AVAILABLE_ABILITY_MAP.get(ability).get()) {
                 ItemStack itemstack1 = base.copyWithCount(1);
-                itemstack1.set(JustDireDataComponents.ABILITY_UPGRADE_INSTALLS.get(ability), true);
+                ToggleableTool.setUpgrade(itemstack1, ability, true);
                 return itemstack1;
             }
         }
@@ -61,7 +60,7 @@ public class AbilityRecipe implements SmithingRecipe {
         Ability ability = Ability.getAbilityFromUpgradeItem(getAddition().getItems()[0].getItem());
         if (!Config.AVAILABLE_ABILITY_MAP.get(ability).get())
             return new ItemStack(Items.AIR);
-        itemstack.set(JustDireDataComponents.ABILITY_UPGRADE_INSTALLS.get(ability), true);
+        ToggleableTool.setUpgrade(itemstack, ability, true);
 
         return itemstack;
     }
@@ -1,7 +1,6 @@
 package com.direwolf20.justdirethings.datagen.recipes;
 
 import com.direwolf20.justdirethings.JustDireThings;
-import com.direwolf20.justdirethings.common.items.datacomponents.JustDireDataComponents;
 import com.direwolf20.justdirethings.common.items.interfaces.Ability;
 import com.direwolf20.justdirethings.common.items.interfaces.ToggleableTool;
 import com.direwolf20.justdirethings.common.items.tools.basetools.BaseAxe;
@@ -60,7 +59,7 @@ public class PaxelRecipe implements SmithingRecipe {
         if (isTemplateIngredient(pickaxe) && pickaxe.getItem() instanceof ToggleableTool pickaxetoggleableTool) {
             for (Ability ability : pickaxetoggleableTool.getAbilities()) {
                 if (ToggleableTool.hasUpgrade(pickaxe, ability))
-                    result.set(JustDireDataComponents.ABILITY_UPGRADE_INSTALLS.get(ability), true);
+                    ToggleableTool.setUpgrade(result, ability, true);
             }
 
             Optional<? extends ItemEnchantments> enchantments = pickaxe.getComponentsPatch().get(DataComponents.ENCHANTMENTS);
@@ -71,7 +70,7 @@ public class PaxelRecipe implements SmithingRecipe {
         if (isBaseIngredient(axe) && axe.getItem() instanceof ToggleableTool axetoggleableTool) {
             for (Ability ability : axetoggleableTool.getAbilities()) {
                 if (ToggleableTool.hasUpgrade(axe, ability))
-                    result.set(JustDireDataComponents.ABILITY_UPGRADE_INSTALLS.get(ability), true);
+                    ToggleableTool.setUpgrade(result, ability, true);
             }
         } else {
             return ItemStack.EMPTY;
@@ -79,7 +78,7 @@ public class PaxelRecipe implements SmithingRecipe {
         if (isAdditionIngredient(shovel) && shovel.getItem() instanceof ToggleableTool shoveltoggleableTool) {
             for (Ability ability : shoveltoggleableTool.getAbilities()) {
                 if (ToggleableTool.hasUpgrade(shovel, ability))
-                    result.set(JustDireDataComponents.ABILITY_UPGRADE_INSTALLS.get(ability), true);
+                    ToggleableTool.setUpgrade(result, ability, true);
             }
         } else {
             return ItemStack.EMPTY;
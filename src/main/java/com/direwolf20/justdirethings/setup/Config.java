@@ -24,6 +24,9 @@ public class Config {
     public static ModConfigSpec.IntValue OVERLAY_X;
     public static ModConfigSpec.IntValue OVERLAY_Y;
 
+    public static final String CATEGORY_ORE_SCANNER = "ore_scanner";
+    public static ModConfigSpec.IntValue ORE_SCANNER_RADIUS;
+
     public static final String CATEGORY_GENERAL = "general";
     public static ModConfigSpec.IntValue MINIMUM_MACHINE_TICK_SPEED;
 
@@ -67,6 +70,7 @@ public class Config {
     public static ModConfigSpec.DoubleValue TIMEWAND_FLUID_COST;
     public static ModConfigSpec.ConfigValue<Integer> TIME_WAND_MAX_MULTIPLIER;
     public static ModConfigSpec.BooleanValue TIME_WAND_FAKE_PLAYER_ALLOWED;
+    public static ModConfigSpec.IntValue TIME_WAND_TICK_BUDGET;
 
     public static final String CATEGORY_PARADOX_MACHINE = "paradox_machine";
     public static ModConfigSpec.IntValue PARADOX_TOTAL_FLUID_CAPACITY;
@@ -118,6 +122,7 @@ public class Config {
 
     private static void registerClientConfigs(ModContainer container) {
         overlayConfig();
+        oreScannerConfig();
         container.registerConfig(ModConfig.Type.CLIENT, CLIENT_BUILDER.build());
     }
 
@@ -154,6 +159,13 @@ public class Config {
         CLIENT_BUILDER.pop();
     }
 
+    private static void oreScannerConfig() {
+        CLIENT_BUILDER.comment("Ore Scanner and Ore XRay").push(CATEGORY_ORE_SCANNER);
+        ORE_SCANNER_RADIUS = CLIENT_BUILDER.comment("The radius, in blocks, around the player that the ore scanner and ore xray abilities search. The search runs off the render thread, so larger values take longer to show up but won't stall the game")
+                .defineInRange("ore_scanner_radius", 10, 1, 64);
+        CLIENT_BUILDER.pop();
+    }
+
     private static void generalConfig() {
         COMMON_BUILDER.comment("Goo settings").push(CATEGORY_GOO);
         GOO_CAN_DIE = COMMON_BUILDER.comment("Can goo randomly die, needing to be revived by right clicking with an item?")
@@ -284,6 +296,8 @@ public class Config {
                 });
         TIME_WAND_FAKE_PLAYER_ALLOWED = COMMON_BUILDER.comment("Can fake players use the Time Wand (Like in the clickers)?")
                 .define("time_wand_fake_player_allowed", true);
+        TIME_WAND_TICK_BUDGET = COMMON_BUILDER.comment("The most time, in microseconds, all Time Wand accelerations on the server may spend per tick combined. It's shared evenly between the accelerated blocks. 0 for no limit.")
+                .defineInRange("time_wand_tick_budget", 10000, 0, 1000000);
         COMMON_BUILDER.pop();
     }
 
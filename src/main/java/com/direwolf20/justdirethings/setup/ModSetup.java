@@ -1,5 +1,6 @@
 package com.direwolf20.justdirethings.setup;
 
+import com.direwolf20.justdirethings.common.commands.JustDireCommands;
 import com.direwolf20.justdirethings.common.events.BlockEvents;
 import com.direwolf20.justdirethings.common.events.EntityEvents;
 import com.direwolf20.justdirethings.common.events.LivingEntityEvents;
@@ -23,6 +24,7 @@ public class ModSetup {
         NeoForge.EVENT_BUS.register(EntityEvents.class);
         NeoForge.EVENT_BUS.register(LivingEntityEvents.class);
         NeoForge.EVENT_BUS.register(PlayerEvents.class);
+        NeoForge.EVENT_BUS.register(JustDireCommands.class);
     }
 
     public static final DeferredRegister<CreativeModeTab> CREATIVE_MODE_TABS = DeferredRegister.create(Registries.CREATIVE_MODE_TAB, MODID);
@@ -748,7 +748,12 @@ public class Registration {
     public static final Supplier<AttachmentType<ItemStackHandler>> MACHINE_HANDLER = ATTACHMENT_TYPES.register(
             "machine_handler", () -> AttachmentType.serializable(holder -> {
                 if (holder instanceof BaseMachineBE baseMachineBE)
-                    return new ItemStackHandler(baseMachineBE.MACHINE_SLOTS);
+                    return new ItemStackHandler(baseMachineBE.MACHINE_SLOTS) {
+                        @Override
+                        protected void onContentsChanged(int slot) {
+                            baseMachineBE.wake();
+                        }
+                    };
                 return new ItemStackHandler(1);
             }).build());
     public static final Supplier<AttachmentType<GeneratorItemHandler>> GENERATOR_ITEM_HANDLER = ATTACHMENT_TYPES.register(
@@ -783,6 +788,8 @@ public class Registration {
             "energystorage_machines", () -> AttachmentType.serializable(holder -> {
                 if (holder instanceof PoweredMachineBE feMachineBE) {
                     int capacity = feMachineBE.getMaxEnergy(); //Default
+                    if (holder instanceof BaseMachineBE baseMachineBE)
+                        return new MachineEnergyStorage(capacity, baseMachineBE);
                     return new MachineEnergyStorage(capacity);
                 } else {
                     throw new IllegalStateException("Cannot attach energy handler item to a non-PoweredMachine.");
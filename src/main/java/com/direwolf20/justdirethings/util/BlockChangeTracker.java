@@ -0,0 +1,105 @@
+package com.direwolf20.justdirethings.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.phys.AABB;
+
+import java.util.*;
+
+/**
+ * Keeps track of which listeners care about block changes in which chunks, so that area scanning machines can be told
+ * about changes within their area instead of having to rescan the whole thing.  Fed by BlockEvents, on both the client and the server.
+ */
+public class BlockChangeTracker {
+    public interface Listener {
+        /**
+         * A block inside (or near) the area this listener registered for has changed
+         */
+        void onBlockChanged(BlockPos blockPos);
+
+        /**
+         * A chunk overlapping the area this listener registered for was loaded, anything in it may have changed
+         */
+        void onChunkLoaded(ChunkPos chunkPos);
+    }
+
+    private static class Listeners {
+        private final Map<LevelAccessor, Long2ObjectOpenHashMap<Set<Listener>>> listenersByChunk = new HashMap<>();
+        private final Map<Listener, long[]> registeredChunks = new HashMap<>();
+    }
+
+    //The client and server each get their own, so each is only ever touched from its own thread
+    private static final Listeners serverListeners = new Listeners();
+    private static final Listeners clientListeners = new Listeners();
+
+    private static Listeners getListeners(LevelAccessor level) {
+        return level.isClientSide() ? clientListeners : serverListeners;
+    }
+
+    /**
+     * Register a listener for every chunk the area overlaps.  Replaces any previous registration for this listener.
+     */
+    public static void register(LevelAccessor level, Listener listener, AABB area) {
+        unregister(level, listener);
+        int minChunkX = SectionPos.blockToSectionCoord((int) Math.floor(area.minX));
+        int maxChunkX = SectionPos.blockToSectionCoord((int) Math.ceil(area.maxX) - 1);
+        int minChunkZ = SectionPos.blockToSectionCoord((int) Math.floor(area.minZ));
+        int maxChunkZ = SectionPos.blockToSectionCoord((int) Math.ceil(area.maxZ) - 1);
+        long[] chunks = new long[(maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1)];
+        Listeners side = getListeners(level);
+        Long2ObjectOpenHashMap<Set<Listener>> levelListeners = side.listenersByChunk.computeIfAbsent(level, k -> new Long2ObjectOpenHashMap<>());
+        int i = 0;
+        for (int x = minChunkX; x <= maxChunkX; x++) {
+            for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                long chunkKey = ChunkPos.asLong(x, z);
+                chunks[i++] = chunkKey;
+                levelListeners.computeIfAbsent(chunkKey, k -> new HashSet<>()).add(listener);
+            }
+        }
+        side.registeredChunks.put(listener, chunks);
+    }
+
+    public static void unregister(LevelAccessor level, Listener listener) {
+        Listeners side = getListeners(level);
+        long[] chunks = side.registeredChunks.remove(listener);
+        if (chunks == null) return;
+        Long2ObjectOpenHashMap<Set<Listener>> levelListeners = side.listenersByChunk.get(level);
+        if (levelListeners == null) return;
+        for (long chunkKey : chunks) {
+            Set<Listener> listeners = levelListeners.get(chunkKey);
+            if (listeners == null) continue;
+            listeners.remove(listener);
+            if (listeners.isEmpty())
+                levelListeners.remove(chunkKey);
+        }
+    }
+
+    public static void blockChanged(LevelAccessor level, BlockPos blockPos) {
+        Long2ObjectOpenHashMap<Set<Listener>> levelListeners = getListeners(level).listenersByChunk.get(level);
+        if (levelListeners == null) return;
+        Set<Listener> listeners = levelListeners.get(ChunkPos.asLong(SectionPos.blockToSectionCoord(blockPos.getX()), SectionPos.blockToSectionCoord(blockPos.getZ())));
+        if (listeners == null) return;
+        for (Listener listener : List.copyOf(listeners))
+            listener.onBlockChanged(blockPos);
+    }
+
+    public static void chunkLoaded(LevelAccessor level, ChunkPos chunkPos) {
+        Long2ObjectOpenHashMap<Set<Listener>> levelListeners = getListeners(level).listenersByChunk.get(level);
+        if (levelListeners == null) return;
+        Set<Listener> listeners = levelListeners.get(chunkPos.toLong());
+        if (listeners == null) return;
+        for (Listener listener : List.copyOf(listeners))
+            listener.onChunkLoaded(chunkPos);
+    }
+
+    public static void levelUnloaded(LevelAccessor level) {
+        Listeners side = getListeners(level);
+        Long2ObjectOpenHashMap<Set<Listener>> levelListeners = side.listenersByChunk.remove(level);
+        if (levelListeners == null) return;
+        for (Set<Listener> listeners : levelListeners.values())
+            listeners.forEach(side.registeredChunks::remove);
+    }
+}
@@ -0,0 +1,70 @@
+package com.direwolf20.justdirethings.util;
+
+import com.direwolf20.justdirethings.datagen.JustDireItemTags;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.AbstractCookingRecipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.SingleRecipeInput;
+import net.minecraft.world.level.Level;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Smelting and smoking results for auto-smelt / auto-smoke drops, by item and component patch, so a big vein doesn't do a full recipe
+ * lookup per drop. Items with no result (or on the deny tags) are cached as ItemStack.EMPTY. Cleared when recipes or tags reload (see EntityEvents).
+ */
+public class CookingResultCache {
+    private static final Map<ItemStackKey, ItemStack> smeltingResults = new HashMap<>();
+    private static final Map<ItemStackKey, ItemStack> smokingResults = new HashMap<>();
+    private static RecipeManager cachedRecipeManager;
+    public static long hits, misses;
+
+    /**
+     * The smelting result for one of input, or ItemStack.EMPTY - don't modify the returned stack
+     */
+    public static ItemStack getSmeltingResult(Level level, ItemStack input) {
+        return getResult(level, input, RecipeType.SMELTING, JustDireItemTags.AUTO_SMELT_DENY, smeltingResults);
+    }
+
+    /**
+     * The smoking result for one of input, or ItemStack.EMPTY - don't modify the returned stack
+     */
+    public static ItemStack getSmokingResult(Level level, ItemStack input) {
+        return getResult(level, input, RecipeType.SMOKING, JustDireItemTags.AUTO_SMOKE_DENY, smokingResults);
+    }
+
+    private static <T extends AbstractCookingRecipe> ItemStack getResult(Level level, ItemStack input, RecipeType<T> recipeType, TagKey<Item> denyTag, Map<ItemStackKey, ItemStack> results) {
+        RecipeManager recipeManager = level.getRecipeManager();
+        if (recipeManager != cachedRecipeManager) {
+            clear();
+            cachedRecipeManager = recipeManager;
+        }
+        ItemStackKey key = new ItemStackKey(input, true);
+        ItemStack result = results.get(key);
+        if (result != null) {
+            hits++;
+            return result;
+        }
+        misses++;
+        result = ItemStack.EMPTY;
+        if (!input.is(denyTag)) {
+            Optional<RecipeHolder<T>> recipe = recipeManager.getRecipeFor(recipeType, new SingleRecipeInput(input), level);
+            if (recipe.isPresent())
+                result = recipe.get().value().getResultItem(level.registryAccess()).copy();
+        }
+        results.put(key, result);
+        return result;
+    }
+
+    public static void clear() {
+        smeltingResults.clear();
+        smokingResults.clear();
+        cachedRecipeManager = null;
+    }
+}
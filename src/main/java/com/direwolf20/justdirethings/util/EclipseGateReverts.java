@@ -0,0 +1,154 @@
+package com.direwolf20.justdirethings.util;
+
+import com.direwolf20.justdirethings.setup.Registration;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.saveddata.SavedData;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per level queue of Eclipse Gate blocks waiting to turn back into what they were, ordered by the game time they expire at.
+ * Reverts are done in batches of at most MAX_REVERTS_PER_TICK, and ones whose chunk isn't loaded wait until it is.
+ * Saved with the level, so a gate that's unloaded or saved mid-way still closes.
+ */
+public class EclipseGateReverts extends SavedData {
+    private static final String NAME = "justdirethings_eclipse_gates";
+    public static final int LIFETIME = 100;
+    private static final int MAX_REVERTS_PER_TICK = 256;
+
+    private record PendingRevert(BlockPos pos, BlockState sourceBlock, long expiresAt) {
+    }
+
+    private final TreeMap<Long, ArrayDeque<PendingRevert>> queue = new TreeMap<>();
+    private final Long2ObjectOpenHashMap<List<PendingRevert>> waitingForChunk = new Long2ObjectOpenHashMap<>();
+    private int pending;
+    public long lastTickNanos;
+    public int lastTickReverts;
+
+    public static EclipseGateReverts get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(new SavedData.Factory<>(EclipseGateReverts::new, EclipseGateReverts::load, null), NAME);
+    }
+
+    public void schedule(ServerLevel level, BlockPos pos, BlockState sourceBlock, int ticks) {
+        add(new PendingRevert(pos.immutable(), sourceBlock, level.getGameTime() + ticks));
+        setDirty();
+    }
+
+    private void add(PendingRevert pendingRevert) {
+        queue.computeIfAbsent(pendingRevert.expiresAt(), k -> new ArrayDeque<>()).add(pendingRevert);
+        pending++;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public void tick(ServerLevel level) {
+        if (queue.isEmpty()) return;
+        long gameTime = level.getGameTime();
+        if (queue.firstKey() > gameTime) return;
+
+        long startTime = System.nanoTime();
+        int reverted = 0;
+        while (reverted < MAX_REVERTS_PER_TICK && !queue.isEmpty() && queue.firstKey() <= gameTime) {
+            Map.Entry<Long, ArrayDeque<PendingRevert>> entry = queue.firstEntry();
+            ArrayDeque<PendingRevert> reverts = entry.getValue();
+            while (reverted < MAX_REVERTS_PER_TICK && !reverts.isEmpty()) {
+                PendingRevert pendingRevert = reverts.poll();
+                if (!level.isLoaded(pendingRevert.pos())) {
+                    //Hold it (still counted as pending, and still saved) until its chunk comes back
+                    waitingForChunk.computeIfAbsent(ChunkPos.asLong(pendingRevert.pos()), k -> new ArrayList<>()).add(pendingRevert);
+                    continue;
+                }
+                pending--;
+                revert(level, pendingRevert);
+                reverted++;
+            }
+            if (reverts.isEmpty())
+                queue.remove(entry.getKey());
+        }
+        setDirty();
+        lastTickReverts = reverted;
+        lastTickNanos = System.nanoTime() - startTime;
+    }
+
+    public void chunkLoaded(ChunkPos chunkPos) {
+        if (waitingForChunk.isEmpty()) return;
+        List<PendingRevert> reverts = waitingForChunk.remove(chunkPos.toLong());
+        if (reverts == null) return;
+        for (PendingRevert pendingRevert : reverts) {
+            pending--; //Added back by add()
+            add(pendingRevert);
+        }
+    }
+
+    private static void revert(ServerLevel level, PendingRevert pendingRevert) {
+        BlockPos blockPos = pendingRevert.pos();
+        if (!level.getBlockState(blockPos).is(Registration.EclipseGateBlock.get())) return; //Something else removed the gate already
+        BlockState realBlock = pendingRevert.sourceBlock();
+        if (!realBlock.canSurvive(level, blockPos)) {
+            List<ItemStack> drops = Block.getDrops(realBlock, level, blockPos, null);
+            for (ItemStack returnedItem : drops) {
+                ItemEntity itementity = new ItemEntity(level, blockPos.getX(), blockPos.getY(), blockPos.getZ(), returnedItem);
+                itementity.setPickUpDelay(40);
+                level.addFreshEntity(itementity);
+                level.setBlockAndUpdate(blockPos, Blocks.AIR.defaultBlockState());
+                return;
+            }
+        }
+        BlockState adjustedState = Block.updateFromNeighbourShapes(realBlock, level, blockPos); //Ensure double chests are placed as single chests if only 1 chest available in copy/paste, for example, or fixes fences
+        level.setBlockAndUpdate(blockPos, adjustedState);
+    }
+
+    public static EclipseGateReverts load(CompoundTag tag, HolderLookup.Provider provider) {
+        EclipseGateReverts eclipseGateReverts = new EclipseGateReverts();
+        ListTag list = tag.getList("reverts", Tag.TAG_COMPOUND);
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag revertTag = list.getCompound(i);
+            BlockState sourceBlock = NbtUtils.readBlockState(BuiltInRegistries.BLOCK.asLookup(), revertTag.getCompound("sourceBlock"));
+            eclipseGateReverts.add(new PendingRevert(BlockPos.of(revertTag.getLong("pos")), sourceBlock, revertTag.getLong("expiresAt")));
+        }
+        return eclipseGateReverts;
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider provider) {
+        ListTag list = new ListTag();
+        for (ArrayDeque<PendingRevert> reverts : queue.values()) {
+            for (PendingRevert pendingRevert : reverts)
+                list.add(saveRevert(pendingRevert));
+        }
+        for (List<PendingRevert> reverts : waitingForChunk.values()) {
+            for (PendingRevert pendingRevert : reverts)
+                list.add(saveRevert(pendingRevert));
+        }
+        tag.put("reverts", list);
+        return tag;
+    }
+
+    private static CompoundTag saveRevert(PendingRevert pendingRevert) {
+        CompoundTag revertTag = new CompoundTag();
+        revertTag.putLong("pos", pendingRevert.pos().asLong());
+        revertTag.put("sourceBlock", NbtUtils.writeBlockState(pendingRevert.sourceBlock()));
+        revertTag.putLong("expiresAt", pendingRevert.expiresAt());
+        return revertTag;
+    }
+}
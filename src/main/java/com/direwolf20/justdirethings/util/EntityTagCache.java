@@ -0,0 +1,114 @@
+package com.direwolf20.justdirethings.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.syncher.SynchedEntityData;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Normalized entity tags used by compareNBT entity filters, cached per entity id.
+ * An entry is reused for as long as the entity's synched data (which is where variants, colors, baby state etc live) hasn't changed,
+ * and at most MAX_AGE ticks, since a few fields that matter aren't synched.
+ */
+public class EntityTagCache {
+    private static final int MAX_AGE = 100;
+    private static final int PRUNE_INTERVAL = 200;
+
+    // Generic entity tags that don't make one mob different from another of the same type
+    private static final Set<String> IGNORED_KEYS = Set.of(
+            "AbsorptionAmount", "Age", "Air", "ArmorDropChances", "ArmorItems", "Brain", "CanPickUpLoot", "DeathTime",
+            "FallDistance", "FallFlying", "Fire", "ForcedAge", "HandDropChances", "HandItems", "HurtByTimestamp", "HurtTime",
+            "InLove", "Invulnerable", "LeftHanded", "Motion", "OnGround", "PersistenceRequired", "PortalCooldown", "Pos",
+            "Rotation", "UUID",
+            "attributes", // This may contain some relevant attributes, but is generally generic
+            "id", // If you're not comparing the entity type
+            // Additional generic tags
+            "NoAI", "Silent", "Glowing", "Tags", "Passengers", "Leashed", "Leash", "CustomName", "FireTicks", "Dimension",
+            "HasVisualFire", "ActiveEffects",
+            //Special Cases
+            "FromBucket", //Axolotls
+            "neoforge:spawn_type"
+    );
+
+    private static class Entry {
+        private final int stamp;
+        private final long createdAt;
+        private final CompoundTag tag;
+        private long lastUsed;
+
+        private Entry(int stamp, long createdAt, CompoundTag tag) {
+            this.stamp = stamp;
+            this.createdAt = createdAt;
+            this.tag = tag;
+            this.lastUsed = createdAt;
+        }
+    }
+
+    private static class LevelCache {
+        private final Int2ObjectOpenHashMap<Entry> entries = new Int2ObjectOpenHashMap<>();
+        private long lastPruned;
+    }
+
+    private static final Map<LevelAccessor, LevelCache> caches = new HashMap<>();
+
+    /**
+     * Get the normalized tag for an entity in the world, reusing the last one if the entity hasn't changed. Don't modify the returned tag.
+     */
+    public static CompoundTag getNormalizedTag(Entity entity) {
+        Level level = entity.level();
+        long gameTime = level.getGameTime();
+        LevelCache levelCache = caches.computeIfAbsent(level, k -> new LevelCache());
+        if (gameTime - levelCache.lastPruned >= PRUNE_INTERVAL) {
+            levelCache.entries.values().removeIf(entry -> gameTime - entry.lastUsed >= PRUNE_INTERVAL);
+            levelCache.lastPruned = gameTime;
+        }
+
+        int stamp = getChangeStamp(entity);
+        Entry entry = levelCache.entries.get(entity.getId());
+        if (entry != null && entry.stamp == stamp && gameTime - entry.createdAt < MAX_AGE && gameTime >= entry.createdAt) {
+            entry.lastUsed = gameTime;
+            return entry.tag;
+        }
+        CompoundTag tag = normalize(entity);
+        levelCache.entries.put(entity.getId(), new Entry(stamp, gameTime, tag));
+        return tag;
+    }
+
+    /**
+     * Builds a normalized tag without caching - for entities that aren't in the world, like the ones read from creature catchers
+     */
+    public static CompoundTag normalize(Entity entity) {
+        CompoundTag saved = new CompoundTag();
+        entity.save(saved);
+        CompoundTag tag = new CompoundTag();
+        for (String key : saved.getAllKeys()) {
+            if (!IGNORED_KEYS.contains(key))
+                tag.put(key, saved.get(key));
+        }
+        return tag;
+    }
+
+    /**
+     * A cheap hash of everything the entity syncs to clients - changes whenever a variant, color, sheared state etc changes
+     */
+    private static int getChangeStamp(Entity entity) {
+        int stamp = entity.getType().hashCode();
+        List<SynchedEntityData.DataValue<?>> values = entity.getEntityData().getNonDefaultValues();
+        if (values == null) return stamp;
+        for (SynchedEntityData.DataValue<?> value : values)
+            stamp = 31 * stamp + 31 * value.id() + Objects.hashCode(value.value());
+        return stamp;
+    }
+
+    public static void levelUnloaded(LevelAccessor level) {
+        caches.remove(level);
+    }
+}
@@ -1,85 +1,109 @@
 package com.direwolf20.justdirethings.util;
 
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Player;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.entity.player.PlayerXpEvent;
 
 public class ExperienceUtils {
-    // Calculate experience required to go from level 0 to target level
-    public static int getTotalExperienceForLevel(int level) {
+    //Level ~356 million - past here 9 * level * level in the level math would get too close to overflowing a long
+    public static final long MAX_TOTAL_EXPERIENCE = Long.MAX_VALUE / 16;
+
+    // Calculate experience required to go from level 0 to target level - done in whole numbers, the halves in the usual formulas always cancel out
+    public static long getTotalExperienceForLevel(int level) {
+        long l = level;
         if (level <= 16) {
-            return level * level + 6 * level;
+            return l * l + 6 * l;
         } else if (level <= 31) {
-            return (int) (2.5 * level * level - 40.5 * level + 360);
+            return (5 * l * l - 81 * l + 720) / 2;
         } else {
-            long totalXp = (long) (4.5 * level * level - 162.5 * level + 2220);
-            return (int) Math.min(totalXp, Integer.MAX_VALUE);
+            return (9 * l * l - 325 * l + 4440) / 2;
         }
     }
 
-    public static int getLevelFromTotalExperience(int totalExp) {
+    public static int getLevelFromTotalExperience(long totalExp) {
+        if (totalExp <= 0) return 0;
+        int level;
         // Check in the level ranges where experience requirements change
         if (totalExp < getTotalExperienceForLevel(16)) {
             // Level range 0-15
-            return (int) Math.floor((-6 + Math.sqrt(36 + 4 * totalExp)) / 2);
+            level = (int) Math.floor((-6 + Math.sqrt(36 + 4.0 * totalExp)) / 2);
         } else if (totalExp < getTotalExperienceForLevel(31)) {
             // Level range 16-30
-            return (int) Math.floor((40.5 + Math.sqrt(-40.5 * -40.5 - 4 * 2.5 * (360 - totalExp))) / (2 * 2.5));
+            level = (int) Math.floor((40.5 + Math.sqrt(-40.5 * -40.5 - 4 * 2.5 * (360 - totalExp))) / (2 * 2.5));
         } else {
             // Level range 31+
-            return (int) Math.floor((162.5 + Math.sqrt(-162.5 * -162.5 - 4 * 4.5 * (2220 - totalExp))) / (2 * 4.5));
+            level = (int) Math.floor((162.5 + Math.sqrt(-162.5 * -162.5 - 4 * 4.5 * (2220 - totalExp))) / (2 * 4.5));
         }
-    }
-
-    // Remove levels from a player, ensuring they don't lose more than available
-    public static int removeLevels(Player player, int levelsToRemove) {
-        int currentTotalExp = getPlayerTotalExperience(player);
-        int targetLevel = Math.max(0, player.experienceLevel - levelsToRemove);
-
-        // Calculate how much exp is required to be at the target level
-        int targetTotalExp = getTotalExperienceForLevel(targetLevel);
-        int expToRemove = currentTotalExp - targetTotalExp;
-
-        player.giveExperienceLevels(-levelsToRemove);
-        return expToRemove;  // Amount of exp removed
+        // The square root can land a hair either side of a level boundary for big totals, so settle it with the exact totals
+        while (level > 0 && getTotalExperienceForLevel(level) > totalExp)
+            level--;
+        while (getTotalExperienceForLevel(level + 1) <= totalExp)
+            level++;
+        return level;
     }
 
     // Calculate experience required to go from one level to the next
-    public static int getExperienceForNextLevel(int level) {
+    public static long getExperienceForNextLevel(int level) {
         if (level >= 30) {
-            return 112 + (level - 30) * 9;
+            return 112 + (level - 30) * 9L;
         } else {
             return level >= 15 ? 37 + (level - 15) * 5 : 7 + level * 2;
         }
     }
 
     // Calculate total experience points player currently has (given level and progress)
-    public static int getPlayerTotalExperience(Player player) {
-        int exp = getTotalExperienceForLevel(player.experienceLevel);
-        long totalXp = (long) exp + (long) Math.round(player.experienceProgress * player.getXpNeededForNextLevel());
-        return (int) Math.min(totalXp, Integer.MAX_VALUE);
-    }
-
-    public static int getExpNeededForNextLevel(Player player) {
-        return player.getXpNeededForNextLevel() - (int) (player.experienceProgress * player.getXpNeededForNextLevel());
+    public static long getPlayerTotalExperience(Player player) {
+        return getTotalExperienceForLevel(player.experienceLevel) + Math.round(player.experienceProgress * player.getXpNeededForNextLevel());
     }
 
     // Get the progress to the next level as a fraction (float) from total experience points
-    public static float getProgressToNextLevel(int totalExp) {
+    public static float getProgressToNextLevel(long totalExp) {
         int level = getLevelFromTotalExperience(totalExp);  // Get the number of full levels
-        int expForCurrentLevel = getTotalExperienceForLevel(level);  // Total exp required to reach this level
-        int expForNextLevel = getExperienceForNextLevel(level);  // Exp needed for the next level
+        long expForCurrentLevel = getTotalExperienceForLevel(level);  // Total exp required to reach this level
+        long expForNextLevel = getExperienceForNextLevel(level);  // Exp needed for the next level
 
         // Remaining experience after subtracting full levels
-        int expAfterFullLevels = totalExp - expForCurrentLevel;
+        long expAfterFullLevels = totalExp - expForCurrentLevel;
 
         // Calculate the fractional progress (as a float between 0.0 and 1.0)
         return (float) expAfterFullLevels / (float) expForNextLevel;
     }
 
-    // Remove points from a player, ensuring they don't lose more than available
-    public static int removePoints(Player player, int pointsToRemove) {
-        int currentTotalExp = getPlayerTotalExperience(player);
-        int expToRemove = Math.min(currentTotalExp, pointsToRemove);
-        player.giveExperiencePoints(-expToRemove);
-        return expToRemove;  // Amount of exp removed
+    /**
+     * Give a player points (or take them, if negative) in one step. Their level and progress are set straight from the new total,
+     * instead of giveExperiencePoints stepping through every level in float math. The event and score only take ints, so at most
+     * an int's worth is moved per call - callers moving more should loop. Returns the points actually moved
+     */
+    public static long addPlayerExperience(Player player, long points) {
+        long currentTotal = getPlayerTotalExperience(player);
+        long change = clampChange(points, currentTotal);
+        if (change == 0) return 0;
+        PlayerXpEvent.XpChange event = NeoForge.EVENT_BUS.post(new PlayerXpEvent.XpChange(player, (int) change));
+        if (event.isCanceled()) return 0;
+        change = clampChange(event.getAmount(), currentTotal);
+        if (change == 0) return 0;
+        long targetTotal = currentTotal + change;
+
+        // Same bookkeeping as giveExperiencePoints
+        player.increaseScore((int) change);
+        player.totalExperience = (int) Mth.clamp((long) player.totalExperience + change, 0, Integer.MAX_VALUE);
+
+        int level = getLevelFromTotalExperience(targetTotal);
+        if (level != player.experienceLevel)
+            player.giveExperienceLevels(level - player.experienceLevel);
+        int pointsIntoLevel = (int) Mth.clamp(targetTotal - getTotalExperienceForLevel(player.experienceLevel), 0, player.getXpNeededForNextLevel() - 1);
+        if (player instanceof ServerPlayer serverPlayer)
+            serverPlayer.setExperiencePoints(pointsIntoLevel); //Also makes sure the client is sent the new values
+        else
+            player.experienceProgress = (float) pointsIntoLevel / player.getXpNeededForNextLevel();
+        return change;
+    }
+
+    // Never take more than the player has or push them past MAX_TOTAL_EXPERIENCE, and keep it to what fits in an int
+    private static long clampChange(long points, long currentTotal) {
+        long change = Math.max(-currentTotal, Math.min(points, Math.max(0, MAX_TOTAL_EXPERIENCE - currentTotal)));
+        return Mth.clamp(change, -Integer.MAX_VALUE, Integer.MAX_VALUE);
     }
 }
@@ -0,0 +1,107 @@
+package com.direwolf20.justdirethings.util;
+
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The flood fill behind the vein miner / tree feller searches.
+ * Positions are kept as packed longs in primitive sets and queues, and block states are read straight from the chunk sections,
+ * only from chunks that are already loaded.
+ */
+public class FloodFill {
+    public static final int NO_MATCH = 0, PRIMARY = 1, SECONDARY = 2;
+
+    public interface Matcher {
+        /**
+         * NO_MATCH, PRIMARY, or SECONDARY - secondary matches are only expanded once there are no primary matches left to expand
+         */
+        int match(BlockState blockState);
+    }
+
+    /**
+     * Finds up to maxBreak matching blocks, expanding from each match to every block within radius of it
+     *
+     * @param includeStart Whether the start position is always part of the result, even if it doesn't match
+     */
+    public static Set<BlockPos> find(Level level, BlockPos start, boolean includeStart, int maxBreak, int radius, Matcher matcher) {
+        LongOpenHashSet found = new LongOpenHashSet();
+        LongArrayFIFOQueue primaryQueue = new LongArrayFIFOQueue();
+        LongArrayFIFOQueue secondaryQueue = new LongArrayFIFOQueue();
+        StateReader reader = new StateReader(level);
+        long startKey = start.asLong();
+
+        if (includeStart)
+            found.add(startKey);
+        primaryQueue.enqueue(startKey);
+
+        while (found.size() < maxBreak && (!primaryQueue.isEmpty() || !secondaryQueue.isEmpty())) {
+            long posToCheck = !primaryQueue.isEmpty() ? primaryQueue.dequeueLong() : secondaryQueue.dequeueLong();
+            int centerX = BlockPos.getX(posToCheck), centerY = BlockPos.getY(posToCheck), centerZ = BlockPos.getZ(posToCheck);
+
+            for (int x = centerX - radius; x <= centerX + radius; x++) {
+                for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+                    for (int y = centerY - radius; y <= centerY + radius; y++) {
+                        int match = matcher.match(reader.getBlockState(x, y, z));
+                        if (match == NO_MATCH) continue;
+                        long key = BlockPos.asLong(x, y, z);
+                        if (!found.add(key)) continue; //Already found, so it has been (or will be) expanded already
+                        if (found.size() >= maxBreak)
+                            return toBlockPosSet(found);
+                        if (key == startKey) continue; //The start is always expanded first
+                        if (match == PRIMARY)
+                            primaryQueue.enqueue(key);
+                        else
+                            secondaryQueue.enqueue(key);
+                    }
+                }
+            }
+        }
+        return toBlockPosSet(found);
+    }
+
+    private static Set<BlockPos> toBlockPosSet(LongOpenHashSet found) {
+        Set<BlockPos> blockPosSet = new HashSet<>(found.size());
+        LongIterator iterator = found.iterator();
+        while (iterator.hasNext())
+            blockPosSet.add(BlockPos.of(iterator.nextLong()));
+        return blockPosSet;
+    }
+
+    /**
+     * Reads block states directly from chunk sections, remembering the last chunk since neighbouring lookups are almost always in the same one
+     */
+    private static class StateReader {
+        private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+        private final Level level;
+        private int chunkX = Integer.MAX_VALUE, chunkZ = Integer.MAX_VALUE;
+        private LevelChunk chunk;
+
+        private StateReader(Level level) {
+            this.level = level;
+        }
+
+        private BlockState getBlockState(int x, int y, int z) {
+            if (level.isOutsideBuildHeight(y)) return AIR;
+            int cx = x >> 4, cz = z >> 4;
+            if (cx != chunkX || cz != chunkZ) {
+                chunk = level.getChunkSource().getChunkNow(cx, cz);
+                chunkX = cx;
+                chunkZ = cz;
+            }
+            if (chunk == null) return AIR; //Don't load chunks just to look for ores
+            LevelChunkSection section = chunk.getSection(chunk.getSectionIndex(y));
+            if (section.hasOnlyAir()) return AIR;
+            return section.getBlockState(x & 15, y & 15, z & 15);
+        }
+    }
+}
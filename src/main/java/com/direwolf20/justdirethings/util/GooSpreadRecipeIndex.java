@@ -0,0 +1,80 @@
+package com.direwolf20.justdirethings.util;
+
+import com.direwolf20.justdirethings.datagen.recipes.GooSpreadRecipe;
+import com.direwolf20.justdirethings.datagen.recipes.GooSpreadRecipeTag;
+import com.direwolf20.justdirethings.setup.Registration;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One index of the goo spread recipes, shared by every goo block: exact recipes by input state, tag recipes by the blocks in their tag,
+ * and the resolved result per goo tier and input state. Thrown away when recipes or tags reload (see EntityEvents).
+ */
+public class GooSpreadRecipeIndex {
+    public record GooSpreadResult(BlockState output, int craftingDuration) {
+        public static final GooSpreadResult NONE = new GooSpreadResult(Blocks.AIR.defaultBlockState(), -1);
+    }
+
+    private static GooSpreadRecipeIndex index;
+    private static int generation; //Bumped whenever the index is thrown away, so goo blocks know to look at their sides again
+
+    private final RecipeManager recipeManager;
+    private final Map<BlockState, List<GooSpreadRecipe>> exactRecipes = new HashMap<>();
+    private final Map<Block, List<GooSpreadRecipeTag>> tagRecipes = new HashMap<>();
+    private final Int2ObjectOpenHashMap<Map<BlockState, GooSpreadResult>> resultsByTier = new Int2ObjectOpenHashMap<>();
+
+    private GooSpreadRecipeIndex(RecipeManager recipeManager) {
+        this.recipeManager = recipeManager;
+        //Lists keep recipe manager order, so the first matching recipe still wins like it did when we iterated them all
+        for (RecipeHolder<GooSpreadRecipe> recipe : recipeManager.getAllRecipesFor(Registration.GOO_SPREAD_RECIPE_TYPE.get())) {
+            exactRecipes.computeIfAbsent(recipe.value().getInput(), k -> new ArrayList<>()).add(recipe.value());
+        }
+        for (RecipeHolder<GooSpreadRecipeTag> recipe : recipeManager.getAllRecipesFor(Registration.GOO_SPREAD_RECIPE_TYPE_TAG.get())) {
+            for (Holder<Block> block : BuiltInRegistries.BLOCK.getTagOrEmpty(recipe.value().getInput().getTag())) {
+                tagRecipes.computeIfAbsent(block.value(), k -> new ArrayList<>()).add(recipe.value());
+            }
+        }
+    }
+
+    public static GooSpreadResult getResult(RecipeManager recipeManager, BlockState input, int tier) {
+        GooSpreadRecipeIndex gooSpreadRecipeIndex = index;
+        if (gooSpreadRecipeIndex == null || gooSpreadRecipeIndex.recipeManager != recipeManager) {
+            gooSpreadRecipeIndex = new GooSpreadRecipeIndex(recipeManager);
+            index = gooSpreadRecipeIndex;
+        }
+        return gooSpreadRecipeIndex.resultsByTier.computeIfAbsent(tier, k -> new HashMap<>())
+                .computeIfAbsent(input, k -> gooSpreadRecipeIndex.resolve(input, tier));
+    }
+
+    private GooSpreadResult resolve(BlockState input, int tier) {
+        for (GooSpreadRecipe gooSpreadRecipe : exactRecipes.getOrDefault(input, List.of())) {
+            if (tier >= gooSpreadRecipe.getTierRequirement())
+                return new GooSpreadResult(gooSpreadRecipe.getOutput(), gooSpreadRecipe.getCraftingDuration());
+        }
+        for (GooSpreadRecipeTag gooSpreadRecipeTag : tagRecipes.getOrDefault(input.getBlock(), List.of())) {
+            if (tier >= gooSpreadRecipeTag.getTierRequirement())
+                return new GooSpreadResult(gooSpreadRecipeTag.getOutput(), gooSpreadRecipeTag.getCraftingDuration());
+        }
+        return GooSpreadResult.NONE;
+    }
+
+    public static int getGeneration() {
+        return generation;
+    }
+
+    public static void clear() {
+        index = null;
+        generation++;
+    }
+}
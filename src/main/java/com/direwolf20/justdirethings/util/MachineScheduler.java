@@ -0,0 +1,48 @@
+package com.direwolf20.justdirethings.util;
+
+import com.direwolf20.justdirethings.common.blockentities.basebe.BaseMachineBE;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs the server tick for machines, skipping any that are asleep, and counts how many machines were awake vs asleep in each level last tick
+ */
+public class MachineScheduler {
+    public static class MachineCounts {
+        private long gameTime = -1;
+        private int awake, asleep;
+        public int lastAwake, lastAsleep;
+
+        private void roll(long currentGameTime) {
+            if (gameTime == currentGameTime) return;
+            lastAwake = awake;
+            lastAsleep = asleep;
+            awake = 0;
+            asleep = 0;
+            gameTime = currentGameTime;
+        }
+    }
+
+    private static final Map<ResourceKey<Level>, MachineCounts> counts = new HashMap<>();
+
+    public static void tickServer(BaseMachineBE baseMachineBE) {
+        Level level = baseMachineBE.getLevel();
+        if (level == null) return;
+        MachineCounts machineCounts = counts.computeIfAbsent(level.dimension(), k -> new MachineCounts());
+        machineCounts.roll(level.getGameTime());
+        if (baseMachineBE.isAsleep()) {
+            machineCounts.asleep++;
+            return;
+        }
+        machineCounts.awake++;
+        baseMachineBE.tickServer();
+        baseMachineBE.trySleep();
+    }
+
+    public static Map<ResourceKey<Level>, MachineCounts> getCounts() {
+        return counts;
+    }
+}
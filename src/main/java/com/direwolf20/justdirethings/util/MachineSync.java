@@ -0,0 +1,50 @@
+package com.direwolf20.justdirethings.util;
+
+import com.direwolf20.justdirethings.common.blockentities.basebe.BaseMachineBE;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.LevelAccessor;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Machines waiting to send their changed sync groups to clients. Machines can be marked dirty several times in a tick,
+ * so they're queued here and sent once at the end of the level tick (see BlockEvents). Also counts what was sent, for the debug command.
+ */
+public class MachineSync {
+    private static final Map<LevelAccessor, Set<BaseMachineBE>> pending = new HashMap<>();
+    public static long packets, fullPackets, bytes;
+    public static long countingSince = System.nanoTime();
+
+    public static void queue(BaseMachineBE baseMachineBE) {
+        pending.computeIfAbsent(baseMachineBE.getLevel(), k -> new LinkedHashSet<>()).add(baseMachineBE);
+    }
+
+    public static void flush(ServerLevel level) {
+        Set<BaseMachineBE> machines = pending.remove(level);
+        if (machines == null) return;
+        for (BaseMachineBE baseMachineBE : machines)
+            baseMachineBE.sendSyncData();
+    }
+
+    public static void sent(CompoundTag tag, boolean full) {
+        packets++;
+        if (full)
+            fullPackets++;
+        bytes += tag.sizeInBytes();
+    }
+
+    public static void resetCounts() {
+        packets = 0;
+        fullPackets = 0;
+        bytes = 0;
+        countingSince = System.nanoTime();
+    }
+
+    public static void levelUnloaded(LevelAccessor level) {
+        pending.remove(level);
+    }
+}
@@ -0,0 +1,107 @@
+package com.direwolf20.justdirethings.util;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the last set of blocks a player's tool would break, so that BreakSpeed (which fires every tick while mining), the highlight renderer,
+ * canInstaBreak and mineBlocksAbility don't all redo the ore miner / tree feller / hammer searches for the same swing.
+ * A session is thrown away when anything about the swing changes, or when a block inside its set changes.
+ */
+public class MiningSessionCache {
+    private static final int MAX_AGE = 200; //Recompute now and then anyway, in case something changed that we weren't told about
+
+    //Client (highlight rendering) and server (actual mining) sessions are kept apart, so each map is only touched from its own thread
+    private static final Map<LivingEntity, Session> serverSessions = new WeakHashMap<>();
+    private static final Map<LivingEntity, Session> clientSessions = new WeakHashMap<>();
+
+    private static Map<LivingEntity, Session> getSessions(LevelAccessor level) {
+        return level.isClientSide() ? clientSessions : serverSessions;
+    }
+
+    private record SessionKey(Level level, int toolHash, BlockPos origin, Direction face, BlockState originState, Direction facing, double entityY) {
+    }
+
+    private static class Session implements BlockChangeTracker.Listener {
+        private final SessionKey key;
+        private final Set<BlockPos> positions;
+        private final long createdAt;
+        private boolean valid = true;
+
+        private Session(SessionKey key, Set<BlockPos> positions, long createdAt) {
+            this.key = key;
+            this.positions = positions;
+            this.createdAt = createdAt;
+        }
+
+        @Override
+        public void onBlockChanged(BlockPos blockPos) {
+            if (positions.contains(blockPos))
+                invalidate();
+        }
+
+        @Override
+        public void onChunkLoaded(ChunkPos chunkPos) {
+            invalidate();
+        }
+
+        private void invalidate() {
+            valid = false;
+            BlockChangeTracker.unregister(key.level(), this);
+        }
+    }
+
+    public static Set<BlockPos> getBreakBlockPositions(ItemStack stack, Level level, BlockPos origin, LivingEntity entity, BlockState originState, Direction face, Supplier<Set<BlockPos>> compute) {
+        SessionKey key = new SessionKey(level, stack.getComponents().hashCode(), origin.immutable(), face, originState, entity.getDirection(), entity.getY());
+        Map<LivingEntity, Session> sessions = getSessions(level);
+        Session session = sessions.get(entity);
+        long gameTime = level.getGameTime();
+        if (session != null && session.valid && session.key.equals(key) && gameTime - session.createdAt < MAX_AGE && gameTime >= session.createdAt)
+            return session.positions;
+
+        if (session != null)
+            session.invalidate();
+        Set<BlockPos> positions = Collections.unmodifiableSet(compute.get());
+        session = new Session(key, positions, gameTime);
+        sessions.put(entity, session);
+        BlockChangeTracker.register(level, session, getBounds(positions));
+        return positions;
+    }
+
+    /**
+     * Drop an entity's session when it leaves a level, so its listener doesn't stay registered with BlockChangeTracker
+     */
+    public static void entityRemoved(LivingEntity entity) {
+        Session session = getSessions(entity.level()).remove(entity);
+        if (session != null)
+            session.invalidate();
+    }
+
+    public static void levelUnloaded(LevelAccessor level) {
+        getSessions(level).values().removeIf(session -> session.key.level() == level);
+    }
+
+    private static AABB getBounds(Set<BlockPos> positions) {
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (BlockPos pos : positions) {
+            minX = Math.min(minX, pos.getX());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX());
+            maxZ = Math.max(maxZ, pos.getZ());
+        }
+        return new AABB(minX, 0, minZ, maxX + 1, 1, maxZ + 1);
+    }
+}
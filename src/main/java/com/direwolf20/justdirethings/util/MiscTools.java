@@ -10,6 +10,7 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.Style;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.ClipContext;
@@ -27,23 +28,59 @@ import java.util.List;
 import java.util.Optional;
 
 public class MiscTools {
-    public static void doExtraTicks(ServerLevel serverLevel, BlockPos blockPos, double rate) {
+    /**
+     * Runs rate extra ticks of the block at blockPos, stopping early if System.nanoTime() passes deadline
+     *
+     * @return false if it ran out of time before doing all of them
+     */
+    public static boolean doExtraTicks(ServerLevel serverLevel, BlockPos blockPos, double rate, long deadline) {
         BlockState blockState = serverLevel.getBlockState(blockPos);
         BlockEntity blockEntity = serverLevel.getBlockEntity(blockPos);
         if (!isValidTickAccelBlock(serverLevel, blockState, blockEntity))
-            return;
-        for (int i = 0; i < rate; i++) {
-            if (blockEntity != null) {
-                BlockEntityTicker<BlockEntity> ticker = blockEntity.getBlockState().getTicker(serverLevel, (BlockEntityType<BlockEntity>) blockEntity.getType());
-                if (ticker != null) {
-                    ticker.tick(serverLevel, blockPos, blockEntity.getBlockState(), blockEntity);
-                }
-            } else if (blockState.isRandomlyTicking()) {
-                if (serverLevel.random.nextInt(1365) == 0) { //Average Random Tick Rate
-                    blockState.randomTick(serverLevel, blockPos, serverLevel.random);
-                }
+            return true;
+        if (blockEntity != null) {
+            BlockEntityTicker<BlockEntity> ticker = blockEntity.getBlockState().getTicker(serverLevel, (BlockEntityType<BlockEntity>) blockEntity.getType());
+            if (ticker == null) return true;
+            for (int i = 0; i < rate; i++) {
+                if (System.nanoTime() > deadline)
+                    return false;
+                ticker.tick(serverLevel, blockPos, blockEntity.getBlockState(), blockEntity);
+            }
+        } else if (blockState.isRandomlyTicking()) {
+            int randomTicks = sampleBinomial(serverLevel.random, (int) rate, 1 / 1365d); //Average Random Tick Rate
+            for (int i = 0; i < randomTicks; i++) {
+                if (System.nanoTime() > deadline)
+                    return false;
+                blockState = serverLevel.getBlockState(blockPos); //The last random tick may have changed it - crops growing for example
+                if (!blockState.isRandomlyTicking()) break;
+                blockState.randomTick(serverLevel, blockPos, serverLevel.random);
             }
         }
+        return true;
+    }
+
+    private static final double BINOMIAL_INVERSION_MAX_MEAN = 30; //Past this the CDF walk gets long (and the chance of 0 heads towards underflow), and the normal approximation is plenty close
+
+    /**
+     * How many of trials rolls with the given chance succeed, from a single random draw rather than rolling each one.
+     * Small expected counts invert the binomial CDF, which is exact. Larger ones (huge time wand multipliers) use the normal approximation
+     */
+    public static int sampleBinomial(RandomSource random, int trials, double chance) {
+        double mean = trials * chance;
+        if (mean > BINOMIAL_INVERSION_MAX_MEAN) {
+            double deviation = Math.sqrt(mean * (1 - chance));
+            return (int) Math.max(0, Math.min(trials, Math.round(mean + deviation * random.nextGaussian())));
+        }
+        double roll = random.nextDouble();
+        double probability = Math.pow(1 - chance, trials); //Chance of 0 successes
+        double cumulative = probability;
+        int successes = 0;
+        while (roll > cumulative && successes < trials) {
+            probability *= (double) (trials - successes) / (successes + 1) * chance / (1 - chance);
+            successes++;
+            cumulative += probability;
+        }
+        return successes;
     }
 
     public static boolean isValidTickAccelBlock(ServerLevel serverLevel, BlockState blockState, BlockEntity blockEntity) {
@@ -0,0 +1,125 @@
+package com.direwolf20.justdirethings.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.phys.AABB;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Mobs per chunk section, shared by every homing arrow searching that tick. A search whose sections aren't all indexed yet runs one
+ * area query over them and fills them in, so a lone arrow costs the same single query as before, and later arrows searching the
+ * same sections that tick (a mob grinder full of epic arrows) don't query at all.
+ * Server only - arrows ticking on the client just query directly, so the index is never touched from the client thread.
+ */
+public class MobTargetIndex {
+    private static final double MOVE_MARGIN = 1; //Mobs can move a bit between the section being looked up and a later arrow searching it in the same tick
+
+    private static class LevelIndex {
+        private final Long2ObjectOpenHashMap<List<Mob>> sections = new Long2ObjectOpenHashMap<>();
+        private long gameTime = Long.MIN_VALUE;
+    }
+
+    private static final Map<LevelAccessor, LevelIndex> indexes = new HashMap<>();
+
+    /**
+     * The nearest living mob to (x, y, z) whose bounding box touches searchArea and that passes filter, or null
+     */
+    public static Mob findNearest(Level level, AABB searchArea, double x, double y, double z, Predicate<Mob> filter) {
+        if (level.isClientSide)
+            return findNearestDirect(level, searchArea, x, y, z, filter);
+
+        LevelIndex index = indexes.computeIfAbsent(level, k -> new LevelIndex());
+        if (index.gameTime != level.getGameTime()) {
+            index.sections.clear();
+            index.gameTime = level.getGameTime();
+        }
+
+        Mob nearestEntity = null;
+        double nearestDistance = Double.MAX_VALUE;
+        int minX = SectionPos.posToSectionCoord(searchArea.minX), maxX = SectionPos.posToSectionCoord(searchArea.maxX);
+        int minY = SectionPos.posToSectionCoord(searchArea.minY), maxY = SectionPos.posToSectionCoord(searchArea.maxY);
+        int minZ = SectionPos.posToSectionCoord(searchArea.minZ), maxZ = SectionPos.posToSectionCoord(searchArea.maxZ);
+        if (!isIndexed(index, minX, minY, minZ, maxX, maxY, maxZ))
+            fillSections(level, index, minX, minY, minZ, maxX, maxY, maxZ);
+        for (int sectionX = minX; sectionX <= maxX; sectionX++) {
+            for (int sectionY = minY; sectionY <= maxY; sectionY++) {
+                for (int sectionZ = minZ; sectionZ <= maxZ; sectionZ++) {
+                    //A mob can be in more than one section's list, which doesn't change which one is nearest
+                    for (Mob entity : index.sections.get(SectionPos.asLong(sectionX, sectionY, sectionZ))) {
+                        if (!entity.isAlive() || !entity.getBoundingBox().intersects(searchArea) || !filter.test(entity))
+                            continue;
+                        double distance = entity.distanceToSqr(x, y, z);
+                        if (distance < nearestDistance) {
+                            nearestEntity = entity;
+                            nearestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return nearestEntity;
+    }
+
+    private static Mob findNearestDirect(Level level, AABB searchArea, double x, double y, double z, Predicate<Mob> filter) {
+        Mob nearestEntity = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (Mob entity : level.getEntitiesOfClass(Mob.class, searchArea, entity -> entity.isAlive() && filter.test(entity))) {
+            double distance = entity.distanceToSqr(x, y, z);
+            if (distance < nearestDistance) {
+                nearestEntity = entity;
+                nearestDistance = distance;
+            }
+        }
+        return nearestEntity;
+    }
+
+    private static boolean isIndexed(LevelIndex index, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        for (int sectionX = minX; sectionX <= maxX; sectionX++) {
+            for (int sectionY = minY; sectionY <= maxY; sectionY++) {
+                for (int sectionZ = minZ; sectionZ <= maxZ; sectionZ++) {
+                    if (!index.sections.containsKey(SectionPos.asLong(sectionX, sectionY, sectionZ)))
+                        return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One area query over the whole block of sections, with each mob filed under every section it's within MOVE_MARGIN of
+     */
+    private static void fillSections(Level level, LevelIndex index, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        for (int sectionX = minX; sectionX <= maxX; sectionX++) {
+            for (int sectionY = minY; sectionY <= maxY; sectionY++) {
+                for (int sectionZ = minZ; sectionZ <= maxZ; sectionZ++)
+                    index.sections.put(SectionPos.asLong(sectionX, sectionY, sectionZ), new ArrayList<>());
+            }
+        }
+        AABB area = new AABB(SectionPos.sectionToBlockCoord(minX), SectionPos.sectionToBlockCoord(minY), SectionPos.sectionToBlockCoord(minZ),
+                SectionPos.sectionToBlockCoord(maxX + 1), SectionPos.sectionToBlockCoord(maxY + 1), SectionPos.sectionToBlockCoord(maxZ + 1)).inflate(MOVE_MARGIN);
+        for (Mob mob : level.getEntitiesOfClass(Mob.class, area)) {
+            AABB mobArea = mob.getBoundingBox().inflate(MOVE_MARGIN);
+            int mobMinX = Math.max(minX, SectionPos.posToSectionCoord(mobArea.minX)), mobMaxX = Math.min(maxX, SectionPos.posToSectionCoord(mobArea.maxX));
+            int mobMinY = Math.max(minY, SectionPos.posToSectionCoord(mobArea.minY)), mobMaxY = Math.min(maxY, SectionPos.posToSectionCoord(mobArea.maxY));
+            int mobMinZ = Math.max(minZ, SectionPos.posToSectionCoord(mobArea.minZ)), mobMaxZ = Math.min(maxZ, SectionPos.posToSectionCoord(mobArea.maxZ));
+            for (int sectionX = mobMinX; sectionX <= mobMaxX; sectionX++) {
+                for (int sectionY = mobMinY; sectionY <= mobMaxY; sectionY++) {
+                    for (int sectionZ = mobMinZ; sectionZ <= mobMaxZ; sectionZ++)
+                        index.sections.get(SectionPos.asLong(sectionX, sectionY, sectionZ)).add(mob);
+                }
+            }
+        }
+    }
+
+    public static void levelUnloaded(LevelAccessor level) {
+        indexes.remove(level);
+    }
+}
@@ -0,0 +1,55 @@
+package com.direwolf20.justdirethings.util;
+
+import com.direwolf20.justdirethings.common.entities.PortalEntity;
+
+import java.util.*;
+
+/**
+ * Every portal loaded on the server, by portal UUID, portal gun UUID and owner, so partners and a gun's portals can be found without
+ * searching every level. Portals add and remove themselves as they join and leave a level (including chunk unloads and the server stopping), so only loaded portals are in here
+ */
+public class PortalRegistry {
+    private static final Map<UUID, PortalEntity> portals = new HashMap<>();
+    private static final Map<UUID, Set<PortalEntity>> portalsByGun = new HashMap<>();
+    private static final Map<UUID, Set<PortalEntity>> portalsByOwner = new HashMap<>();
+
+    public static void add(PortalEntity portal) {
+        portals.put(portal.getUUID(), portal);
+        if (portal.getPortalGunUUID() != null)
+            portalsByGun.computeIfAbsent(portal.getPortalGunUUID(), k -> new LinkedHashSet<>()).add(portal);
+        if (portal.getOwner() != null)
+            portalsByOwner.computeIfAbsent(portal.getOwner(), k -> new LinkedHashSet<>()).add(portal);
+    }
+
+    public static void remove(PortalEntity portal) {
+        portals.remove(portal.getUUID(), portal);
+        removeFrom(portalsByGun, portal.getPortalGunUUID(), portal);
+        removeFrom(portalsByOwner, portal.getOwner(), portal);
+    }
+
+    private static void removeFrom(Map<UUID, Set<PortalEntity>> map, UUID key, PortalEntity portal) {
+        if (key == null) return;
+        Set<PortalEntity> set = map.get(key);
+        if (set == null) return;
+        set.remove(portal);
+        if (set.isEmpty())
+            map.remove(key);
+    }
+
+    public static PortalEntity get(UUID portalUUID) {
+        return portalUUID == null ? null : portals.get(portalUUID);
+    }
+
+    /**
+     * The loaded portals made by this portal gun. Copied, so callers can kill portals while they loop
+     */
+    public static List<PortalEntity> getByGun(UUID portalGunUUID) {
+        Set<PortalEntity> set = portalGunUUID == null ? null : portalsByGun.get(portalGunUUID);
+        return set == null ? new ArrayList<>() : new ArrayList<>(set);
+    }
+
+    public static List<PortalEntity> getByOwner(UUID owner) {
+        Set<PortalEntity> set = owner == null ? null : portalsByOwner.get(owner);
+        return set == null ? new ArrayList<>() : new ArrayList<>(set);
+    }
+}
@@ -0,0 +1,48 @@
+package com.direwolf20.justdirethings.util;
+
+import com.direwolf20.justdirethings.setup.Config;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * The server wide time budget for Time Wand accelerations. Each accelerated block gets an even share of the budget,
+ * based on how many were accelerated last tick, and the totals from the last tick are kept for the debug command.
+ */
+public class TimeWandBudget {
+    private static int tickCount = -1;
+    private static int active, throttled;
+    private static long usedNanos;
+    public static int lastActive, lastThrottled;
+    public static long lastUsedNanos;
+
+    private static void roll(MinecraftServer server) {
+        if (tickCount == server.getTickCount()) return;
+        lastActive = active;
+        lastThrottled = throttled;
+        lastUsedNanos = usedNanos;
+        active = 0;
+        throttled = 0;
+        usedNanos = 0;
+        tickCount = server.getTickCount();
+    }
+
+    /**
+     * @return The System.nanoTime() an acceleration starting now has to stop by
+     */
+    public static long getDeadline(MinecraftServer server) {
+        roll(server);
+        active++;
+        long budgetNanos = getBudgetNanos();
+        if (budgetNanos == 0) return Long.MAX_VALUE;
+        return System.nanoTime() + budgetNanos / Math.max(1, Math.max(active, lastActive));
+    }
+
+    public static void report(long nanos, boolean wasThrottled) {
+        usedNanos += nanos;
+        if (wasThrottled)
+            throttled++;
+    }
+
+    public static long getBudgetNanos() {
+        return Config.TIME_WAND_TICK_BUDGET.get() * 1000L;
+    }
+}
@@ -15,6 +15,10 @@ public class FilterData {
     //This is not saved in NBT, and is recreated as needed on demand
     public final Map<ItemStackKey, Boolean> filterCache = new Object2BooleanOpenHashMap<>();
     public final WeakHashMap<Entity, Boolean> entityCache = new WeakHashMap<>();
+    public int cachedHandlerVersion = -1; //The FilterBasicHandler version the caches were built against
+    public long entityCacheGameTime = -1; //When comparing NBT, entities can change, so the entity cache only lasts for one tick
+    public long cacheHits = 0, cacheMisses = 0;
+    public FilterMatcher filterMatcher = null; //Compiled from the filter contents, rebuilt whenever the caches are cleared
 
     public FilterData() {
 
@@ -26,6 +30,12 @@ public class FilterData {
         this.blockItemFilter = blockItemFilter;
     }
 
+    public void clearCaches() {
+        filterCache.clear();
+        entityCache.clear();
+        filterMatcher = null;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(allowlist, compareNBT, blockItemFilter);
@@ -0,0 +1,72 @@
+package com.direwolf20.justdirethings.util.interfacehelpers;
+
+import com.direwolf20.justdirethings.common.blockentities.basebe.FilterableBE;
+import com.direwolf20.justdirethings.common.containers.handlers.FilterBasicHandler;
+import com.direwolf20.justdirethings.common.entities.CreatureCatcherEntity;
+import com.direwolf20.justdirethings.common.items.CreatureCatcher;
+import com.direwolf20.justdirethings.util.EntityTagCache;
+import com.direwolf20.justdirethings.util.ItemStackKey;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.SpawnEggItem;
+import net.minecraft.world.level.Level;
+
+import java.util.*;
+
+/**
+ * An immutable snapshot of a filter's contents, compiled once whenever the filter changes so that lookups don't need to walk the filter slots.
+ * Only says whether something is IN the filter - the caller applies allow/deny.
+ */
+public class FilterMatcher {
+    private final boolean compareNBT;
+    private final Set<ItemStackKey> items = new HashSet<>();
+    private final Set<EntityType<?>> spawnEggTypes = new HashSet<>();
+    private final Map<EntityType<?>, List<CompoundTag>> creatureCatcherTags = new HashMap<>(); //Empty list = any entity of this type matches
+    private final boolean hasEntityFilters;
+
+    public FilterMatcher(FilterableBE filterableBE, Level level) {
+        this.compareNBT = filterableBE.getFilterData().compareNBT;
+        FilterBasicHandler filteredItems = filterableBE.getFilterHandler();
+        for (int i = 0; i < filteredItems.getSlots(); i++) {
+            ItemStack stack = filteredItems.getStackInSlot(i);
+            if (stack.isEmpty()) continue;
+            items.add(new ItemStackKey(stack, compareNBT));
+            if (stack.getItem() instanceof SpawnEggItem spawnEggItem) {
+                spawnEggTypes.add(spawnEggItem.getType(stack));
+            } else if (stack.getItem() instanceof CreatureCatcher && level != null) {
+                Mob mob = CreatureCatcherEntity.getEntityFromItemStack(stack, level);
+                if (mob == null) continue;
+                if (compareNBT)
+                    creatureCatcherTags.computeIfAbsent(mob.getType(), k -> new ArrayList<>()).add(EntityTagCache.normalize(mob));
+                else
+                    creatureCatcherTags.put(mob.getType(), List.of()); //Not comparing data, so the type alone is enough
+            }
+        }
+        this.hasEntityFilters = !spawnEggTypes.isEmpty() || !creatureCatcherTags.isEmpty();
+    }
+
+    public boolean matches(ItemStack testStack) {
+        return matches(new ItemStackKey(testStack, compareNBT));
+    }
+
+    public boolean matches(ItemStackKey key) {
+        return items.contains(key);
+    }
+
+    public boolean matches(Entity entity, FilterableBE filterableBE) {
+        if (!hasEntityFilters) return false;
+        EntityType<?> type = entity.getType();
+        if (spawnEggTypes.contains(type)) return true;
+        List<CompoundTag> tags = creatureCatcherTags.get(type);
+        if (tags == null) return false;
+        if (tags.isEmpty()) return true;
+        CompoundTag targetTag = filterableBE.getNormalizedTag(entity);
+        for (CompoundTag filterTag : tags) {
+            if (filterTag.equals(targetTag)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,88 @@
+package com.direwolf20.justdirethings.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExperienceUtilsTest {
+    private static final int MAX_CHECKED_LEVEL = 20000;
+
+    // Player.getXpNeededForNextLevel, as vanilla has it (int math is fine up to MAX_CHECKED_LEVEL)
+    private static int vanillaExperienceForNextLevel(int experienceLevel) {
+        if (experienceLevel >= 30) {
+            return 112 + (experienceLevel - 30) * 9;
+        } else {
+            return experienceLevel >= 15 ? 37 + (experienceLevel - 15) * 5 : 7 + experienceLevel * 2;
+        }
+    }
+
+    @Test
+    public void knownTotals() {
+        assertEquals(0, ExperienceUtils.getTotalExperienceForLevel(0));
+        assertEquals(7, ExperienceUtils.getTotalExperienceForLevel(1));
+        assertEquals(315, ExperienceUtils.getTotalExperienceForLevel(15));
+        assertEquals(352, ExperienceUtils.getTotalExperienceForLevel(16));
+        assertEquals(1395, ExperienceUtils.getTotalExperienceForLevel(30));
+        assertEquals(1507, ExperienceUtils.getTotalExperienceForLevel(31));
+        assertEquals(30970, ExperienceUtils.getTotalExperienceForLevel(100));
+        assertEquals(4339720, ExperienceUtils.getTotalExperienceForLevel(1000));
+
+        assertEquals(15, ExperienceUtils.getLevelFromTotalExperience(351));
+        assertEquals(16, ExperienceUtils.getLevelFromTotalExperience(352));
+        assertEquals(30, ExperienceUtils.getLevelFromTotalExperience(1506));
+        assertEquals(31, ExperienceUtils.getLevelFromTotalExperience(1507));
+        assertEquals(100, ExperienceUtils.getLevelFromTotalExperience(30970));
+    }
+
+    @Test
+    public void totalMatchesVanillaLevelByLevel() {
+        long total = 0;
+        for (int level = 0; level <= MAX_CHECKED_LEVEL; level++) {
+            assertEquals(total, ExperienceUtils.getTotalExperienceForLevel(level), "total for level " + level);
+            total += vanillaExperienceForNextLevel(level);
+        }
+    }
+
+    @Test
+    public void levelRoundTripsAtEveryLevel() {
+        long total = 0;
+        for (int level = 0; level <= MAX_CHECKED_LEVEL; level++) {
+            long next = total + vanillaExperienceForNextLevel(level);
+            assertEquals(level, ExperienceUtils.getLevelFromTotalExperience(total), "first total of level " + level);
+            assertEquals(level, ExperienceUtils.getLevelFromTotalExperience(next - 1), "last total of level " + level);
+            total = next;
+        }
+    }
+
+    @Test
+    public void everyTotalAroundTheFormulaBoundaries() {
+        // Covers every single total through level 40, which takes in both places the formulas change (levels 16 and 31)
+        long total = 0;
+        for (int level = 0; level <= 40; level++) {
+            long next = total + vanillaExperienceForNextLevel(level);
+            for (long exp = total; exp < next; exp++) {
+                assertEquals(level, ExperienceUtils.getLevelFromTotalExperience(exp), "total " + exp);
+                float progress = ExperienceUtils.getProgressToNextLevel(exp);
+                assertEquals((float) (exp - total) / (float) (next - total), progress, "progress at total " + exp);
+            }
+            total = next;
+        }
+    }
+
+    @Test
+    public void largeTotalsStayExact() {
+        int topLevel = ExperienceUtils.getLevelFromTotalExperience(ExperienceUtils.MAX_TOTAL_EXPERIENCE);
+        assertTrue(ExperienceUtils.getTotalExperienceForLevel(topLevel) <= ExperienceUtils.MAX_TOTAL_EXPERIENCE);
+        assertTrue(ExperienceUtils.getTotalExperienceForLevel(topLevel + 1) > ExperienceUtils.MAX_TOTAL_EXPERIENCE);
+        for (int level = topLevel - 1000; level <= topLevel; level++) {
+            long total = ExperienceUtils.getTotalExperienceForLevel(level);
+            long next = ExperienceUtils.getTotalExperienceForLevel(level + 1);
+            assertEquals(9L * level - 158, next - total, "next level cost at level " + level); //Vanilla's 112 + (level - 30) * 9, which overflows an int up here
+            assertEquals(level, ExperienceUtils.getLevelFromTotalExperience(total), "first total of level " + level);
+            assertEquals(level, ExperienceUtils.getLevelFromTotalExperience(next - 1), "last total of level " + level);
+            float progress = ExperienceUtils.getProgressToNextLevel(next - 1);
+            assertTrue(progress >= 0 && progress <= 1, "progress at level " + level);
+        }
+    }
+}
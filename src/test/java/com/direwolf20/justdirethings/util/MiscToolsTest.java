@@ -0,0 +1,41 @@
+package com.direwolf20.justdirethings.util;
+
+import net.minecraft.util.RandomSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MiscToolsTest {
+    private static final double RANDOM_TICK_CHANCE = 1 / 1365d;
+    private static final int SAMPLES = 2000;
+
+    // Every sample within 6 standard deviations of trials * chance (plus a few, for the long tail when only a handful are expected), and the average of them within 4 standard errors
+    private static void assertSamplesNearMean(int trials, double chance) {
+        RandomSource random = RandomSource.create(trials);
+        double mean = trials * chance;
+        double deviation = Math.sqrt(mean * (1 - chance));
+        double total = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            int successes = MiscTools.sampleBinomial(random, trials, chance);
+            assertTrue(successes >= 0 && successes <= trials, "sample " + successes + " out of range for " + trials + " trials");
+            assertTrue(Math.abs(successes - mean) <= 6 * deviation + 4, "sample " + successes + " too far from " + mean + " for " + trials + " trials");
+            total += successes;
+        }
+        double average = total / SAMPLES;
+        assertTrue(Math.abs(average - mean) <= 4 * deviation / Math.sqrt(SAMPLES) + 0.01, "average " + average + " too far from " + mean + " for " + trials + " trials");
+    }
+
+    @Test
+    public void smallTrialsStayNearTheMean() {
+        for (int trials = 1; trials <= 1 << 16; trials <<= 1)
+            assertSamplesNearMean(trials, RANDOM_TICK_CHANCE);
+    }
+
+    @Test
+    public void hugeTrialsStayNearTheMean() {
+        // From 2^20 up the chance of no successes underflows to 0, which used to make every trial a success
+        for (int trials = 1 << 17; trials > 0 && trials <= 1 << 30; trials <<= 1)
+            assertSamplesNearMean(trials, RANDOM_TICK_CHANCE);
+        assertSamplesNearMean(Integer.MAX_VALUE, RANDOM_TICK_CHANCE);
+    }
+}